@@ -16,19 +16,27 @@
 package dev.hilla.frontend;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.frontend.TaskGenerateOpenAPI;
 import dev.hilla.Endpoint;
+import dev.hilla.generator.CompilationUnitCache;
 import dev.hilla.generator.OpenAPISpecGenerator;
 
 /**
  * Generate OpenAPI json file for Vaadin Endpoints.
+ * <p>
+ * The parsed sources are kept between the executions for the same source
+ * folder, so that only the changed sources are parsed again.
  */
 public class TaskGenerateOpenAPIImpl extends AbstractTaskEndpointGenerator
         implements TaskGenerateOpenAPI {
+    private static final Map<Path, CompilationUnitCache> compilationUnitCaches = new ConcurrentHashMap<>();
 
     private final File javaSourceFolder;
     private final ClassLoader classLoader;
@@ -60,8 +68,12 @@ public class TaskGenerateOpenAPIImpl extends AbstractTaskEndpointGenerator
 
     @Override
     public void execute() throws ExecutionFailedException {
+        CompilationUnitCache compilationUnitCache = compilationUnitCaches
+                .computeIfAbsent(
+                        javaSourceFolder.toPath().toAbsolutePath().normalize(),
+                        key -> new CompilationUnitCache());
         OpenAPISpecGenerator openApiSpecGenerator = new OpenAPISpecGenerator(
-                readApplicationProperties());
+                readApplicationProperties(), compilationUnitCache);
         openApiSpecGenerator.generateOpenApiSpec(
                 Collections.singletonList(javaSourceFolder.toPath()),
                 classLoader, output.toPath());
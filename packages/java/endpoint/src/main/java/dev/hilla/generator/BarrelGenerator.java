@@ -16,14 +16,12 @@
 package dev.hilla.generator;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.tags.Tag;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,9 +65,10 @@ class BarrelGenerator {
         String content = String.format("%s\n\n%s", imports, exports);
 
         try {
-            log.info("writing file {}", outputFilePath);
-            FileUtils.writeStringToFile(outputFilePath.toFile(), content,
-                    StandardCharsets.UTF_8);
+            if (GenerationOutputDirectory.writeIfChanged(outputFilePath,
+                    content)) {
+                log.info("writing file {}", outputFilePath);
+            }
         } catch (IOException e) {
             String errorMessage = String.format("Error writing file at %s",
                     outputFilePath.toString());
@@ -25,7 +25,6 @@ import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,9 +82,10 @@ public class ClientAPIGenerator {
         String generatedDefaultClientTs = getDefaultClientTsTemplate()
                 .replace("{{PREFIX}}", endpointPrefix);
         try {
-            logger.debug("writing file {}", outputFilePath);
-            FileUtils.writeStringToFile(outputFilePath.toFile(),
-                    generatedDefaultClientTs, StandardCharsets.UTF_8);
+            if (GenerationOutputDirectory.writeIfChanged(outputFilePath,
+                    generatedDefaultClientTs)) {
+                logger.debug("writing file {}", outputFilePath);
+            }
         } catch (IOException e) {
             String errorMessage = String.format("Error writing file at %s",
                     outputFilePath.toString());
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the Java sources parsed by the OpenAPI generator between generations,
+ * so that a generation only parses again the files that have changed and the
+ * files referring to the types declared in them.
+ * <p>
+ * Every source file is indexed with its size and modification time, the types
+ * it declares and the simple names of the types it refers to. The generator
+ * builds the OpenAPI model from all the indexed compilation units, in the order
+ * of their paths, so the result is the same as the one of a full parse.
+ */
+public final class CompilationUnitCache {
+    private static final String JAVA_EXTENSION = ".java";
+    private static final Logger logger = LoggerFactory
+            .getLogger(CompilationUnitCache.class);
+
+    private final Map<Path, Entry> entries = new HashMap<>();
+
+    private static Set<String> getDeclaredNames(CompilationUnit unit) {
+        return unit.findAll(TypeDeclaration.class).stream()
+                .map(declaration -> declaration.getNameAsString())
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> getReferencedNames(CompilationUnit unit) {
+        return unit.findAll(ClassOrInterfaceType.class).stream()
+                .map(ClassOrInterfaceType::getNameAsString)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isSourceFile(Path file,
+            BasicFileAttributes attributes) {
+        return attributes.isRegularFile()
+                && file.getFileName().toString().endsWith(JAVA_EXTENSION);
+    }
+
+    /**
+     * Parses the changed source files of the source root and returns the
+     * compilation units of all its source files.
+     *
+     * @param sourceRoot
+     *            the source root
+     * @param configuration
+     *            the parser configuration of the generation, whose symbol
+     *            resolver is set to all the returned compilation units
+     * @return the successful parse results, ordered by the file paths
+     */
+    synchronized List<ParseResult<CompilationUnit>> parse(Path sourceRoot,
+            ParserConfiguration configuration) {
+        var root = sourceRoot.toAbsolutePath().normalize();
+        var files = findSourceFiles(root);
+        var stale = new HashSet<Path>();
+        var changedNames = new HashSet<String>();
+
+        entries.keySet().removeIf(file -> {
+            if (file.startsWith(root) && !files.containsKey(file)) {
+                changedNames.addAll(entries.get(file).declaredNames);
+                return true;
+            }
+
+            return false;
+        });
+
+        files.forEach((file, attributes) -> {
+            var entry = entries.get(file);
+
+            if (entry == null || !entry.matches(attributes)) {
+                stale.add(file);
+
+                if (entry != null) {
+                    changedNames.addAll(entry.declaredNames);
+                }
+            }
+        });
+
+        var dependents = files.keySet().stream()
+                .filter(file -> !stale.contains(file))
+                .filter(file -> entries.get(file).refersTo(changedNames))
+                .collect(Collectors.toList());
+        stale.addAll(dependents);
+
+        stale.parallelStream()
+                .map(file -> parse(file, files.get(file), configuration))
+                .collect(Collectors.toList())
+                .forEach(entry -> entries.put(entry.file, entry));
+
+        logger.debug("Parsed {} of {} Java files in '{}'", stale.size(),
+                files.size(), root);
+
+        var results = files.keySet().stream().map(entries::get)
+                .map(entry -> entry.result).filter(ParseResult::isSuccessful)
+                .collect(Collectors.toList());
+
+        // The units parsed by the previous generations still refer to the
+        // symbol resolver of their generation
+        configuration.getSymbolResolver().ifPresent(
+                resolver -> results.forEach(result -> result.getResult().get()
+                        .setData(Node.SYMBOL_RESOLVER_KEY, resolver)));
+
+        return results;
+    }
+
+    private Map<Path, BasicFileAttributes> findSourceFiles(Path root) {
+        var files = new TreeMap<Path, BasicFileAttributes>();
+
+        try (Stream<Path> stream = Files.find(root, Integer.MAX_VALUE,
+                CompilationUnitCache::isSourceFile)) {
+            for (var file : stream.collect(Collectors.toList())) {
+                files.put(file.toAbsolutePath().normalize(),
+                        Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return files;
+    }
+
+    private Entry parse(Path file, BasicFileAttributes attributes,
+            ParserConfiguration configuration) {
+        ParseResult<CompilationUnit> result;
+
+        try {
+            result = new JavaParser(configuration).parse(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!result.isSuccessful()) {
+            logger.debug("Unable to parse Java file {}: {}", file, result);
+        }
+
+        result.getResult().ifPresent(unit -> unit.setStorage(file,
+                configuration.getCharacterEncoding()));
+
+        return new Entry(file, attributes, result);
+    }
+
+    private static final class Entry {
+        private final Set<String> declaredNames;
+        private final Path file;
+        private final long lastModified;
+        private final Set<String> referencedNames;
+        private final ParseResult<CompilationUnit> result;
+        private final long size;
+
+        Entry(Path file, BasicFileAttributes attributes,
+                ParseResult<CompilationUnit> result) {
+            this.file = file;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.result = result;
+            this.declaredNames = result.getResult()
+                    .map(CompilationUnitCache::getDeclaredNames)
+                    .orElse(Set.of());
+            this.referencedNames = result.getResult()
+                    .map(CompilationUnitCache::getReferencedNames)
+                    .orElse(Set.of());
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+
+        boolean refersTo(Set<String> names) {
+            return names.stream().anyMatch(referencedNames::contains);
+        }
+    }
+}
@@ -17,17 +17,25 @@ package dev.hilla.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,16 +44,82 @@ import com.vaadin.flow.server.frontend.FrontendUtils;
 /**
  * Wrapper for a generator directory that can do directory cleaning from stale
  * files and empty directories.
+ * <p>
+ * Files are only written if their content has changed, so that the frontend
+ * bundler does not rebuild for unchanged files, and are replaced atomically.
+ * The generated files are listed with their content hashes in a manifest, kept
+ * outside of the directory, from which the stale files of the next generation
+ * are found without walking the whole directory.
  */
 class GenerationOutputDirectory {
+    static final String MANIFEST_FILE_NAME = "hilla-generated-files.txt";
+    private static final String MANIFEST_HEADER = "# ";
     private final Logger logger = LoggerFactory
             .getLogger(GenerationOutputDirectory.class.getName());
+    private final Map<Path, String> hashes = new HashMap<>();
+    private final Path manifestFile;
     private final File outputDirectory;
     private final GeneratorFileVisitor visitor = new GeneratorFileVisitor(
             logger);
+    private Map<Path, String> manifest;
 
     GenerationOutputDirectory(File outputDirectory) {
+        this(outputDirectory, null);
+    }
+
+    /**
+     * @param outputDirectory
+     *            the directory of the generated files
+     * @param manifestFile
+     *            the manifest of the generated files, or null to clean by
+     *            walking the directory
+     */
+    GenerationOutputDirectory(File outputDirectory, Path manifestFile) {
         this.outputDirectory = outputDirectory;
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Writes the file unless it already has the given content. The content is
+     * written to a temporary file first, which then replaces the file.
+     *
+     * @param file
+     *            the file to write
+     * @param content
+     *            the content of the file
+     * @return true if the file is written, false if it is unchanged
+     */
+    static boolean writeIfChanged(Path file, String content)
+            throws IOException {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        if (Files.isRegularFile(file) && Files.size(file) == bytes.length
+                && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return false;
+        }
+
+        write(file, bytes);
+        return true;
+    }
+
+    private static void write(Path file, byte[] bytes) throws IOException {
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var tmp = Files.createTempFile(directory,
+                "." + file.getFileName().toString(), ".tmp");
+
+        try {
+            Files.write(tmp, bytes);
+
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
     }
 
     @Override
@@ -53,28 +127,195 @@ class GenerationOutputDirectory {
         return outputDirectory.toString();
     }
 
+    /**
+     * Removes all generated files.
+     */
     void clean() {
         clean(Collections.emptySet());
     }
 
+    /**
+     * Removes the files of the previous generation that are not generated
+     * anymore, and records the generated files in the manifest. Without a
+     * manifest, every file of the directory that is not generated is removed.
+     *
+     * @param files
+     *            the generated files
+     */
     void clean(Set<File> files) {
         if (!outputDirectory.exists()) {
             return;
         }
 
-        visitor.setGeneratedFiles(files);
+        var previous = getManifest();
+        var generated = files.stream()
+                .map(file -> file.toPath().toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
+
+        if (previous.isEmpty() || generated.isEmpty()) {
+            visitor.setGeneratedFiles(files);
+
+            try {
+                Files.walkFileTree(outputDirectory.toPath(), visitor);
+            } catch (IOException e) {
+                logger.info(String.format(
+                        "Failed to access folder '%s' while cleaning generated sources.",
+                        outputDirectory.toPath().toAbsolutePath()), e);
+            }
+        } else {
+            previous.keySet().stream().filter(file -> !generated.contains(file))
+                    .forEach(this::removeWithEmptyParents);
+        }
+
+        storeManifest(generated);
+    }
+
+    Path toPath() {
+        return outputDirectory.toPath();
+    }
+
+    /**
+     * Writes the generated file unless its content is unchanged, see
+     * {@link #writeIfChanged(Path, String)}. The manifest of the previous
+     * generation spares reading the unchanged files.
+     *
+     * @param file
+     *            the file to write
+     * @param content
+     *            the content of the file
+     * @return the file
+     */
+    File write(File file, String content) throws IOException {
+        var path = file.toPath().toAbsolutePath().normalize();
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        var hash = DigestUtils.sha256Hex(bytes);
+        hashes.put(path, hash);
+
+        if (hash.equals(getManifest().get(path)) && Files.isRegularFile(path)
+                && Files.size(path) == bytes.length) {
+            return file;
+        }
+
+        if (Files.isRegularFile(path) && Files.size(path) == bytes.length
+                && Arrays.equals(Files.readAllBytes(path), bytes)) {
+            return file;
+        }
+
+        logger.debug("Writing file {}", path);
+        write(path, bytes);
+        return file;
+    }
+
+    private Map<Path, String> getManifest() {
+        if (manifest != null) {
+            return manifest;
+        }
+
+        manifest = new HashMap<>();
+        var file = manifestFile;
+
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+                // The manifest of another output directory does not apply
+                if (lines.isEmpty()
+                        || !lines.get(0).equals(getManifestHeader())) {
+                    return manifest;
+                }
+
+                for (var line : lines.subList(1, lines.size())) {
+                    var separator = line.indexOf(' ');
+
+                    if (separator > 0) {
+                        manifest.put(
+                                toPath().resolve(line.substring(separator + 1))
+                                        .toAbsolutePath().normalize(),
+                                line.substring(0, separator));
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Ignoring unreadable manifest {}", file, e);
+                manifest.clear();
+            }
+        }
+
+        return manifest;
+    }
+
+    private String getManifestHeader() {
+        return MANIFEST_HEADER + toPath().toAbsolutePath().normalize();
+    }
+
+    private void removeWithEmptyParents(Path file) {
+        var root = toPath().toAbsolutePath().normalize();
 
         try {
-            Files.walkFileTree(outputDirectory.toPath(), visitor);
+            Files.deleteIfExists(file);
+
+            for (var parent = file.getParent(); parent != null
+                    && parent.startsWith(root)
+                    && !parent.equals(root); parent = parent.getParent()) {
+                try (DirectoryStream<Path> stream = Files
+                        .newDirectoryStream(parent)) {
+                    if (stream.iterator().hasNext()) {
+                        break;
+                    }
+                }
+
+                Files.delete(parent);
+            }
         } catch (IOException e) {
             logger.info(String.format(
-                    "Failed to access folder '%s' while cleaning generated sources.",
-                    outputDirectory.toPath().toAbsolutePath()), e);
+                    "Failed to remove '%s' while cleaning the generated folder.",
+                    file), e);
         }
     }
 
-    Path toPath() {
-        return outputDirectory.toPath();
+    private void storeManifest(Set<Path> generated) {
+        var file = manifestFile;
+
+        if (file == null) {
+            return;
+        }
+
+        try {
+            if (generated.isEmpty()) {
+                Files.deleteIfExists(file);
+                manifest = new HashMap<>();
+                return;
+            }
+
+            var root = toPath().toAbsolutePath().normalize();
+            var entries = new TreeMap<String, String>();
+
+            for (var path : generated) {
+                var hash = hashes.get(path);
+
+                if (hash == null) {
+                    if (!Files.isRegularFile(path)) {
+                        continue;
+                    }
+
+                    hash = DigestUtils.sha256Hex(Files.readAllBytes(path));
+                }
+
+                entries.put(root.relativize(path).toString()
+                        .replace(File.separatorChar, '/'), hash);
+            }
+
+            var content = entries.entrySet().stream()
+                    .map(entry -> entry.getValue() + " " + entry.getKey())
+                    .collect(Collectors.joining("\n",
+                            getManifestHeader() + "\n", "\n"));
+            writeIfChanged(file, content);
+            manifest = null;
+            hashes.clear();
+        } catch (IOException e) {
+            logger.info(String.format(
+                    "Failed to write the manifest of the generated files '%s'.",
+                    file), e);
+        }
     }
 
     static class GeneratorFileVisitor extends SimpleFileVisitor<Path> {
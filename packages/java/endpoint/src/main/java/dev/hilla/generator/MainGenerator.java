@@ -16,6 +16,7 @@
 package dev.hilla.generator;
 
 import java.io.File;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -103,7 +104,9 @@ public class MainGenerator {
         Objects.requireNonNull(openApiJsonFile);
         Objects.requireNonNull(outputDirectory);
 
-        this.outputDirectory = new GenerationOutputDirectory(outputDirectory);
+        this.outputDirectory = new GenerationOutputDirectory(outputDirectory,
+                openApiJsonFile.toPath().toAbsolutePath().resolveSibling(
+                        GenerationOutputDirectory.MANIFEST_FILE_NAME));
         parser = openApiJsonFile.exists()
                 ? new OpenAPIParser(openApiJsonFile, this.outputDirectory,
                         CodeGenerator.class, defaultClientPath)
@@ -126,27 +129,31 @@ public class MainGenerator {
 
         try {
             OpenAPI openAPI = parser.parseOpenAPI();
-            boolean hasGeneratedSuccessfully = generateTypescriptCode(openAPI);
+            Set<File> files = new HashSet<>(generateTypescriptCode(openAPI));
+            boolean hasGeneratedSuccessfully = files.stream().anyMatch(
+                    file -> file.getName().endsWith(MainGenerator.TS));
 
             if (clientGenerator != null && hasGeneratedSuccessfully) {
                 clientGenerator.generate();
                 barrelGenerator.generate(openAPI);
+
+                if (barrelGenerator.getOutputFilePath().toFile().exists()) {
+                    files.add(barrelGenerator.getOutputFilePath().toFile());
+                }
             }
+
+            outputDirectory.clean(files);
         } catch (IllegalStateException e) {
             outputDirectory.clean();
             throw e;
         }
     }
 
-    private boolean generateTypescriptCode(OpenAPI openAPI) {
+    private Set<File> generateTypescriptCode(OpenAPI openAPI) {
         CodegenConfigurator configurator = parser.getConfigurator();
 
-        Set<File> files = CodeGenerator.generateFiles(
-                configurator.toClientOptInput().openAPI(openAPI));
-
-        outputDirectory.clean(files);
-
-        return files.stream()
-                .anyMatch(file -> file.getName().endsWith(MainGenerator.TS));
+        return CodeGenerator.generateFiles(
+                configurator.toClientOptInput().openAPI(openAPI),
+                outputDirectory::write);
     }
 }
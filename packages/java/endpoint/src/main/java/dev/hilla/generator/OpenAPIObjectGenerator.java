@@ -68,7 +68,6 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSol
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import com.github.javaparser.utils.Pair;
 import com.github.javaparser.utils.SourceRoot;
-import com.github.javaparser.utils.SourceRoot.Callback;
 import dev.hilla.Endpoint;
 import dev.hilla.EndpointExposed;
 import dev.hilla.EndpointNameChecker;
@@ -129,6 +128,8 @@ public class OpenAPIObjectGenerator {
     private boolean needsDeferrableImport = false;
     private static EndpointTransferMapper endpointTransferMapper = new EndpointTransferMapper();
     private CombinedTypeSolver typeSolver;
+    private ResolutionCache resolutionCache;
+    private CompilationUnitCache compilationUnitCache;
     private Set<String> nonNullApiPackages = new HashSet<>();
 
     private static Logger getLogger() {
@@ -164,6 +165,17 @@ public class OpenAPIObjectGenerator {
         this.typeResolverClassLoader = typeResolverClassLoader;
     }
 
+    /**
+     * Sets the cache of the parsed sources, which is kept between the
+     * generations to only parse the changed sources again.
+     *
+     * @param compilationUnitCache
+     *            the cache of the parsed sources, or null to parse all sources
+     */
+    void setCompilationUnitCache(CompilationUnitCache compilationUnitCache) {
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
     /**
      * Sets the configuration to be used when generating an Open API spec.
      *
@@ -204,13 +216,8 @@ public class OpenAPIObjectGenerator {
 
     Class<?> getClassFromReflection(GeneratorType type)
             throws ClassNotFoundException {
-        String fullyQualifiedName = getFullyQualifiedName(type);
-        if (typeResolverClassLoader != null) {
-            return Class.forName(fullyQualifiedName, true,
-                    typeResolverClassLoader);
-        } else {
-            return Class.forName(fullyQualifiedName);
-        }
+        return resolutionCache.getClass(getFullyQualifiedName(type),
+                typeResolverClassLoader);
     }
 
     private void init() {
@@ -227,23 +234,21 @@ public class OpenAPIObjectGenerator {
         generatedSchema = new HashSet<>();
         endpointsJavadoc = new HashMap<>();
         schemaGenerator = new SchemaGenerator(this);
+        resolutionCache = new ResolutionCache();
         needsDeferrableImport = false;
         ParserConfiguration parserConfiguration = createParserConfiguration();
 
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(sourceRoot -> parseSourceRoot(sourceRoot,
-                        this::findPackageAnnotations));
-
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(sourceRoot -> parseSourceRoot(sourceRoot,
-                        this::findEndpointExposed));
+        // The sources are parsed once, in parallel, and the passes below
+        // visit the parsed compilation units in a stable order
+        List<ParseResult<CompilationUnit>> parseResults = javaSourcePaths
+                .stream()
+                .flatMap(path -> parseSourceRoot(path, parserConfiguration)
+                        .stream())
+                .collect(Collectors.toList());
 
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(sourceRoot -> parseSourceRoot(sourceRoot,
-                        this::process));
+        parseResults.forEach(this::findPackageAnnotations);
+        parseResults.forEach(this::findEndpointExposed);
+        parseResults.forEach(this::process);
 
         for (Map.Entry<String, GeneratorType> entry : new ArrayList<>(
                 usedTypes.entrySet())) {
@@ -259,10 +264,14 @@ public class OpenAPIObjectGenerator {
             });
         }
         addTagsInformation();
+        getLogger().debug("{}", resolutionCache);
     }
 
     private ParserConfiguration createParserConfiguration() {
-        typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(false));
+        typeSolver = new CombinedTypeSolver(
+                CombinedTypeSolver.ExceptionHandlers.IGNORE_NONE,
+                List.of(new ReflectionTypeSolver(false)),
+                resolutionCache.getTypes());
         if (typeResolverClassLoader != null) {
             typeSolver.add(new ClassLoaderTypeSolver(typeResolverClassLoader));
         }
@@ -272,14 +281,41 @@ public class OpenAPIObjectGenerator {
                 .setLanguageLevel(LanguageLevel.CURRENT);
     }
 
-    private void parseSourceRoot(SourceRoot sourceRoot, Callback callback) {
+    private List<ParseResult<CompilationUnit>> parseSourceRoot(Path path,
+            ParserConfiguration parserConfiguration) {
+        if (compilationUnitCache != null) {
+            try {
+                return compilationUnitCache.parse(path, parserConfiguration);
+            } catch (Exception e) {
+                throw new IllegalStateException(String.format(
+                        "Can't parse the java files in the source root '%s'",
+                        path), e);
+            }
+        }
+
+        SourceRoot sourceRoot = new SourceRoot(path, parserConfiguration);
+        List<ParseResult<CompilationUnit>> results;
         try {
-            sourceRoot.parse("", callback);
+            results = sourceRoot.tryToParseParallelized();
         } catch (Exception e) {
             throw new IllegalStateException(String.format(
                     "Can't parse the java files in the source root '%s'",
                     sourceRoot), e);
         }
+
+        results.stream().filter(result -> !result.isSuccessful())
+                .forEach(result -> getLogger()
+                        .debug("Unable to parse Java file: {}", result));
+
+        return results.stream().filter(ParseResult::isSuccessful)
+                .sorted(Comparator
+                        .comparing(OpenAPIObjectGenerator::getSourcePath))
+                .collect(Collectors.toList());
+    }
+
+    private static String getSourcePath(ParseResult<CompilationUnit> result) {
+        return result.getResult().flatMap(CompilationUnit::getStorage)
+                .map(storage -> storage.getPath().toString()).orElse("");
     }
 
     private void addTagsInformation() {
@@ -325,13 +361,7 @@ public class OpenAPIObjectGenerator {
         return openAPI;
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result process(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
-        if (!result.isSuccessful()) {
-            getLogger().debug("Unable to parse Java file {}: {}", localPath,
-                    result);
-        }
+    private void process(ParseResult<CompilationUnit> result) {
         result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
@@ -348,15 +378,15 @@ public class OpenAPIObjectGenerator {
             openApiModel.addExtension(EXTENSION_VAADIN_CONNECT_DEFERRABLE,
                     true);
         }
-        return SourceRoot.Callback.Result.DONT_SAVE;
     }
 
-    private SourceRoot.Callback.Result findPackageAnnotations(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
-
+    private void findPackageAnnotations(ParseResult<CompilationUnit> result) {
         result.ifSuccessful(compilationUnit -> {
-            if (localPath.getFileName()
-                    .equals(java.nio.file.Paths.get("package-info.java"))) {
+            boolean packageInfo = compilationUnit.getStorage()
+                    .map(storage -> storage.getFileName()
+                            .equals("package-info.java"))
+                    .orElse(false);
+            if (packageInfo) {
                 PackageDeclaration pkgDecl = compilationUnit
                         .getPackageDeclaration().get();
                 boolean nonNullApiAnnotation = pkgDecl.getAnnotations().stream()
@@ -367,13 +397,9 @@ public class OpenAPIObjectGenerator {
                 }
             }
         });
-
-        return SourceRoot.Callback.Result.DONT_SAVE;
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result findEndpointExposed(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
+    private void findEndpointExposed(ParseResult<CompilationUnit> result) {
         result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
@@ -382,7 +408,6 @@ public class OpenAPIObjectGenerator {
                 .map(declaration -> endpointExposedMap.put(
                         declaration.resolve().getQualifiedName(),
                         declaration)));
-        return SourceRoot.Callback.Result.DONT_SAVE;
     }
 
     private Collection<TypeDeclaration<?>> appendNestedClasses(
@@ -742,9 +767,10 @@ public class OpenAPIObjectGenerator {
             return null;
         }
 
-        ResolvedReferenceTypeDeclaration solved = typeSolver
-                .solveType(mappedClassName);
-        return new ReferenceTypeImpl(solved, new ArrayList<>(), typeSolver);
+        return resolutionCache.getMappedType(mappedClassName, List.of(),
+                () -> new ReferenceTypeImpl(
+                        typeSolver.solveType(mappedClassName),
+                        new ArrayList<>(), typeSolver));
     }
 
     ResolvedType toMappedType(Type type) {
@@ -776,9 +802,10 @@ public class OpenAPIObjectGenerator {
                 }
             }
         }
-        ResolvedReferenceTypeDeclaration solved = typeSolver
-                .solveType(mappedClassName);
-        return new ReferenceTypeImpl(solved, typeArguments, typeSolver);
+        return resolutionCache.getMappedType(mappedClassName, typeArguments,
+                () -> new ReferenceTypeImpl(
+                        typeSolver.solveType(mappedClassName), typeArguments,
+                        typeSolver));
     }
 
     private RequestBody createRequestBody(MethodDeclaration methodDeclaration,
@@ -60,9 +60,25 @@ public class OpenAPISpecGenerator {
      *            the properties with the data required for the generation
      */
     public OpenAPISpecGenerator(Properties applicationProperties) {
+        this(applicationProperties, null);
+    }
+
+    /**
+     * Creates the generator, getting the data needed for the generation out of
+     * the application properties, and reusing the sources parsed by the
+     * previous generations.
+     *
+     * @param applicationProperties
+     *            the properties with the data required for the generation
+     * @param compilationUnitCache
+     *            the cache of the parsed sources, or null to parse all sources
+     */
+    public OpenAPISpecGenerator(Properties applicationProperties,
+            CompilationUnitCache compilationUnitCache) {
         generator = new OpenAPIObjectGenerator();
         generator.setOpenApiConfiguration(
                 extractOpenApiConfiguration(applicationProperties));
+        generator.setCompilationUnitCache(compilationUnitCache);
     }
 
     /**
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.cache.Cache;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+
+/**
+ * Memoizes the type resolutions of one generation: the type declarations solved
+ * by qualified name, the mapped types by qualified name and type argument
+ * bindings, and the classes loaded for reflection.
+ * <p>
+ * The same entity types are usually referenced from many endpoint methods, so
+ * most resolutions are answered from the cache. The numbers of hits and misses
+ * are reported by {@link #toString()}.
+ */
+class ResolutionCache {
+    private final Map<String, Object> classes = new ConcurrentHashMap<>();
+    private final Map<String, ResolvedType> mappedTypes = new ConcurrentHashMap<>();
+    private final Statistics classStatistics = new Statistics("classes");
+    private final Statistics mappedTypeStatistics = new Statistics(
+            "mapped types");
+    private final TypeCache types = new TypeCache();
+
+    /**
+     * Gets the class for reflection, loading it once for every name.
+     *
+     * @param name
+     *            the fully qualified name of the class
+     * @param classLoader
+     *            the class loader, or null to use the one of the generator
+     * @return the class
+     * @throws ClassNotFoundException
+     *             if the class cannot be found, also for the subsequent calls
+     */
+    Class<?> getClass(String name, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        var result = classes.get(name);
+
+        if (result != null) {
+            classStatistics.hits.incrementAndGet();
+        } else {
+            classStatistics.misses.incrementAndGet();
+
+            try {
+                result = classLoader != null
+                        ? Class.forName(name, true, classLoader)
+                        : Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                result = e;
+            }
+
+            classes.put(name, result);
+        }
+
+        if (result instanceof ClassNotFoundException) {
+            throw (ClassNotFoundException) result;
+        }
+
+        return (Class<?>) result;
+    }
+
+    /**
+     * Gets the type a class is mapped to with the given type arguments,
+     * creating it once for every binding. Type arguments referring to type
+     * variables are not cached, since variables of different declarations have
+     * the same description.
+     *
+     * @param name
+     *            the qualified name of the mapped type
+     * @param typeArguments
+     *            the type arguments of the mapped type
+     * @param factory
+     *            creates the mapped type
+     * @return the mapped type
+     */
+    ResolvedType getMappedType(String name, List<ResolvedType> typeArguments,
+            Supplier<ResolvedType> factory) {
+        if (!typeArguments.stream().allMatch(ResolutionCache::isConcrete)) {
+            return factory.get();
+        }
+
+        var key = typeArguments.isEmpty() ? name
+                : typeArguments.stream().map(ResolvedType::describe)
+                        .collect(Collectors.joining(",", name + "<", ">"));
+        var result = mappedTypes.get(key);
+
+        if (result != null) {
+            mappedTypeStatistics.hits.incrementAndGet();
+            return result;
+        }
+
+        mappedTypeStatistics.misses.incrementAndGet();
+        result = factory.get();
+        mappedTypes.put(key, result);
+        return result;
+    }
+
+    private static boolean isConcrete(ResolvedType type) {
+        if (type.isArray()) {
+            return isConcrete(type.asArrayType().getComponentType());
+        } else if (type.isWildcard()) {
+            return !type.asWildcard().isBounded()
+                    || isConcrete(type.asWildcard().getBoundedType());
+        } else if (type.isReferenceType()) {
+            return type.asReferenceType().typeParametersValues().stream()
+                    .allMatch(ResolutionCache::isConcrete);
+        }
+
+        return type.isPrimitive();
+    }
+
+    /**
+     * Gets the cache of the type declarations solved by the type solver.
+     *
+     * @return the type declaration cache
+     */
+    Cache<String, SymbolReference<ResolvedReferenceTypeDeclaration>> getTypes() {
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Type resolution cache: %s, %s, %s",
+                types.statistics, mappedTypeStatistics, classStatistics);
+    }
+
+    private static final class Statistics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final String name;
+
+        Statistics(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d hits / %d misses", name, hits.get(),
+                    misses.get());
+        }
+    }
+
+    private static final class TypeCache implements
+            Cache<String, SymbolReference<ResolvedReferenceTypeDeclaration>> {
+        private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> entries = new ConcurrentHashMap<>();
+        private final Statistics statistics = new Statistics("types");
+
+        @Override
+        public boolean contains(String key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public Optional<SymbolReference<ResolvedReferenceTypeDeclaration>> get(
+                String key) {
+            var result = Optional.ofNullable(entries.get(key));
+            (result.isPresent() ? statistics.hits : statistics.misses)
+                    .incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public void put(String key,
+                SymbolReference<ResolvedReferenceTypeDeclaration> value) {
+            entries.put(key, value);
+        }
+
+        @Override
+        public void remove(String key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void removeAll() {
+            entries.clear();
+        }
+
+        @Override
+        public long size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.generator.typescript;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.templates.TemplateEngine;
+
+/**
+ * A Handlebars template engine for the class path templates of the generator,
+ * which compiles every template once.
+ * <p>
+ * The engine of swagger-codegen creates a new Handlebars instance and compiles
+ * the template again for every rendered file. The templates and the helpers
+ * registered by {@link CodeGenerator#addHandlebarHelpers(Handlebars)} do not
+ * depend on the generation, so the compiled templates are kept for the lifetime
+ * of the generator classes and shared by all generations.
+ */
+class CachedTemplateEngine implements TemplateEngine {
+    private static final String EXTENSION = ".mustache";
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    private final CodegenConfig config;
+
+    CachedTemplateEngine(CodegenConfig config) {
+        this.config = config;
+    }
+
+    private static String normalize(String path) {
+        return path.replace(EXTENSION, "").replace('\\', '/');
+    }
+
+    @Override
+    public String getName() {
+        return "handlebars";
+    }
+
+    @Override
+    public String getRendered(String templateFile,
+            Map<String, Object> templateData) throws IOException {
+        return getTemplate(templateFile).apply(templateData);
+    }
+
+    private Template compile(String templateDir, String name) {
+        var handlebars = new Handlebars(
+                new ClassPathTemplateLoader("/" + templateDir, EXTENSION));
+        handlebars.prettyPrint(true);
+        config.addHandlebarHelpers(handlebars);
+
+        try {
+            return handlebars.compile(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Template getTemplate(String templateFile) throws IOException {
+        var templateDir = normalize(config.templateDir());
+        var name = normalize(templateFile);
+
+        if (name.startsWith(templateDir)) {
+            name = name.substring(templateDir.length());
+        }
+
+        var templateName = name;
+
+        try {
+            return templates.computeIfAbsent(templateDir + ':' + templateName,
+                    key -> compile(templateDir, templateName));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
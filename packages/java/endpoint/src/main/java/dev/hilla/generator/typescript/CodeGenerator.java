@@ -43,6 +43,7 @@ import dev.hilla.generator.GeneratorUtils;
 import dev.hilla.generator.MainGenerator;
 import dev.hilla.generator.OpenAPIObjectGenerator;
 import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.CodegenConstants;
 import io.swagger.codegen.v3.CodegenModel;
 import io.swagger.codegen.v3.CodegenOperation;
 import io.swagger.codegen.v3.CodegenParameter;
@@ -51,6 +52,7 @@ import io.swagger.codegen.v3.CodegenType;
 import io.swagger.codegen.v3.DefaultGenerator;
 import io.swagger.codegen.v3.generators.typescript.AbstractTypeScriptClientCodegen;
 import io.swagger.codegen.v3.generators.util.OpenAPIUtil;
+import io.swagger.codegen.v3.templates.HandlebarTemplateEngine;
 import io.swagger.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -134,8 +136,24 @@ public class CodeGenerator extends AbstractTypeScriptClientCodegen {
      * @return a set of generated files.
      */
     public static Set<File> generateFiles(ClientOptInput input) {
-        return new TypescriptCodeGeneratorImpl().opts(input).generate().stream()
-                .filter(Objects::nonNull).collect(Collectors.toSet());
+        return generateFiles(input, null);
+    }
+
+    /**
+     * Performs file generation on the specified input, writing the files with
+     * the given writer.
+     *
+     * @param input
+     *            input options.
+     * @param writer
+     *            the writer of the generated files, or null to write them
+     *            directly.
+     * @return a set of generated files.
+     */
+    public static Set<File> generateFiles(ClientOptInput input,
+            OutputWriter writer) {
+        return new TypescriptCodeGeneratorImpl(writer).opts(input).generate()
+                .stream().filter(Objects::nonNull).collect(Collectors.toSet());
     }
 
     private static RuntimeException getGeneratorException(String message) {
@@ -451,6 +469,19 @@ public class CodeGenerator extends AbstractTypeScriptClientCodegen {
         return templateDir;
     }
 
+    @Override
+    protected void setTemplateEngine() {
+        super.setTemplateEngine();
+
+        // Templates from a custom directory may change between generations,
+        // so only the built-in class path templates are cached
+        if (templateEngine instanceof HandlebarTemplateEngine
+                && additionalProperties
+                        .get(CodegenConstants.TEMPLATE_DIR) == null) {
+            templateEngine = new CachedTemplateEngine(this);
+        }
+    }
+
     /**
      * Adjust the import paths.
      *
@@ -781,12 +812,41 @@ public class CodeGenerator extends AbstractTypeScriptClientCodegen {
         }
     }
 
+    /**
+     * Writes a generated file.
+     */
+    @FunctionalInterface
+    public interface OutputWriter {
+        /**
+         * Writes the content to the file.
+         *
+         * @param file
+         *            the file to write
+         * @param contents
+         *            the content of the file
+         * @return the written file
+         */
+        File write(File file, String contents) throws IOException;
+    }
+
     static class TypescriptCodeGeneratorImpl extends DefaultGenerator {
+        private final OutputWriter writer;
+
+        TypescriptCodeGeneratorImpl() {
+            this(null);
+        }
+
+        TypescriptCodeGeneratorImpl(OutputWriter writer) {
+            this.writer = writer;
+        }
+
         @Override
         public File writeToFile(String filename, String contents)
                 throws IOException {
             if (filename.endsWith(MainGenerator.TS)) {
-                return super.writeToFile(filename, contents);
+                return writer != null
+                        ? writer.write(new File(filename), contents)
+                        : super.writeToFile(filename, contents);
             }
             return null;
         }
@@ -0,0 +1,43 @@
+package dev.hilla.push;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import reactor.core.Disposable;
+
+/**
+ * A push broker that delivers messages to listeners in the current JVM only.
+ */
+public class LocalPushBroker implements PushBroker {
+
+    private final ConcurrentHashMap<String, Set<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String topic, Object message) {
+        Set<Consumer<Object>> topicListeners = listeners.get(topic);
+        if (topicListeners != null) {
+            topicListeners.forEach(listener -> listener.accept(message));
+        }
+    }
+
+    @Override
+    public Disposable subscribe(String topic, Consumer<Object> listener) {
+        // Wrap the listener so that the same consumer can be registered more
+        // than once
+        Consumer<Object> registration = listener::accept;
+        listeners.compute(topic, (key, topicListeners) -> {
+            if (topicListeners == null) {
+                topicListeners = new CopyOnWriteArraySet<>();
+            }
+            topicListeners.add(registration);
+            return topicListeners;
+        });
+        return () -> listeners.computeIfPresent(topic,
+                (key, topicListeners) -> {
+                    topicListeners.remove(registration);
+                    return topicListeners.isEmpty() ? null : topicListeners;
+                });
+    }
+}
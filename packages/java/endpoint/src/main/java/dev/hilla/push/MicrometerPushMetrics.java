@@ -0,0 +1,125 @@
+package dev.hilla.push;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes push metrics to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * The following meters are registered:
+ * <ul>
+ * <li>{@code hilla.push.connections}: gauge of open browser connections</li>
+ * <li>{@code hilla.push.subscriptions}: gauge of active subscriptions, tagged
+ * by endpoint and method</li>
+ * <li>{@code hilla.push.items}: counter of items sent to browsers, tagged by
+ * endpoint and method</li>
+ * <li>{@code hilla.push.send}: timer of item serialization and sending, tagged
+ * by endpoint and method</li>
+ * <li>{@code hilla.push.serialization}: timer of message serialization</li>
+ * <li>{@code hilla.push.subscriptions.disposed}: counter of removed
+ * subscriptions, tagged by endpoint, method and reason</li>
+ * </ul>
+ */
+public class MicrometerPushMetrics implements PushMetrics {
+
+    private static final String PREFIX = "hilla.push.";
+
+    private static class MethodMeters {
+        private final AtomicInteger activeSubscriptions = new AtomicInteger();
+        private final Counter items;
+        private final Timer send;
+
+        private MethodMeters(MeterRegistry registry, Tags tags) {
+            Gauge.builder(PREFIX + "subscriptions", activeSubscriptions,
+                    AtomicInteger::get)
+                    .description("Number of active push subscriptions")
+                    .tags(tags).register(registry);
+            items = Counter.builder(PREFIX + "items")
+                    .description("Number of items sent to the browser")
+                    .tags(tags).register(registry);
+            send = Timer.builder(PREFIX + "send")
+                    .description("Time taken to serialize and send an item")
+                    .tags(tags).register(registry);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ConcurrentHashMap<String, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+    private final Timer serialization;
+
+    /**
+     * Creates the instance and registers the global meters.
+     *
+     * @param registry
+     *            the registry to publish metrics to
+     */
+    public MicrometerPushMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(PREFIX + "connections", connections, AtomicInteger::get)
+                .description("Number of open push connections")
+                .register(registry);
+        serialization = Timer.builder(PREFIX + "serialization")
+                .description("Time taken to serialize a push message")
+                .register(registry);
+    }
+
+    @Override
+    public void connectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed() {
+        connections.decrementAndGet();
+    }
+
+    @Override
+    public void subscriptionStarted(String endpointName, String methodName) {
+        getMethodMeters(endpointName, methodName).activeSubscriptions
+                .incrementAndGet();
+    }
+
+    @Override
+    public void subscriptionDisposed(String endpointName, String methodName,
+            DisposalReason reason) {
+        getMethodMeters(endpointName, methodName).activeSubscriptions
+                .decrementAndGet();
+        registry.counter(PREFIX + "subscriptions.disposed",
+                tags(endpointName, methodName).and("reason",
+                        reason.name().toLowerCase(Locale.ENGLISH)))
+                .increment();
+    }
+
+    @Override
+    public void itemSent(String endpointName, String methodName,
+            long sendNanos) {
+        MethodMeters meters = getMethodMeters(endpointName, methodName);
+        meters.items.increment();
+        meters.send.record(sendNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void messageSerialized(long serializationNanos) {
+        serialization.record(serializationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private MethodMeters getMethodMeters(String endpointName,
+            String methodName) {
+        return methodMeters.computeIfAbsent(endpointName + "." + methodName,
+                key -> new MethodMeters(registry,
+                        tags(endpointName, methodName)));
+    }
+
+    private static Tags tags(String endpointName, String methodName) {
+        return Tags.of("endpoint", endpointName, "method", methodName);
+    }
+}
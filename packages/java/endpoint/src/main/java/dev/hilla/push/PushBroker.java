@@ -0,0 +1,48 @@
+package dev.hilla.push;
+
+import java.util.function.Consumer;
+
+import reactor.core.Disposable;
+
+/**
+ * Distributes push messages published to a topic to every node that listens to
+ * the topic.
+ * <p>
+ * The default implementation, {@link LocalPushBroker}, only delivers messages
+ * inside the current JVM. To deliver messages published on one node to browsers
+ * connected to other nodes in a cluster, define a bean implementing this
+ * interface on top of the messaging system used in the cluster.
+ * <p>
+ * Endpoints should not use the broker directly but go through
+ * {@link PushTopics}, which makes sure that each node only registers one
+ * listener per topic regardless of the number of subscribed browsers.
+ */
+public interface PushBroker {
+
+    /**
+     * Publishes a message to all listeners of the given topic on all nodes,
+     * including the current one.
+     *
+     * @param topic
+     *            the topic to publish to
+     * @param message
+     *            the message to publish
+     */
+    void publish(String topic, Object message);
+
+    /**
+     * Registers a listener for messages published to the given topic on any
+     * node.
+     * <p>
+     * A broker that serializes the messages may deliver them in a generic form,
+     * e.g., as maps deserialized from JSON, which {@link PushTopics} converts
+     * to the type of the flux.
+     *
+     * @param topic
+     *            the topic to listen to
+     * @param listener
+     *            the listener to invoke for each message
+     * @return a disposable that removes the listener when disposed
+     */
+    Disposable subscribe(String topic, Consumer<Object> listener);
+}
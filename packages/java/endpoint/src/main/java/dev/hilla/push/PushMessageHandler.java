@@ -1,8 +1,10 @@
 package dev.hilla.push;
 
 import java.security.Principal;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -15,7 +17,9 @@ import com.vaadin.flow.server.VaadinServletContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import dev.hilla.AuthenticationUtil;
@@ -26,6 +30,7 @@ import dev.hilla.EndpointInvocationException.EndpointInternalException;
 import dev.hilla.EndpointInvocationException.EndpointNotFoundException;
 import dev.hilla.EndpointInvoker;
 import dev.hilla.EndpointSubscription;
+import dev.hilla.push.PushMetrics.DisposalReason;
 import dev.hilla.push.messages.fromclient.AbstractServerMessage;
 import dev.hilla.push.messages.fromclient.SubscribeMessage;
 import dev.hilla.push.messages.fromclient.UnsubscribeMessage;
@@ -42,28 +47,174 @@ import reactor.core.publisher.Flux;
  */
 @Service
 @ConditionalOnFeatureFlag(PushMessageHandler.PUSH_FEATURE_FLAG)
-public class PushMessageHandler {
+public class PushMessageHandler implements DisposableBean {
 
     static final String PUSH_FEATURE_FLAG = "hillaPush";
 
+    private static final long IDLE_TIMER_TICK_MS = 100;
+    private static final int IDLE_TIMER_SLOTS = 512;
+
+    static class ConnectionInfo {
+        private final Runnable disconnectHandler;
+        private volatile long lastActivity = System.nanoTime();
+
+        private ConnectionInfo(Runnable disconnectHandler) {
+            this.disconnectHandler = disconnectHandler;
+        }
+    }
+
+    /**
+     * The lifecycle of a subscription.
+     * <p>
+     * A subscription starts in {@link #SUBSCRIBING} while the Flux is being
+     * subscribed to, which may already emit items and even terminate. Once the
+     * subscription call returns, it moves to {@link #ACTIVE}. A cancellation by
+     * the browser or the server moves it to {@link #CANCELLING} if the Flux
+     * subscription is not yet available, and otherwise directly to
+     * {@link #DONE}. A Flux termination moves it to {@link #DONE}. Only the
+     * thread that makes a transition out of {@link #SUBSCRIBING} or
+     * {@link #ACTIVE} is responsible for cleaning up, so cleanup happens
+     * exactly once without locking.
+     */
+    enum SubscriptionState {
+        SUBSCRIBING, ACTIVE, CANCELLING, DONE
+    }
+
     static class SubscriptionInfo {
-        private final Disposable fluxSubscriptionDisposable;
+        private static final AtomicReferenceFieldUpdater<SubscriptionInfo, SubscriptionState> STATE = AtomicReferenceFieldUpdater
+                .newUpdater(SubscriptionInfo.class, SubscriptionState.class,
+                        "state");
 
-        private SubscriptionInfo(Disposable fluxSubscriptionDisposable,
-                Runnable unsubscribeHandler) {
-            this.fluxSubscriptionDisposable = fluxSubscriptionDisposable;
+        private SubscriptionInfo(Runnable unsubscribeHandler,
+                String endpointName, String methodName,
+                ResumableSubscription resumable) {
             this.unsubscribeHandler = unsubscribeHandler;
+            this.endpointName = endpointName;
+            this.methodName = methodName;
+            this.resumable = resumable;
         }
 
         private final Runnable unsubscribeHandler;
-
-        private Disposable getFluxSubscriptionDisposable() {
-            return fluxSubscriptionDisposable;
-        }
+        private final String endpointName;
+        private final String methodName;
+        private final ResumableSubscription resumable;
+        private volatile SubscriptionState state = SubscriptionState.SUBSCRIBING;
+        private volatile Disposable fluxSubscriptionDisposable;
+        private volatile Function<String, AbstractClientMessage> earlyTermination;
+        private volatile DisposalReason earlyTerminationReason;
+        private volatile long lastActivity = System.nanoTime();
 
         private Runnable getUnsubscribeHandler() {
             return unsubscribeHandler;
         }
+
+        private String getEndpointName() {
+            return endpointName;
+        }
+
+        private String getMethodName() {
+            return methodName;
+        }
+
+        private ResumableSubscription getResumable() {
+            return resumable;
+        }
+
+        private long getLastActivity() {
+            return lastActivity;
+        }
+
+        private void touch(long now) {
+            lastActivity = now;
+        }
+
+        SubscriptionState getState() {
+            return state;
+        }
+
+        private boolean isCancelled() {
+            SubscriptionState current = state;
+            return current == SubscriptionState.CANCELLING
+                    || current == SubscriptionState.DONE;
+        }
+
+        /**
+         * Called when the Flux subscription call has returned.
+         *
+         * @return true if the subscription is now active, false if it was
+         *         cancelled or terminated during the subscription call
+         */
+        private boolean activate(Disposable disposable) {
+            fluxSubscriptionDisposable = disposable;
+            return STATE.compareAndSet(this, SubscriptionState.SUBSCRIBING,
+                    SubscriptionState.ACTIVE);
+        }
+
+        /**
+         * Cancels the subscription, disposing the Flux subscription if it is
+         * available. If it is not, the subscribing thread disposes it.
+         *
+         * @return true if the caller is responsible for cleaning up, false if
+         *         the subscription was already cancelled or terminated
+         */
+        private boolean cancel() {
+            while (true) {
+                SubscriptionState current = state;
+                if (current == SubscriptionState.SUBSCRIBING) {
+                    if (STATE.compareAndSet(this, current,
+                            SubscriptionState.CANCELLING)) {
+                        return true;
+                    }
+                } else if (current == SubscriptionState.ACTIVE) {
+                    if (STATE.compareAndSet(this, current,
+                            SubscriptionState.DONE)) {
+                        fluxSubscriptionDisposable.dispose();
+                        return true;
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Marks the subscription as terminated by the Flux. If this happens
+         * while subscribing, the termination is stored and handled by the
+         * subscribing thread.
+         *
+         * @return true if the caller is responsible for handling the
+         *         termination
+         */
+        private boolean terminate(
+                Function<String, AbstractClientMessage> message,
+                DisposalReason reason) {
+            while (true) {
+                SubscriptionState current = state;
+                if (current == SubscriptionState.SUBSCRIBING) {
+                    earlyTermination = message;
+                    earlyTerminationReason = reason;
+                    if (STATE.compareAndSet(this, current,
+                            SubscriptionState.DONE)) {
+                        return false;
+                    }
+                } else if (current == SubscriptionState.ACTIVE) {
+                    if (STATE.compareAndSet(this, current,
+                            SubscriptionState.DONE)) {
+                        return true;
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Completes a cancellation that happened while subscribing.
+         */
+        private void finishCancel() {
+            fluxSubscriptionDisposable.dispose();
+            state = SubscriptionState.DONE;
+        }
     }
 
     private final EndpointInvoker endpointInvoker;
@@ -75,9 +226,50 @@ public class PushMessageHandler {
      */
     ConcurrentHashMap<String, ConcurrentHashMap<String, SubscriptionInfo>> fluxSubscriptionInfos = new ConcurrentHashMap<>();
 
+    /*
+     * Maps from resume token to subscriptions that can be resumed after the
+     * connection has been lost
+     */
+    ConcurrentHashMap<String, ResumableSubscription> resumableSubscriptions = new ConcurrentHashMap<>();
+
+    @Value("${vaadin.push.resume.buffer-size:100}")
+    int replayBufferSize = 100;
+
+    @Value("${vaadin.push.resume.timeout-ms:30000}")
+    long resumeTimeoutMs = 30000;
+
+    /*
+     * Maps from connection id to data about the connection itself
+     */
+    ConcurrentHashMap<String, ConnectionInfo> connectionInfos = new ConcurrentHashMap<>();
+
+    /*
+     * The number of subscriptions on this node, including reserved slots for
+     * subscriptions being set up
+     */
+    final AtomicInteger activeSubscriptionCount = new AtomicInteger();
+
+    @Value("${vaadin.push.max-subscriptions-per-connection:1000}")
+    int maxSubscriptionsPerConnection = 1000;
+
+    @Value("${vaadin.push.max-subscriptions:0}")
+    int maxSubscriptions = 0;
+
+    @Value("${vaadin.push.subscription-idle-timeout-ms:0}")
+    long subscriptionIdleTimeoutMs = 0;
+
+    @Value("${vaadin.push.connection-idle-timeout-ms:0}")
+    long connectionIdleTimeoutMs = 0;
+
+    private final TimerWheel idleTimers = new TimerWheel(IDLE_TIMER_TICK_MS,
+            IDLE_TIMER_SLOTS);
+
     @Autowired
     private ServletContext servletContext;
 
+    @Autowired(required = false)
+    private PushMetrics pushMetrics = PushMetrics.NOOP;
+
     /**
      * Creates the instance.
      *
@@ -101,6 +293,10 @@ public class PushMessageHandler {
     public void handleMessage(String connectionId,
             AbstractServerMessage message,
             Consumer<AbstractClientMessage> sender) {
+        ConnectionInfo connectionInfo = connectionInfos.get(connectionId);
+        if (connectionInfo != null) {
+            connectionInfo.lastActivity = System.nanoTime();
+        }
         if (message instanceof SubscribeMessage) {
             handleBrowserSubscribe(connectionId, (SubscribeMessage) message,
                     sender);
@@ -148,6 +344,32 @@ public class PushMessageHandler {
         Function<String, Boolean> isInRole = AuthenticationUtil
                 .getSecurityHolderRoleChecker();
 
+        String resumeToken = message.getResumeToken();
+        if (resumeToken != null
+                && resume(connectionId, message, sender, principal)) {
+            return;
+        }
+
+        ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
+                .get(connectionId);
+        if (fluxMap == null) {
+            getLogger().debug("Ignoring subscription " + fluxId
+                    + " for closed connection " + connectionId);
+            return;
+        }
+        if (maxSubscriptionsPerConnection > 0
+                && fluxMap.size() >= maxSubscriptionsPerConnection) {
+            sender.accept(new ClientMessageError(fluxId,
+                    "Too many subscriptions for the connection"));
+            return;
+        }
+        if (!reserveSubscription()) {
+            sender.accept(new ClientMessageError(fluxId,
+                    "Too many subscriptions on the server"));
+            return;
+        }
+
+        boolean subscribed = false;
         try {
             Object returnValue = endpointInvoker.invoke(
                     message.getEndpointName(), message.getMethodName(),
@@ -163,37 +385,87 @@ public class PushMessageHandler {
                 flux = (Flux<?>) returnValue;
             }
 
-            CompletableFuture<Void> waitForSubscriptionData = new CompletableFuture<>();
+            String endpointName = message.getEndpointName();
+            String methodName = message.getMethodName();
+            ResumableSubscription resumable = resumeToken != null
+                    ? new ResumableSubscription(resumeToken, principal,
+                            replayBufferSize, connectionId, fluxId, sender)
+                    : null;
+            SubscriptionInfo subscriptionInfo = new SubscriptionInfo(
+                    unsubscribeHandler, endpointName, methodName, resumable);
+            if (resumable != null) {
+                resumable.setSubscriptionInfo(subscriptionInfo);
+                ResumableSubscription replaced = resumableSubscriptions
+                        .put(resumeToken, resumable);
+                if (replaced != null) {
+                    // A subscription that could not be resumed
+                    expire(replaced);
+                }
+            }
+            // Stored before subscribing so that an unsubscribe or a Flux
+            // termination during the subscription call finds the data
+            fluxMap.put(fluxId, subscriptionInfo);
+            subscribed = true;
+            pushMetrics.subscriptionStarted(endpointName, methodName);
+            if (fluxSubscriptionInfos.get(connectionId) != fluxMap) {
+                // The connection was closed concurrently and might not have
+                // seen the subscription
+                if (resumable != null) {
+                    detach(resumable);
+                } else {
+                    dispose(subscriptionInfo, true, DisposalReason.DISCONNECT);
+                }
+            }
+
             Disposable endpointFluxSubscriber = flux.subscribe(item -> {
-                send(sender, new ClientMessageUpdate(fluxId, item));
+                if (subscriptionInfo.isCancelled()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                subscriptionInfo.touch(start);
+                if (resumable != null) {
+                    resumable.send(item);
+                } else {
+                    send(sender, new ClientMessageUpdate(fluxId, item));
+                }
+                pushMetrics.itemSent(endpointName, methodName,
+                        System.nanoTime() - start);
             }, error -> {
                 // An exception was thrown from the Flux
-
-                // Ensure that the subscription data has been stored before it
-                // is used
-                waitForSubscriptionData.whenComplete((a, b) -> {
-                    disposeSubscriptionInfo(connectionId, fluxId, false);
-                    send(sender, new ClientMessageError(fluxId,
-                            "Exception in Flux"));
-                    getLogger().error("Exception in Flux", error);
-                });
+                getLogger().error("Exception in Flux", error);
+                Function<String, AbstractClientMessage> errorMessage = id -> new ClientMessageError(
+                        id, "Exception in Flux");
+                if (subscriptionInfo.terminate(errorMessage,
+                        DisposalReason.ERROR)) {
+                    terminate(connectionId, fluxId, sender, subscriptionInfo,
+                            errorMessage, DisposalReason.ERROR);
+                }
             }, () -> {
                 // Flux completed
-
-                // Ensure that the subscription data has been stored before it
-                // is used
-                waitForSubscriptionData.whenComplete((a, b) -> {
-                    disposeSubscriptionInfo(connectionId, fluxId, false);
-                    send(sender, new ClientMessageComplete(fluxId));
-                });
+                Function<String, AbstractClientMessage> completeMessage = ClientMessageComplete::new;
+                if (subscriptionInfo.terminate(completeMessage,
+                        DisposalReason.COMPLETE)) {
+                    terminate(connectionId, fluxId, sender, subscriptionInfo,
+                            completeMessage, DisposalReason.COMPLETE);
+                }
             });
 
-            fluxSubscriptionInfos.get(connectionId).put(fluxId,
-                    new SubscriptionInfo(endpointFluxSubscriber,
-                            unsubscribeHandler));
-            waitForSubscriptionData.complete(null);
-
-            waitForSubscriptionData.complete(null);
+            if (!subscriptionInfo.activate(endpointFluxSubscriber)) {
+                if (subscriptionInfo
+                        .getState() == SubscriptionState.CANCELLING) {
+                    // Cancelled during the subscription call, the rest has
+                    // been cleaned up already
+                    subscriptionInfo.finishCancel();
+                } else {
+                    // The Flux terminated during the subscription call
+                    terminate(connectionId, fluxId, sender, subscriptionInfo,
+                            subscriptionInfo.earlyTermination,
+                            subscriptionInfo.earlyTerminationReason);
+                }
+                return;
+            }
+            scheduleSubscriptionIdleCheck(connectionId, fluxId,
+                    subscriptionInfo, sender, subscriptionIdleTimeoutMs);
         } catch (EndpointNotFoundException e) {
             sender.accept(new ClientMessageError(fluxId, "No such endpoint"));
             return;
@@ -201,6 +473,10 @@ public class PushMessageHandler {
                 | EndpointInternalException e) {
             sender.accept(new ClientMessageError(fluxId, e.getMessage()));
             return;
+        } finally {
+            if (!subscribed) {
+                activeSubscriptionCount.decrementAndGet();
+            }
         }
 
     }
@@ -211,6 +487,163 @@ public class PushMessageHandler {
 
     }
 
+    /**
+     * Resumes a retained subscription in a new connection.
+     *
+     * @return true if the message has been handled, false if a new subscription
+     *         should be created
+     */
+    private boolean resume(String connectionId, SubscribeMessage message,
+            Consumer<AbstractClientMessage> sender, Principal principal) {
+        String fluxId = message.getId();
+        ResumableSubscription resumable = resumableSubscriptions
+                .get(message.getResumeToken());
+        if (resumable == null) {
+            return false;
+        }
+        SubscriptionInfo subscriptionInfo = resumable.getSubscriptionInfo();
+        if (!resumable.isOwnedBy(principal)
+                || !subscriptionInfo.getEndpointName()
+                        .equals(message.getEndpointName())
+                || !subscriptionInfo.getMethodName()
+                        .equals(message.getMethodName())) {
+            sender.accept(
+                    new ClientMessageError(fluxId, "Invalid resume token"));
+            return true;
+        }
+
+        ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
+                .get(connectionId);
+        if (fluxMap == null) {
+            getLogger().debug("Ignoring resume of subscription " + fluxId
+                    + " for closed connection " + connectionId);
+            return true;
+        }
+        // The subscription keeps its slot of the global limit while it is
+        // detached, so only the limit of the new connection is checked
+        if (maxSubscriptionsPerConnection > 0
+                && fluxMap.size() >= maxSubscriptionsPerConnection) {
+            sender.accept(new ClientMessageError(fluxId,
+                    "Too many subscriptions for the connection"));
+            return true;
+        }
+
+        synchronized (resumable) {
+            if (resumable.isAttached()) {
+                // The old connection has not been closed yet
+                ConcurrentHashMap<String, SubscriptionInfo> oldFluxMap = fluxSubscriptionInfos
+                        .get(resumable.getConnectionId());
+                if (oldFluxMap != null) {
+                    oldFluxMap.remove(resumable.getFluxId(),
+                            resumable.getSubscriptionInfo());
+                }
+                resumable.detach(null);
+            }
+            if (!resumable.attach(connectionId, fluxId, sender,
+                    message.getLastSequence())) {
+                // Items have been dropped from the replay buffer so the
+                // subscription is started over
+                getLogger().debug(
+                        "Unable to resume subscription {} from sequence {}",
+                        fluxId, message.getLastSequence());
+                return false;
+            }
+
+            Function<String, AbstractClientMessage> pendingTermination = resumable
+                    .getPendingTermination();
+            if (pendingTermination != null) {
+                resumableSubscriptions.remove(resumable.getResumeToken(),
+                        resumable);
+                subscriptionRemoved(subscriptionInfo,
+                        resumable.getPendingTerminationReason());
+                send(sender, pendingTermination.apply(fluxId));
+            } else {
+                fluxMap.put(fluxId, subscriptionInfo);
+                if (fluxSubscriptionInfos.get(connectionId) != fluxMap) {
+                    // The connection was closed concurrently and might not
+                    // have seen the subscription
+                    fluxMap.remove(fluxId, subscriptionInfo);
+                    detach(resumable);
+                    return true;
+                }
+                scheduleSubscriptionIdleCheck(connectionId, fluxId,
+                        subscriptionInfo, sender, subscriptionIdleTimeoutMs);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Handles the completion of a Flux, either normally or with an error.
+     */
+    private void terminate(String connectionId, String fluxId,
+            Consumer<AbstractClientMessage> sender,
+            SubscriptionInfo subscriptionInfo,
+            Function<String, AbstractClientMessage> message,
+            DisposalReason reason) {
+        ResumableSubscription resumable = subscriptionInfo.getResumable();
+        if (resumable == null) {
+            removeSubscriptionInfo(connectionId, fluxId, subscriptionInfo);
+            subscriptionRemoved(subscriptionInfo, reason);
+            send(sender, message.apply(fluxId));
+            return;
+        }
+
+        synchronized (resumable) {
+            if (resumable.isAttached()) {
+                String currentFluxId = resumable.getFluxId();
+                resumableSubscriptions.remove(resumable.getResumeToken(),
+                        resumable);
+                removeSubscriptionInfo(resumable.getConnectionId(),
+                        currentFluxId, subscriptionInfo);
+                subscriptionRemoved(subscriptionInfo, reason);
+                send(resumable.getSender(), message.apply(currentFluxId));
+            } else {
+                resumable.setPendingTermination(message, reason);
+            }
+        }
+    }
+
+    /**
+     * Detaches a resumable subscription from its lost connection and schedules
+     * it to be disposed unless resumed in time.
+     */
+    private void detach(ResumableSubscription resumable) {
+        synchronized (resumable) {
+            if (resumableSubscriptions
+                    .get(resumable.getResumeToken()) != resumable) {
+                // Replaced by a new subscription using the same token
+                resumable.detach(null);
+                expire(resumable);
+                return;
+            }
+            resumable.detach(idleTimers.schedule(resumeTimeoutMs,
+                    () -> expire(resumable)));
+        }
+    }
+
+    /**
+     * Disposes a detached resumable subscription.
+     */
+    private void expire(ResumableSubscription resumable) {
+        synchronized (resumable) {
+            if (resumable.isAttached()) {
+                return;
+            }
+            resumableSubscriptions.remove(resumable.getResumeToken(),
+                    resumable);
+            if (resumable.getPendingTermination() == null) {
+                dispose(resumable.getSubscriptionInfo(), true,
+                        DisposalReason.DISCONNECT);
+            } else {
+                SubscriptionInfo subscriptionInfo = resumable
+                        .getSubscriptionInfo();
+                subscriptionRemoved(subscriptionInfo,
+                        resumable.getPendingTerminationReason());
+            }
+        }
+    }
+
     /**
      * Called when the browser establishes a new connection.
      *
@@ -220,7 +653,28 @@ public class PushMessageHandler {
      *            the id of the connection
      */
     public void handleBrowserConnect(String connectionId) {
+        handleBrowserConnect(connectionId, () -> {
+        });
+    }
+
+    /**
+     * Called when the browser establishes a new connection.
+     *
+     * Only ever called once for the same connectionId parameter.
+     *
+     * @param connectionId
+     *            the id of the connection
+     * @param disconnectHandler
+     *            a callback that closes the connection, used for closing idle
+     *            connections
+     */
+    public void handleBrowserConnect(String connectionId,
+            Runnable disconnectHandler) {
         fluxSubscriptionInfos.put(connectionId, new ConcurrentHashMap<>());
+        connectionInfos.put(connectionId,
+                new ConnectionInfo(disconnectHandler));
+        pushMetrics.connectionOpened();
+        scheduleConnectionIdleCheck(connectionId, connectionIdleTimeoutMs);
     }
 
     /**
@@ -233,13 +687,25 @@ public class PushMessageHandler {
      *            the id of the connection
      */
     public void handleBrowserDisconnect(String connectionId) {
+        connectionInfos.remove(connectionId);
         disposeConnectionInfo(connectionId, true);
+        pushMetrics.connectionClosed();
+    }
+
+    /**
+     * Stops the idle and resume timers when the application context is closed,
+     * so that their ticker thread does not keep running.
+     */
+    @Override
+    public void destroy() {
+        idleTimers.stop();
     }
 
     private void handleBrowserUnsubscribe(String connectionId,
             UnsubscribeMessage message) {
         String fluxId = message.getId();
-        disposeSubscriptionInfo(connectionId, fluxId, true);
+        disposeSubscriptionInfo(connectionId, fluxId, true,
+                DisposalReason.UNSUBSCRIBE);
     }
 
     /**
@@ -257,7 +723,12 @@ public class PushMessageHandler {
                 .remove(connectionId);
         if (fluxMap != null) {
             fluxMap.forEach((cid, subscriptionInfo) -> {
-                dispose(subscriptionInfo, invokeUnsubscribeListener);
+                if (subscriptionInfo.getResumable() != null) {
+                    detach(subscriptionInfo.getResumable());
+                } else {
+                    dispose(subscriptionInfo, invokeUnsubscribeListener,
+                            DisposalReason.DISCONNECT);
+                }
             });
         }
     }
@@ -272,22 +743,43 @@ public class PushMessageHandler {
      *            the subscription id
      * @param invokeUnsubscribeListener
      *            true to invoke any unsubscribe listeners, false to ignore them
+     * @param reason
+     *            the reason for disposing the subscription
      */
     private void disposeSubscriptionInfo(String connectionId,
-            String subscriptionId, boolean invokeUnsubscribeListener) {
+            String subscriptionId, boolean invokeUnsubscribeListener,
+            DisposalReason reason) {
         ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
                 .get(connectionId);
         if (fluxMap != null) {
             SubscriptionInfo subscriptionInfo = fluxMap.remove(subscriptionId);
             if (subscriptionInfo != null) {
-                dispose(subscriptionInfo, invokeUnsubscribeListener);
+                if (subscriptionInfo.getResumable() != null) {
+                    resumableSubscriptions.remove(
+                            subscriptionInfo.getResumable().getResumeToken(),
+                            subscriptionInfo.getResumable());
+                }
+                dispose(subscriptionInfo, invokeUnsubscribeListener, reason);
             }
         }
     }
 
+    private void removeSubscriptionInfo(String connectionId,
+            String subscriptionId, SubscriptionInfo subscriptionInfo) {
+        ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
+                .get(connectionId);
+        if (fluxMap != null) {
+            fluxMap.remove(subscriptionId, subscriptionInfo);
+        }
+    }
+
     private void dispose(SubscriptionInfo subscriptionInfo,
-            boolean invokeUnsubscribeListener) {
-        subscriptionInfo.getFluxSubscriptionDisposable().dispose();
+            boolean invokeUnsubscribeListener, DisposalReason reason) {
+        if (!subscriptionInfo.cancel()) {
+            // Already cancelled or terminated
+            return;
+        }
+        subscriptionRemoved(subscriptionInfo, reason);
         if (invokeUnsubscribeListener) {
             Runnable unsubscribeHandler = subscriptionInfo
                     .getUnsubscribeHandler();
@@ -298,6 +790,115 @@ public class PushMessageHandler {
 
     }
 
+    /**
+     * Gets the metrics collector used for push.
+     *
+     * @return the push metrics
+     */
+    PushMetrics getPushMetrics() {
+        return pushMetrics;
+    }
+
+    /**
+     * Reserves a slot for a new subscription if the global limit allows it.
+     *
+     * @return true if the slot was reserved, false if the limit has been
+     *         reached
+     */
+    private boolean reserveSubscription() {
+        int count = activeSubscriptionCount.incrementAndGet();
+        if (maxSubscriptions > 0 && count > maxSubscriptions) {
+            activeSubscriptionCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void subscriptionRemoved(SubscriptionInfo subscriptionInfo,
+            DisposalReason reason) {
+        activeSubscriptionCount.decrementAndGet();
+        pushMetrics.subscriptionDisposed(subscriptionInfo.getEndpointName(),
+                subscriptionInfo.getMethodName(), reason);
+    }
+
+    private void scheduleSubscriptionIdleCheck(String connectionId,
+            String fluxId, SubscriptionInfo subscriptionInfo,
+            Consumer<AbstractClientMessage> sender, long delayMs) {
+        if (subscriptionIdleTimeoutMs > 0) {
+            idleTimers.schedule(delayMs,
+                    () -> checkSubscriptionIdle(connectionId, fluxId,
+                            subscriptionInfo, sender));
+        }
+    }
+
+    /**
+     * Removes the subscription if its Flux has not emitted anything during the
+     * idle timeout, otherwise checks again when the timeout could expire.
+     */
+    private void checkSubscriptionIdle(String connectionId, String fluxId,
+            SubscriptionInfo subscriptionInfo,
+            Consumer<AbstractClientMessage> sender) {
+        ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
+                .get(connectionId);
+        if (fluxMap == null || fluxMap.get(fluxId) != subscriptionInfo) {
+            // Already removed or moved to another connection
+            return;
+        }
+        long idleMs = TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - subscriptionInfo.getLastActivity());
+        if (idleMs < subscriptionIdleTimeoutMs) {
+            scheduleSubscriptionIdleCheck(connectionId, fluxId,
+                    subscriptionInfo, sender,
+                    subscriptionIdleTimeoutMs - idleMs);
+            return;
+        }
+        if (fluxMap.remove(fluxId, subscriptionInfo)) {
+            getLogger().debug("Removing idle subscription {} in connection {}",
+                    fluxId, connectionId);
+            ResumableSubscription resumable = subscriptionInfo.getResumable();
+            if (resumable != null) {
+                resumableSubscriptions.remove(resumable.getResumeToken(),
+                        resumable);
+            }
+            dispose(subscriptionInfo, true, DisposalReason.IDLE);
+            send(sender, new ClientMessageError(fluxId,
+                    "Subscription idle timeout"));
+        }
+    }
+
+    private void scheduleConnectionIdleCheck(String connectionId,
+            long delayMs) {
+        if (connectionIdleTimeoutMs > 0) {
+            idleTimers.schedule(delayMs,
+                    () -> checkConnectionIdle(connectionId));
+        }
+    }
+
+    /**
+     * Closes the connection if it has had no subscriptions and no messages from
+     * the browser during the idle timeout, otherwise checks again later.
+     */
+    private void checkConnectionIdle(String connectionId) {
+        ConnectionInfo connectionInfo = connectionInfos.get(connectionId);
+        ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
+                .get(connectionId);
+        if (connectionInfo == null || fluxMap == null) {
+            // Already disconnected
+            return;
+        }
+        long idleMs = TimeUnit.NANOSECONDS
+                .toMillis(System.nanoTime() - connectionInfo.lastActivity);
+        if (!fluxMap.isEmpty()) {
+            scheduleConnectionIdleCheck(connectionId, connectionIdleTimeoutMs);
+        } else if (idleMs < connectionIdleTimeoutMs) {
+            scheduleConnectionIdleCheck(connectionId,
+                    connectionIdleTimeoutMs - idleMs);
+        } else {
+            getLogger().debug("Closing idle connection {}", connectionId);
+            connectionInfo.disconnectHandler.run();
+        }
+    }
+
     private Logger getLogger() {
         return LoggerFactory.getLogger(getClass());
     }
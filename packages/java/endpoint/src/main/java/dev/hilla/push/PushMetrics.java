@@ -0,0 +1,105 @@
+package dev.hilla.push;
+
+/**
+ * Receives notifications about push connections, subscriptions and sent
+ * messages so that they can be exposed as metrics.
+ * <p>
+ * All methods do nothing by default. When Micrometer is available,
+ * {@link MicrometerPushMetrics} is used to publish the data to the application
+ * meter registry.
+ */
+public interface PushMetrics {
+
+    /**
+     * A metrics implementation that ignores everything.
+     */
+    PushMetrics NOOP = new PushMetrics() {
+    };
+
+    /**
+     * The reason for a subscription to be removed.
+     */
+    enum DisposalReason {
+        /**
+         * The Flux completed normally.
+         */
+        COMPLETE,
+        /**
+         * The Flux completed with an exception.
+         */
+        ERROR,
+        /**
+         * The browser unsubscribed.
+         */
+        UNSUBSCRIBE,
+        /**
+         * The browser connection was lost.
+         */
+        DISCONNECT,
+        /**
+         * The Flux did not emit anything during the idle timeout.
+         */
+        IDLE
+    }
+
+    /**
+     * Called when a browser connection has been established.
+     */
+    default void connectionOpened() {
+    }
+
+    /**
+     * Called when a browser connection has been closed.
+     */
+    default void connectionClosed() {
+    }
+
+    /**
+     * Called when a subscription to an endpoint method has been started.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the endpoint method
+     */
+    default void subscriptionStarted(String endpointName, String methodName) {
+    }
+
+    /**
+     * Called when a subscription to an endpoint method has been removed.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the endpoint method
+     * @param reason
+     *            the reason for the removal
+     */
+    default void subscriptionDisposed(String endpointName, String methodName,
+            DisposalReason reason) {
+    }
+
+    /**
+     * Called when an item from a subscription has been sent to the browser.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the endpoint method
+     * @param sendNanos
+     *            the time it took to serialize and send the item, in
+     *            nanoseconds
+     */
+    default void itemSent(String endpointName, String methodName,
+            long sendNanos) {
+    }
+
+    /**
+     * Called when a message to the browser has been serialized.
+     *
+     * @param serializationNanos
+     *            the time it took to serialize the message, in nanoseconds
+     */
+    default void messageSerialized(long serializationNanos) {
+    }
+}
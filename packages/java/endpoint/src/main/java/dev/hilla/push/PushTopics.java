@@ -0,0 +1,185 @@
+package dev.hilla.push;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.hilla.EndpointSubscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Connects endpoint fluxes to topics of the {@link PushBroker}.
+ * <p>
+ * Messages published through {@link #publish(String, Object)} on any node are
+ * delivered to all fluxes returned by {@link #flux(String, Class)} for the same
+ * topic on all nodes. All subscriptions to the same topic on a node share a
+ * single broker listener, which is removed when the last subscription is
+ * cancelled. The listener is registered and removed under the lock of the topic
+ * in the map of listeners, so concurrent subscriptions never register a second
+ * listener for a topic.
+ * <p>
+ * A broker passing the messages between the nodes usually serializes them, so a
+ * message might not be delivered as an instance of the type it was published
+ * with. Such messages are converted to the type of the flux with the object
+ * mapper, and messages that cannot be converted are logged and skipped without
+ * affecting the other subscriptions to the topic.
+ */
+public class PushTopics {
+
+    /**
+     * The broker listener of a topic, which delivers the messages to all the
+     * subscriptions to the topic on this node.
+     */
+    private static class TopicListener {
+        private final List<Consumer<Object>> subscribers = new CopyOnWriteArrayList<>();
+        private Disposable registration;
+
+        private void deliver(Object message) {
+            subscribers.forEach(subscriber -> subscriber.accept(message));
+        }
+    }
+
+    private final PushBroker broker;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, TopicListener> topicListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the instance.
+     *
+     * @param broker
+     *            the broker used for delivering messages
+     */
+    public PushTopics(PushBroker broker) {
+        this(broker, new ObjectMapper());
+    }
+
+    /**
+     * Creates the instance.
+     *
+     * @param broker
+     *            the broker used for delivering messages
+     * @param objectMapper
+     *            the object mapper used for converting the delivered messages
+     *            to the type of the flux
+     */
+    public PushTopics(PushBroker broker, ObjectMapper objectMapper) {
+        this.broker = broker;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Publishes a message to the given topic.
+     *
+     * @param topic
+     *            the topic to publish to
+     * @param message
+     *            the message to publish
+     */
+    public void publish(String topic, Object message) {
+        broker.publish(topic, message);
+    }
+
+    /**
+     * Returns a flux of the messages published to the given topic.
+     *
+     * @param <T>
+     *            the type of the messages
+     * @param topic
+     *            the topic to listen to
+     * @param type
+     *            the type of the messages
+     * @return a flux of messages in the topic
+     */
+    public <T> Flux<T> flux(String topic, Class<T> type) {
+        return Flux.<Object> create(sink -> {
+            Consumer<Object> subscriber = sink::next;
+            addSubscriber(topic, subscriber);
+            sink.onDispose(() -> removeSubscriber(topic, subscriber));
+        }).<T> handle((message, sink) -> {
+            T value = convert(topic, message, type);
+            if (value != null) {
+                sink.next(value);
+            }
+        });
+    }
+
+    /**
+     * Returns an endpoint subscription of the messages published to the given
+     * topic.
+     *
+     * @param <T>
+     *            the type of the messages
+     * @param topic
+     *            the topic to listen to
+     * @param type
+     *            the type of the messages
+     * @param onUnsubscribe
+     *            a callback that is invoked when the browser unsubscribes
+     * @return a subscription to messages in the topic
+     */
+    public <T> EndpointSubscription<T> subscription(String topic, Class<T> type,
+            Runnable onUnsubscribe) {
+        return EndpointSubscription.of(flux(topic, type), onUnsubscribe);
+    }
+
+    /**
+     * Returns the number of topics that currently have a shared flux on this
+     * node.
+     *
+     * @return the number of active topics
+     */
+    int getActiveTopicCount() {
+        return topicListeners.size();
+    }
+
+    private <T> T convert(String topic, Object message, Class<T> type) {
+        if (type.isInstance(message)) {
+            return type.cast(message);
+        }
+        try {
+            return objectMapper.convertValue(message, type);
+        } catch (IllegalArgumentException e) {
+            getLogger().warn(
+                    "Skipping a message of topic " + topic
+                            + " that cannot be converted to " + type.getName(),
+                    e);
+            return null;
+        }
+    }
+
+    private void addSubscriber(String topic, Consumer<Object> subscriber) {
+        topicListeners.compute(topic, (key, listener) -> {
+            if (listener == null) {
+                listener = new TopicListener();
+                listener.registration = broker.subscribe(key,
+                        listener::deliver);
+            }
+            listener.subscribers.add(subscriber);
+            return listener;
+        });
+    }
+
+    private void removeSubscriber(String topic, Consumer<Object> subscriber) {
+        topicListeners.computeIfPresent(topic, (key, listener) -> {
+            listener.subscribers.remove(subscriber);
+            if (!listener.subscribers.isEmpty()) {
+                return listener;
+            }
+            listener.registration.dispose();
+            return null;
+        });
+    }
+
+    private Logger getLogger() {
+        return LoggerFactory.getLogger(getClass());
+    }
+}
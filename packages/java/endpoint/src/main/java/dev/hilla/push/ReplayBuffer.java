@@ -0,0 +1,82 @@
+package dev.hilla.push;
+
+/**
+ * A bounded ring buffer of the most recent items sent in a subscription,
+ * indexed by a sequence number that starts from 1.
+ * <p>
+ * Not thread safe.
+ */
+class ReplayBuffer {
+
+    /**
+     * Receives an item together with its sequence number.
+     */
+    @FunctionalInterface
+    interface ItemConsumer {
+        void accept(Object item, long sequence);
+    }
+
+    private final Object[] items;
+    private long nextSequence = 1;
+
+    /**
+     * Creates a buffer.
+     *
+     * @param capacity
+     *            the maximum number of items to retain
+     */
+    ReplayBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Replay buffer capacity must be positive");
+        }
+        items = new Object[capacity];
+    }
+
+    /**
+     * Adds an item, possibly overwriting the oldest retained item.
+     *
+     * @param item
+     *            the item to add
+     * @return the sequence number assigned to the item
+     */
+    long add(Object item) {
+        long sequence = nextSequence++;
+        items[index(sequence)] = item;
+        return sequence;
+    }
+
+    /**
+     * Checks if all items after the given sequence number are still retained.
+     *
+     * @param sequence
+     *            the sequence number of the last item the receiver has
+     * @return true if the items after the sequence number can be replayed,
+     *         false if some of them have been dropped or the sequence number
+     *         has not been assigned yet
+     */
+    boolean canReplayAfter(long sequence) {
+        return sequence >= 0 && sequence >= nextSequence - 1 - items.length
+                && sequence < nextSequence;
+    }
+
+    /**
+     * Passes the retained items after the given sequence number to the
+     * consumer, in order.
+     *
+     * @param sequence
+     *            the sequence number of the last item the receiver has
+     * @param consumer
+     *            the consumer for the items
+     */
+    void forEachAfter(long sequence, ItemConsumer consumer) {
+        long first = Math.max(sequence + 1, nextSequence - items.length);
+        for (long s = first; s < nextSequence; s++) {
+            consumer.accept(items[index(s)], s);
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % items.length);
+    }
+}
@@ -0,0 +1,167 @@
+package dev.hilla.push;
+
+import java.security.Principal;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import dev.hilla.push.PushMessageHandler.SubscriptionInfo;
+import dev.hilla.push.PushMetrics.DisposalReason;
+import dev.hilla.push.messages.toclient.AbstractClientMessage;
+import dev.hilla.push.messages.toclient.ClientMessageUpdate;
+import reactor.core.Disposable;
+
+/**
+ * A subscription that survives the loss of the browser connection for a while
+ * and can be resumed from a new connection.
+ * <p>
+ * Items are numbered and the most recent ones are kept in a
+ * {@link ReplayBuffer}, so that the items sent while the browser was
+ * disconnected can be delivered when the subscription is resumed. A Flux
+ * completion or error that happens while detached is delivered on resume.
+ * <p>
+ * The attached state is guarded by the instance monitor.
+ */
+class ResumableSubscription {
+
+    private final String resumeToken;
+    private final String principalName;
+    private final ReplayBuffer replayBuffer;
+
+    private SubscriptionInfo subscriptionInfo;
+    private String connectionId;
+    private String fluxId;
+    private Consumer<AbstractClientMessage> sender;
+    private Function<String, AbstractClientMessage> pendingTermination;
+    private DisposalReason pendingTerminationReason;
+    private Disposable expiration;
+
+    ResumableSubscription(String resumeToken, Principal principal,
+            int replayBufferSize, String connectionId, String fluxId,
+            Consumer<AbstractClientMessage> sender) {
+        this.resumeToken = resumeToken;
+        this.principalName = principal != null ? principal.getName() : null;
+        this.replayBuffer = new ReplayBuffer(replayBufferSize);
+        this.connectionId = connectionId;
+        this.fluxId = fluxId;
+        this.sender = sender;
+    }
+
+    String getResumeToken() {
+        return resumeToken;
+    }
+
+    boolean isOwnedBy(Principal principal) {
+        return Objects.equals(principalName,
+                principal != null ? principal.getName() : null);
+    }
+
+    SubscriptionInfo getSubscriptionInfo() {
+        return subscriptionInfo;
+    }
+
+    void setSubscriptionInfo(SubscriptionInfo subscriptionInfo) {
+        this.subscriptionInfo = subscriptionInfo;
+    }
+
+    synchronized boolean isAttached() {
+        return sender != null;
+    }
+
+    synchronized String getConnectionId() {
+        return connectionId;
+    }
+
+    synchronized String getFluxId() {
+        return fluxId;
+    }
+
+    synchronized Consumer<AbstractClientMessage> getSender() {
+        return sender;
+    }
+
+    /**
+     * Records an item and sends it to the browser if attached.
+     *
+     * @param item
+     *            the item from the Flux
+     */
+    synchronized void send(Object item) {
+        long sequence = replayBuffer.add(item);
+        if (sender != null) {
+            sender.accept(new ClientMessageUpdate(fluxId, item, sequence));
+        }
+    }
+
+    /**
+     * Detaches the subscription from a lost connection.
+     *
+     * @param expiration
+     *            the scheduled task that disposes the subscription if it is not
+     *            resumed in time
+     */
+    synchronized void detach(Disposable expiration) {
+        this.connectionId = null;
+        this.fluxId = null;
+        this.sender = null;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Attaches the subscription to a new connection and replays the items the
+     * browser has not received.
+     *
+     * @param connectionId
+     *            the id of the new connection
+     * @param fluxId
+     *            the id of the subscription in the new connection
+     * @param sender
+     *            the sender for the new connection
+     * @param lastSequence
+     *            the sequence number of the last item received by the browser,
+     *            or {@code null} if no items were received
+     * @return true if the subscription was resumed, false if the items to
+     *         replay are no longer available
+     */
+    synchronized boolean attach(String connectionId, String fluxId,
+            Consumer<AbstractClientMessage> sender, Long lastSequence) {
+        long after = lastSequence != null ? lastSequence : 0;
+        if (!replayBuffer.canReplayAfter(after)) {
+            return false;
+        }
+        if (expiration != null) {
+            expiration.dispose();
+            expiration = null;
+        }
+        this.connectionId = connectionId;
+        this.fluxId = fluxId;
+        this.sender = sender;
+        replayBuffer.forEachAfter(after, (item, sequence) -> sender
+                .accept(new ClientMessageUpdate(fluxId, item, sequence)));
+        return true;
+    }
+
+    /**
+     * Stores a completion or error that happened while detached, to be
+     * delivered when the subscription is resumed.
+     *
+     * @param message
+     *            a function creating the message for a given flux id
+     * @param reason
+     *            the reason for the termination
+     */
+    synchronized void setPendingTermination(
+            Function<String, AbstractClientMessage> message,
+            DisposalReason reason) {
+        this.pendingTermination = message;
+        this.pendingTerminationReason = reason;
+    }
+
+    synchronized Function<String, AbstractClientMessage> getPendingTermination() {
+        return pendingTermination;
+    }
+
+    synchronized DisposalReason getPendingTerminationReason() {
+        return pendingTerminationReason;
+    }
+}
@@ -2,11 +2,15 @@ package dev.hilla.push;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import dev.hilla.ConditionalOnFeatureFlag;
 import dev.hilla.EndpointInvoker;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.socket.engineio.server.EngineIoServer;
 import io.socket.socketio.server.SocketIoServer;
 
@@ -40,8 +44,37 @@ public class SocketIoConfigurer {
                 pushMessageHandler);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public PushBroker pushBroker() {
+        return new LocalPushBroker();
+    }
+
+    @Bean
+    public PushTopics pushTopics(PushBroker pushBroker,
+            ObjectMapper objectMapper) {
+        return new PushTopics(pushBroker, objectMapper);
+    }
+
     @Bean
     public EngineIoCleanup engineIoCleanup(EngineIoHandler engineIoHandler) {
         return new EngineIoCleanup(engineIoHandler);
     }
+
+    /**
+     * Publishes push metrics when Micrometer is available.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class PushMetricsConfigurer {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PushMetrics pushMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerPushMetrics(registry)
+                    : PushMetrics.NOOP;
+        }
+    }
 }
@@ -40,7 +40,8 @@ public class SocketIoHandler {
         SocketIoNamespace hillaNamespace = socketIoServer.namespace("hilla");
         hillaNamespace.on("connection", event -> {
             SocketIoSocket socket = (SocketIoSocket) event[0];
-            pushMessageHandler.handleBrowserConnect(socket.getId());
+            pushMessageHandler.handleBrowserConnect(socket.getId(),
+                    () -> socket.disconnect(false));
 
             Consumer<AbstractClientMessage> sender = message -> {
                 try {
@@ -48,8 +49,11 @@ public class SocketIoHandler {
                         getLogger().debug("Sending push message to the client: "
                                 + message);
                     }
-                    socket.send("message",
-                            objectMapper.writeValueAsString(message));
+                    long start = System.nanoTime();
+                    String json = objectMapper.writeValueAsString(message);
+                    pushMessageHandler.getPushMetrics()
+                            .messageSerialized(System.nanoTime() - start);
+                    socket.send("message", json);
                 } catch (JsonProcessingException
                         | IllegalArgumentException e1) {
                     getLogger().warn(
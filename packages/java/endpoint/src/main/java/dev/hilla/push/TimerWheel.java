@@ -0,0 +1,175 @@
+package dev.hilla.push;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A hashed timer wheel for scheduling a large number of coarse grained timeouts
+ * cheaply.
+ * <p>
+ * Timeouts are placed in slots based on their deadline and the wheel advances
+ * one slot per tick, running the tasks in the current slot whose deadline has
+ * passed. Scheduling and cancelling are constant time operations, which keeps
+ * the cost per push subscription low regardless of the number of subscriptions.
+ * <p>
+ * The wheel starts ticking when the first timeout is scheduled, and it does not
+ * start again once it has been stopped. It ticks on a thread of its own,
+ * because the tasks may run application code, such as unsubscribe listeners,
+ * which must not block the shared Reactor schedulers.
+ */
+class TimerWheel {
+
+    static final String THREAD_NAME = "hilla-push-timers";
+
+    /**
+     * A scheduled task.
+     */
+    static class Timeout implements Disposable {
+        private final long deadlineTick;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timeout so that the task is not run.
+         */
+        @Override
+        public void dispose() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMillis;
+    private final Set<Timeout>[] slots;
+    private volatile long currentTick;
+    private boolean stopped;
+    private Scheduler scheduler;
+    private Disposable ticker;
+
+    /**
+     * Creates a timer wheel.
+     *
+     * @param tickMillis
+     *            the duration of one tick, which is the resolution of the
+     *            timeouts
+     * @param slotCount
+     *            the number of slots in the wheel
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int slotCount) {
+        this.tickMillis = tickMillis;
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = createSlot();
+        }
+    }
+
+    /**
+     * Creates the set holding the timeouts of one slot, which must allow
+     * concurrent updates.
+     *
+     * @return the new slot
+     */
+    Set<Timeout> createSlot() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Schedules a task to run after the given delay. The task is run on the
+     * thread of the wheel so it should not block.
+     *
+     * @param delayMillis
+     *            the delay in milliseconds
+     * @param task
+     *            the task to run
+     * @return the timeout, which can be used for cancelling the task
+     */
+    Timeout schedule(long delayMillis, Runnable task) {
+        ensureStarted();
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        long slotTick = currentTick + ticks;
+        Timeout timeout = new Timeout(slotTick, task);
+        slots[slotIndex(slotTick)].add(timeout);
+
+        // The wheel may have passed the slot while the timeout was added to
+        // it, in which case the timeout would only be found a round later.
+        // Unless the tick has already taken it, move it to the next slot.
+        long tick;
+        while ((tick = currentTick) >= slotTick
+                && slots[slotIndex(slotTick)].remove(timeout)) {
+            slotTick = tick + 1;
+            slots[slotIndex(slotTick)].add(timeout);
+        }
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the expired tasks.
+     */
+    void tick() {
+        long tick = ++currentTick;
+        Iterator<Timeout> iterator = slots[slotIndex(tick)].iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.deadlineTick <= tick) {
+                iterator.remove();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    getLogger().error("Exception in timeout task", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the wheel. Pending tasks are not run.
+     */
+    synchronized void stop() {
+        stopped = true;
+        if (ticker != null) {
+            ticker.dispose();
+            ticker = null;
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+            scheduler = null;
+        }
+    }
+
+    private synchronized void ensureStarted() {
+        if (ticker == null && !stopped) {
+            scheduler = Schedulers.newSingle(THREAD_NAME, true);
+            ticker = scheduler.schedulePeriodically(this::tick, tickMillis,
+                    tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private int slotIndex(long tick) {
+        return (int) (tick % slots.length);
+    }
+
+    private Logger getLogger() {
+        return LoggerFactory.getLogger(getClass());
+    }
+}
@@ -6,6 +6,8 @@ public class SubscribeMessage extends AbstractServerMessage {
 
     private String endpointName, methodName;
     private ArrayNode params;
+    private String resumeToken;
+    private Long lastSequence;
 
     public String getEndpointName() {
         return endpointName;
@@ -31,4 +33,38 @@ public class SubscribeMessage extends AbstractServerMessage {
         this.params = params;
     }
 
+    /**
+     * Gets the token identifying a resumable subscription.
+     * <p>
+     * If the token refers to a subscription that is still retained on the
+     * server after a lost connection, the subscription is resumed instead of
+     * invoking the endpoint method again. If no such subscription exists, a new
+     * resumable subscription is created using the token.
+     *
+     * @return the resume token, or {@code null} if the subscription is not
+     *         resumable
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * Gets the sequence number of the last item received by the client, used
+     * when resuming a subscription.
+     *
+     * @return the last received sequence number, or {@code null} if no items
+     *         have been received
+     */
+    public Long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(Long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
 }
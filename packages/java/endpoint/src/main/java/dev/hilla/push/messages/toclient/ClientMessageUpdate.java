@@ -1,7 +1,11 @@
 package dev.hilla.push.messages.toclient;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ClientMessageUpdate extends AbstractClientMessage {
     private Object item;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sequence;
 
     public ClientMessageUpdate() {
         super();
@@ -12,6 +16,11 @@ public class ClientMessageUpdate extends AbstractClientMessage {
         this.item = item;
     }
 
+    public ClientMessageUpdate(String id, Object item, Long sequence) {
+        this(id, item);
+        this.sequence = sequence;
+    }
+
     public Object getItem() {
         return item;
     }
@@ -20,9 +29,24 @@ public class ClientMessageUpdate extends AbstractClientMessage {
         this.item = item;
     }
 
+    /**
+     * Gets the sequence number of the item within a resumable subscription.
+     *
+     * @return the sequence number, or {@code null} if the subscription is not
+     *         resumable
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public String toString() {
-        return "ClientMessageUpdate [id=" + getId() + ", item=" + item + "]";
+        return "ClientMessageUpdate [id=" + getId() + ", item=" + item
+                + (sequence != null ? ", sequence=" + sequence : "") + "]";
     }
 
 }
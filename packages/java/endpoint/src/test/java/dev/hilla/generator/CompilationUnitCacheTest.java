@@ -0,0 +1,94 @@
+package dev.hilla.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CompilationUnitCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private final CompilationUnitCache cache = new CompilationUnitCache();
+    private final ParserConfiguration configuration = new ParserConfiguration();
+    private Path root;
+
+    @Before
+    public void init() throws IOException {
+        root = temporaryFolder.newFolder("java").toPath();
+        write("com/example/Entity.java",
+                "package com.example; public class Entity { String name; }");
+        write("com/example/FooEndpoint.java",
+                "package com.example; public class FooEndpoint { "
+                        + "public Entity get() { return null; } }");
+        write("com/example/BarEndpoint.java",
+                "package com.example; public class BarEndpoint { "
+                        + "public String get() { return null; } }");
+    }
+
+    @Test
+    public void should_ReturnUnitsOrderedByPath() {
+        var names = cache.parse(root, configuration).stream().map(
+                result -> result.getResult().get().getPrimaryTypeName().get())
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("BarEndpoint", "Entity", "FooEndpoint"), names);
+    }
+
+    @Test
+    public void should_ReparseChangedFileAndDependents() throws IOException {
+        var first = units(cache.parse(root, configuration));
+
+        assertEquals(first, units(cache.parse(root, configuration)));
+
+        write("com/example/Entity.java",
+                "package com.example; public class Entity { String title; }");
+        var second = units(cache.parse(root, configuration));
+
+        assertNotSame(first.get("Entity"), second.get("Entity"));
+        assertNotSame(first.get("FooEndpoint"), second.get("FooEndpoint"));
+        assertSame(first.get("BarEndpoint"), second.get("BarEndpoint"));
+    }
+
+    @Test
+    public void should_DropRemovedFiles() throws IOException {
+        cache.parse(root, configuration);
+        Files.delete(root.resolve("com/example/BarEndpoint.java"));
+
+        assertEquals(2, cache.parse(root, configuration).size());
+    }
+
+    private Map<String, CompilationUnit> units(
+            List<ParseResult<CompilationUnit>> results) {
+        return results.stream().map(result -> result.getResult().get()).collect(
+                Collectors.toMap(unit -> unit.getPrimaryTypeName().get(),
+                        unit -> unit));
+    }
+
+    private void write(String path, String content) throws IOException {
+        var file = root.resolve(path);
+        var existed = Files.exists(file);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+
+        if (existed) {
+            // Makes the change visible on file systems with coarse timestamps
+            Files.setLastModifiedTime(file, FileTime.fromMillis(
+                    Files.getLastModifiedTime(file).toMillis() + 2000));
+        }
+    }
+}
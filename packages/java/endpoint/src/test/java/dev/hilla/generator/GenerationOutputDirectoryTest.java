@@ -0,0 +1,102 @@
+package dev.hilla.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationOutputDirectoryTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private Path manifest;
+    private File root;
+
+    @Before
+    public void init() throws IOException {
+        root = temporaryFolder.newFolder("generated");
+        manifest = temporaryFolder.getRoot().toPath()
+                .resolve(GenerationOutputDirectory.MANIFEST_FILE_NAME);
+    }
+
+    @Test
+    public void should_NotRewriteFile_When_ContentIsUnchanged()
+            throws Exception {
+        var file = new File(root, "FooEndpoint.ts");
+        var directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(file, "export {};");
+        directory.clean(Set.of(file));
+
+        var time = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file.toPath(), time);
+
+        directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(file, "export {};");
+        directory.clean(Set.of(file));
+
+        assertEquals(time, Files.getLastModifiedTime(file.toPath()));
+
+        directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(file, "export default {};");
+        directory.clean(Set.of(file));
+
+        assertEquals("export default {};",
+                Files.readString(file.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void should_RemoveStaleFiles_FromManifest() throws Exception {
+        var foo = new File(root, "com/example/Foo.ts");
+        var bar = new File(root, "com/example/Bar.ts");
+        var directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(foo, "export {};");
+        directory.write(bar, "export {};");
+        directory.clean(Set.of(foo, bar));
+
+        assertTrue(Files.exists(manifest));
+
+        var custom = new File(root, "custom.ts");
+        Files.writeString(custom.toPath(), "export {};");
+
+        directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(foo, "export {};");
+        directory.clean(Set.of(foo));
+
+        assertTrue(foo.exists());
+        assertFalse(bar.exists());
+        assertTrue(custom.exists());
+
+        directory = new GenerationOutputDirectory(root, manifest);
+        directory.clean();
+
+        assertFalse(foo.exists());
+        assertFalse(new File(root, "com").exists());
+        assertFalse(Files.exists(manifest));
+    }
+
+    @Test
+    public void should_RemoveNotGeneratedFiles_When_ThereIsNoManifest()
+            throws Exception {
+        var stale = new File(root, "Stale.ts");
+        Files.writeString(stale.toPath(), "export {};");
+        var file = new File(root, "FooEndpoint.ts");
+
+        var directory = new GenerationOutputDirectory(root, manifest);
+        directory.write(file, "export {};");
+        directory.clean(Set.of(file));
+
+        assertTrue(file.exists());
+        assertFalse(stale.exists());
+    }
+}
@@ -0,0 +1,62 @@
+package dev.hilla.generator;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.javaparser.resolution.types.ResolvedPrimitiveType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ResolutionCacheTest {
+    @Test
+    public void should_LoadClassOnce() throws Exception {
+        var cache = new ResolutionCache();
+        var loader = getClass().getClassLoader();
+
+        assertSame(String.class, cache.getClass("java.lang.String", loader));
+        assertSame(String.class, cache.getClass("java.lang.String", loader));
+
+        for (var i = 0; i < 2; i++) {
+            try {
+                cache.getClass("com.example.Missing", loader);
+                fail("Expected ClassNotFoundException");
+            } catch (ClassNotFoundException e) {
+                // expected
+            }
+        }
+
+        assertThat(cache.toString(),
+                containsString("classes 2 hits / 2 misses"));
+    }
+
+    @Test
+    public void should_CreateMappedTypeOnce_ForSameBindings() {
+        var cache = new ResolutionCache();
+        var created = new AtomicInteger();
+        List<ResolvedType> arguments = List.of(ResolvedPrimitiveType.INT);
+        ResolvedType type = ResolvedPrimitiveType.LONG;
+
+        cache.getMappedType("a.Foo", arguments, () -> {
+            created.incrementAndGet();
+            return type;
+        });
+        assertSame(type, cache.getMappedType("a.Foo", arguments, () -> {
+            created.incrementAndGet();
+            return ResolvedPrimitiveType.BYTE;
+        }));
+        cache.getMappedType("a.Foo", List.of(), () -> {
+            created.incrementAndGet();
+            return type;
+        });
+
+        assertEquals(2, created.get());
+        assertThat(cache.toString(),
+                containsString("mapped types 1 hits / 2 misses"));
+    }
+}
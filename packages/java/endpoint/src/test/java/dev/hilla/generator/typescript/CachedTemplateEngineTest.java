@@ -0,0 +1,29 @@
+package dev.hilla.generator.typescript;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.templates.HandlebarTemplateEngine;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class CachedTemplateEngineTest {
+    @Test
+    public void should_CacheClassPathTemplates() {
+        CodeGenerator generator = new CodeGenerator();
+        generator.processOpts();
+
+        assertTrue(
+                generator.getTemplateEngine() instanceof CachedTemplateEngine);
+    }
+
+    @Test
+    public void should_NotCacheTemplates_When_TemplateDirIsCustom() {
+        CodeGenerator generator = new CodeGenerator();
+        generator.additionalProperties().put(CodegenConstants.TEMPLATE_DIR,
+                "custom-templates");
+        generator.processOpts();
+
+        assertTrue(generator
+                .getTemplateEngine() instanceof HandlebarTemplateEngine);
+    }
+}
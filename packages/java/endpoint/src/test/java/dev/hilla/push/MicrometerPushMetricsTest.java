@@ -0,0 +1,58 @@
+package dev.hilla.push;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.hilla.push.PushMetrics.DisposalReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MicrometerPushMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerPushMetrics metrics;
+
+    @Before
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerPushMetrics(registry);
+    }
+
+    @Test
+    public void connections_areCounted() {
+        metrics.connectionOpened();
+        metrics.connectionOpened();
+        metrics.connectionClosed();
+        Assert.assertEquals(1,
+                registry.get("hilla.push.connections").gauge().value(), 0);
+    }
+
+    @Test
+    public void subscriptions_areCountedPerMethod() {
+        metrics.subscriptionStarted("Endpoint", "a");
+        metrics.subscriptionStarted("Endpoint", "a");
+        metrics.subscriptionStarted("Endpoint", "b");
+        metrics.subscriptionDisposed("Endpoint", "a",
+                DisposalReason.UNSUBSCRIBE);
+
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions")
+                .tag("method", "a").gauge().value(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions")
+                .tag("method", "b").gauge().value(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions.disposed")
+                .tag("reason", "unsubscribe").counter().count(), 0);
+    }
+
+    @Test
+    public void sentItems_areCountedAndTimed() {
+        metrics.itemSent("Endpoint", "a", 1000);
+        metrics.itemSent("Endpoint", "a", 3000);
+        metrics.messageSerialized(500);
+
+        Assert.assertEquals(2, registry.get("hilla.push.items")
+                .tag("endpoint", "Endpoint").counter().count(), 0);
+        Assert.assertEquals(2, registry.get("hilla.push.send").timer().count());
+        Assert.assertEquals(1,
+                registry.get("hilla.push.serialization").timer().count());
+    }
+}
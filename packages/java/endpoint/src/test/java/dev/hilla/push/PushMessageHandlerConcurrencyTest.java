@@ -0,0 +1,266 @@
+package dev.hilla.push;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.servlet.ServletContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaadin.experimental.FeatureFlags;
+import com.vaadin.flow.server.VaadinServletContext;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import dev.hilla.EndpointControllerConfiguration;
+import dev.hilla.EndpointInvoker;
+import dev.hilla.EndpointProperties;
+import dev.hilla.EndpointSubscription;
+import dev.hilla.ServletContextTestSetup;
+import dev.hilla.push.messages.fromclient.SubscribeMessage;
+import dev.hilla.push.messages.fromclient.UnsubscribeMessage;
+import dev.hilla.push.messages.toclient.AbstractClientMessage;
+import dev.hilla.push.messages.toclient.ClientMessageComplete;
+import net.jcip.annotations.NotThreadSafe;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Stress tests for races between subscribing, unsubscribing, Flux termination
+ * and disconnecting. Every round runs the racing operations on separate threads
+ * released at the same time, and checks afterwards that each subscription was
+ * cleaned up exactly once.
+ */
+@SpringBootTest(classes = { PushMessageHandler.class,
+        ServletContextTestSetup.class, EndpointProperties.class,
+        Jackson2ObjectMapperBuilder.class, JacksonProperties.class,
+        ObjectMapper.class })
+@ContextConfiguration(classes = EndpointControllerConfiguration.class)
+@RunWith(SpringRunner.class)
+@TestPropertySource(properties = "dev.hilla.FeatureFlagCondition.alwaysEnable=true")
+@NotThreadSafe
+public class PushMessageHandlerConcurrencyTest {
+
+    private static final int ROUNDS = 2000;
+    private static final String ENDPOINT_NAME = "TestEndpoint";
+    private static final String INFINITE_FLUX_METHOD = "testInfiniteFlux";
+    private static final String ASYNC_COMPLETING_METHOD = "testAsyncCompleting";
+    private static final String SINK_FLUX_METHOD = "testSinkFlux";
+
+    @Autowired
+    private PushMessageHandler pushMessageHandler;
+
+    @MockBean
+    private EndpointInvoker endpointInvoker;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    private final ThreadLocal<String> currentFluxId = new ThreadLocal<>();
+    private Map<String, AtomicInteger> unsubscribeCalls;
+    private Map<String, AtomicInteger> completeMessages;
+    private Sinks.Many<String> sink;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws Exception {
+        FeatureFlags featureFlags = FeatureFlags
+                .get(new VaadinServletContext(servletContext));
+        try {
+            featureFlags.setEnabled(FeatureFlags.HILLA_PUSH.getId(), true);
+        } catch (Exception e) {
+            // Ignore that the file cannot be saved
+        }
+
+        Mockito.when(endpointInvoker.getReturnType(Mockito.anyString(),
+                Mockito.anyString()))
+                .thenAnswer(request -> EndpointSubscription.class);
+        Mockito.when(endpointInvoker.invoke(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(request -> {
+                    String methodName = request.getArgument(1);
+                    Flux<?> flux;
+                    if (methodName.equals(INFINITE_FLUX_METHOD)) {
+                        flux = Flux.interval(Duration.ofMillis(1));
+                    } else if (methodName.equals(ASYNC_COMPLETING_METHOD)) {
+                        flux = Flux.just("Hello")
+                                .subscribeOn(Schedulers.parallel());
+                    } else {
+                        flux = sink.asFlux();
+                    }
+                    AtomicInteger calls = unsubscribeCalls.computeIfAbsent(
+                            currentFluxId.get(), id -> new AtomicInteger());
+                    return EndpointSubscription.of(flux,
+                            calls::incrementAndGet);
+                });
+
+        unsubscribeCalls = new ConcurrentHashMap<>();
+        completeMessages = new ConcurrentHashMap<>();
+        sink = Sinks.many().multicast().directBestEffort();
+        executor = Executors.newFixedThreadPool(2);
+        pushMessageHandler.fluxSubscriptionInfos = new ConcurrentHashMap<>();
+        pushMessageHandler.resumableSubscriptions = new ConcurrentHashMap<>();
+        pushMessageHandler.connectionInfos = new ConcurrentHashMap<>();
+        pushMessageHandler.activeSubscriptionCount.set(0);
+        pushMessageHandler.maxSubscriptionsPerConnection = 0;
+        pushMessageHandler.maxSubscriptions = 0;
+        pushMessageHandler.subscriptionIdleTimeoutMs = 0;
+        pushMessageHandler.connectionIdleTimeoutMs = 0;
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void subscribeAndUnsubscribe_cleanedUpExactlyOnce()
+            throws Exception {
+        String connectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(connectionId);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            String fluxId = String.valueOf(i);
+            race(() -> subscribe(connectionId, fluxId, INFINITE_FLUX_METHOD),
+                    () -> unsubscribe(connectionId, fluxId));
+            // The unsubscribe may have arrived before the subscription
+            unsubscribe(connectionId, fluxId);
+            Assert.assertEquals("Unsubscribe handler calls for " + fluxId, 1,
+                    unsubscribeCalls.get(fluxId).get());
+        }
+
+        Assert.assertEquals(0, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+        Assert.assertEquals(0,
+                pushMessageHandler.activeSubscriptionCount.get());
+    }
+
+    @Test
+    public void completeAndUnsubscribe_exactlyOneOutcome() throws Exception {
+        String connectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(connectionId);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            String fluxId = String.valueOf(i);
+            race(() -> subscribe(connectionId, fluxId, ASYNC_COMPLETING_METHOD),
+                    () -> unsubscribe(connectionId, fluxId));
+        }
+        awaitActiveSubscriptions(0);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            String fluxId = String.valueOf(i);
+            // The complete message is sent right after the count is updated
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (countOutcomes(fluxId) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Assert.assertEquals("Outcomes for " + fluxId, 1,
+                    countOutcomes(fluxId));
+        }
+        Assert.assertEquals(0, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+    }
+
+    @Test
+    public void subscribeAndDisconnect_noLeakedSubscribers() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            String connectionId = UUID.randomUUID().toString();
+            String fluxId = String.valueOf(i);
+            pushMessageHandler.handleBrowserConnect(connectionId);
+            race(() -> subscribe(connectionId, fluxId, SINK_FLUX_METHOD),
+                    () -> pushMessageHandler
+                            .handleBrowserDisconnect(connectionId));
+            Assert.assertTrue("Unsubscribe handler calls for " + fluxId,
+                    unsubscribeCalls.getOrDefault(fluxId, new AtomicInteger())
+                            .get() <= 1);
+        }
+
+        Assert.assertEquals(0, sink.currentSubscriberCount());
+        Assert.assertEquals(0, pushMessageHandler.fluxSubscriptionInfos.size());
+        Assert.assertEquals(0,
+                pushMessageHandler.activeSubscriptionCount.get());
+    }
+
+    private void subscribe(String connectionId, String fluxId,
+            String methodName) {
+        SubscribeMessage message = new SubscribeMessage();
+        message.setId(fluxId);
+        message.setEndpointName(ENDPOINT_NAME);
+        message.setMethodName(methodName);
+        message.setParams(new ObjectMapper().createArrayNode());
+        currentFluxId.set(fluxId);
+        pushMessageHandler.handleMessage(connectionId, message,
+                recordCompletions());
+    }
+
+    private void unsubscribe(String connectionId, String fluxId) {
+        UnsubscribeMessage message = new UnsubscribeMessage();
+        message.setId(fluxId);
+        pushMessageHandler.handleMessage(connectionId, message, msg -> {
+        });
+    }
+
+    private int countOutcomes(String fluxId) {
+        return unsubscribeCalls.get(fluxId).get() + completeMessages
+                .getOrDefault(fluxId, new AtomicInteger()).get();
+    }
+
+    private Consumer<AbstractClientMessage> recordCompletions() {
+        return msg -> {
+            if (msg instanceof ClientMessageComplete) {
+                completeMessages
+                        .computeIfAbsent(msg.getId(), id -> new AtomicInteger())
+                        .incrementAndGet();
+            }
+        };
+    }
+
+    private void race(Runnable first, Runnable second) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<?> firstResult = executor.submit(() -> {
+            barrier.await();
+            first.run();
+            return null;
+        });
+        Future<?> secondResult = executor.submit(() -> {
+            barrier.await();
+            second.run();
+            return null;
+        });
+        firstResult.get(10, TimeUnit.SECONDS);
+        secondResult.get(10, TimeUnit.SECONDS);
+    }
+
+    private void awaitActiveSubscriptions(int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pushMessageHandler.activeSubscriptionCount.get() != expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(expected,
+                pushMessageHandler.activeSubscriptionCount.get());
+    }
+}
@@ -3,12 +3,14 @@ package dev.hilla.push;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.servlet.ServletContext;
 
@@ -50,6 +52,7 @@ import dev.hilla.push.messages.toclient.ClientMessageUpdate;
 import net.jcip.annotations.NotThreadSafe;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 
 @SpringBootTest(classes = { PushMessageHandler.class,
         ServletContextTestSetup.class, EndpointProperties.class,
@@ -68,6 +71,7 @@ public class PushMessageHandlerTest {
     private static final String ENDPOINT_SUBSCRIPTION_METHOD = "testEndpointSubscription";
     private static final String INFINITE_ENDPOINT_SUBSCRIPTION_METHOD = "testInfiniteEndpointSubscription";
     private static final String ENDPOINT_SUBSCRIPTION_WITH_EXCEPTION_METHOD = "testEndpointSubscriptionWithException";
+    private static final String SINK_FLUX_METHOD = "testSinkFlux";
 
     @Autowired
     private PushMessageHandler pushMessageHandler;
@@ -88,6 +92,8 @@ public class PushMessageHandlerTest {
 
     private String connectionId;
 
+    private Sinks.Many<String> sink;
+
     @Before
     public void setup()
             throws EndpointNotFoundException, EndpointAccessDeniedException,
@@ -108,7 +114,8 @@ public class PushMessageHandlerTest {
                     String methodName = request.getArgument(1);
                     if (methodName.equals(FLUX_METHOD)
                             || methodName.equals(FLUX_WITH_EXCEPTION_METHOD)
-                            || methodName.equals(INFINITE_FLUX_METHOD)) {
+                            || methodName.equals(INFINITE_FLUX_METHOD)
+                            || methodName.equals(SINK_FLUX_METHOD)) {
                         return Flux.class;
                     } else if (methodName.equals(ENDPOINT_SUBSCRIPTION_METHOD)
                             || methodName.equals(
@@ -135,6 +142,8 @@ public class PushMessageHandlerTest {
                         return createInfiniteDataFlux();
                     } else if (methodName.equals(FLUX_WITH_EXCEPTION_METHOD)) {
                         return createErrorFlux();
+                    } else if (methodName.equals(SINK_FLUX_METHOD)) {
+                        return sink.asFlux();
                     } else if (methodName
                             .equals(ENDPOINT_SUBSCRIPTION_METHOD)) {
                         return EndpointSubscription.of(createSingleDataFlux(),
@@ -151,8 +160,18 @@ public class PushMessageHandlerTest {
                     return null;
                 });
 
+        sink = Sinks.many().multicast().directBestEffort();
         connectionId = UUID.randomUUID().toString();
         pushMessageHandler.fluxSubscriptionInfos = new ConcurrentHashMap<>();
+        pushMessageHandler.resumableSubscriptions = new ConcurrentHashMap<>();
+        pushMessageHandler.replayBufferSize = 100;
+        pushMessageHandler.resumeTimeoutMs = 30000;
+        pushMessageHandler.connectionInfos = new ConcurrentHashMap<>();
+        pushMessageHandler.activeSubscriptionCount.set(0);
+        pushMessageHandler.maxSubscriptionsPerConnection = 1000;
+        pushMessageHandler.maxSubscriptions = 0;
+        pushMessageHandler.subscriptionIdleTimeoutMs = 0;
+        pushMessageHandler.connectionIdleTimeoutMs = 0;
         pushMessageHandler.handleBrowserConnect(connectionId);
     }
 
@@ -403,6 +422,327 @@ public class PushMessageHandlerTest {
         Assert.assertEquals(0, unsubscribeCalled);
     }
 
+    @Test
+    public void resumableSubscription_replaysMissedItemsOnResume()
+            throws Exception {
+        List<ClientMessageUpdate> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                collectUpdates(received));
+        sink.tryEmitNext("a");
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+        sink.tryEmitNext("b");
+        sink.tryEmitNext("c");
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        pushMessageHandler.handleMessage(newConnectionId,
+                createResumableSinkSubscribe("token", 1L),
+                collectUpdates(received));
+        sink.tryEmitNext("d");
+
+        Assert.assertEquals(List.of("a", "b", "c", "d"),
+                received.stream().map(ClientMessageUpdate::getItem)
+                        .collect(Collectors.toList()));
+        Assert.assertEquals(List.of(1L, 2L, 3L, 4L),
+                received.stream().map(ClientMessageUpdate::getSequence)
+                        .collect(Collectors.toList()));
+        Assert.assertEquals(1, sink.currentSubscriberCount());
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(newConnectionId).size());
+        Mockito.verify(endpointInvoker, Mockito.times(1)).invoke(Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void resumableSubscription_startsOverWhenItemsAreNoLongerBuffered()
+            throws Exception {
+        pushMessageHandler.replayBufferSize = 1;
+        List<ClientMessageUpdate> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                collectUpdates(received));
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+        sink.tryEmitNext("a");
+        sink.tryEmitNext("b");
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        pushMessageHandler.handleMessage(newConnectionId,
+                createResumableSinkSubscribe("token", null),
+                collectUpdates(received));
+
+        Assert.assertEquals(List.of(), received);
+        Assert.assertEquals(1, sink.currentSubscriberCount());
+        Assert.assertEquals(1,
+                pushMessageHandler.resumableSubscriptions.size());
+        Mockito.verify(endpointInvoker, Mockito.times(2)).invoke(Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void resumableSubscription_deliversCompletionAfterResume()
+            throws Exception {
+        List<AbstractClientMessage> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null), received::add);
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+        sink.tryEmitNext("a");
+        sink.tryEmitComplete();
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        pushMessageHandler.handleMessage(newConnectionId,
+                createResumableSinkSubscribe("token", 0L), received::add);
+
+        Assert.assertEquals(2, received.size());
+        Assert.assertEquals("a",
+                ((ClientMessageUpdate) received.get(0)).getItem());
+        Assert.assertTrue(received.get(1) instanceof ClientMessageComplete);
+        Assert.assertTrue(pushMessageHandler.resumableSubscriptions.isEmpty());
+        Assert.assertTrue(pushMessageHandler.fluxSubscriptionInfos
+                .get(newConnectionId).isEmpty());
+    }
+
+    @Test
+    public void resumableSubscription_disposedWhenNotResumedInTime()
+            throws Exception {
+        pushMessageHandler.resumeTimeoutMs = 10;
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+        Assert.assertEquals(1, sink.currentSubscriberCount());
+
+        long timeout = System.currentTimeMillis() + 2000;
+        while (sink.currentSubscriberCount() > 0
+                && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, sink.currentSubscriberCount());
+        Assert.assertTrue(pushMessageHandler.resumableSubscriptions.isEmpty());
+    }
+
+    @Test
+    public void resumableSubscription_rejectsResumeOfOtherMethod() {
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        SubscribeMessage other = createResumableSinkSubscribe("token", 0L);
+        other.setMethodName(INFINITE_FLUX_METHOD);
+        List<AbstractClientMessage> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(newConnectionId, other, received::add);
+
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("Invalid resume token",
+                ((ClientMessageError) received.get(0)).getMessage());
+        Assert.assertTrue(pushMessageHandler.fluxSubscriptionInfos
+                .get(newConnectionId).isEmpty());
+        Assert.assertEquals(1, sink.currentSubscriberCount());
+    }
+
+    @Test
+    public void resumableSubscription_resumeIgnoredForClosedConnection() {
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+
+        String closedConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleMessage(closedConnectionId,
+                createResumableSinkSubscribe("token", 0L), ignoreAll());
+
+        Assert.assertNull(pushMessageHandler.fluxSubscriptionInfos
+                .get(closedConnectionId));
+        Assert.assertEquals(1,
+                pushMessageHandler.resumableSubscriptions.size());
+        Assert.assertEquals(1, sink.currentSubscriberCount());
+    }
+
+    @Test
+    public void resumableSubscription_resumeCountsAgainstConnectionLimit() {
+        pushMessageHandler.maxSubscriptionsPerConnection = 1;
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        SubscribeMessage other = createInfiniteFluxSubscribe();
+        other.setId("other");
+        pushMessageHandler.handleMessage(newConnectionId, other,
+                ignoreUpdateMessages());
+        List<AbstractClientMessage> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(newConnectionId,
+                createResumableSinkSubscribe("token", 0L), received::add);
+
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("Too many subscriptions for the connection",
+                ((ClientMessageError) received.get(0)).getMessage());
+        Assert.assertEquals(Set.of("other"),
+                pushMessageHandler.fluxSubscriptionInfos.get(newConnectionId)
+                        .keySet());
+    }
+
+    @Test
+    public void resumableSubscription_resumeKeepsGlobalSlot() {
+        pushMessageHandler.maxSubscriptions = 1;
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+
+        String newConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(newConnectionId);
+        pushMessageHandler.handleMessage(newConnectionId,
+                createResumableSinkSubscribe("token", 0L),
+                ignoreUpdateMessages());
+        Assert.assertEquals(1,
+                pushMessageHandler.activeSubscriptionCount.get());
+
+        List<AbstractClientMessage> received = new ArrayList<>();
+        SubscribeMessage other = createInfiniteFluxSubscribe();
+        other.setId("other");
+        pushMessageHandler.handleMessage(newConnectionId, other, received::add);
+        Assert.assertEquals("Too many subscriptions on the server",
+                ((ClientMessageError) received.get(0)).getMessage());
+    }
+
+    @Test
+    public void resumableSubscription_unsubscribeRemovesResumeData() {
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe("token", null),
+                ignoreUpdateMessages());
+        UnsubscribeMessage unsubscribeMessage = new UnsubscribeMessage();
+        unsubscribeMessage.setId(connectionId);
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                ignoreAll());
+
+        Assert.assertEquals(0, sink.currentSubscriberCount());
+        Assert.assertTrue(pushMessageHandler.resumableSubscriptions.isEmpty());
+    }
+
+    @Test
+    public void subscriptionLimitPerConnection_rejectsSubscription() {
+        pushMessageHandler.maxSubscriptionsPerConnection = 1;
+        pushMessageHandler.handleMessage(connectionId,
+                createInfiniteFluxSubscribe(), ignoreUpdateMessages());
+
+        List<AbstractClientMessage> received = new ArrayList<>();
+        SubscribeMessage second = createInfiniteFluxSubscribe();
+        second.setId("2");
+        pushMessageHandler.handleMessage(connectionId, second, received::add);
+
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("Too many subscriptions for the connection",
+                ((ClientMessageError) received.get(0)).getMessage());
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+    }
+
+    @Test
+    public void globalSubscriptionLimit_rejectsSubscriptionUntilSlotIsFreed() {
+        pushMessageHandler.maxSubscriptions = 1;
+        SubscribeMessage first = createInfiniteFluxSubscribe();
+        pushMessageHandler.handleMessage(connectionId, first,
+                ignoreUpdateMessages());
+
+        String otherConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(otherConnectionId);
+        List<AbstractClientMessage> received = new ArrayList<>();
+        pushMessageHandler.handleMessage(otherConnectionId,
+                createInfiniteFluxSubscribe(), received::add);
+        Assert.assertEquals("Too many subscriptions on the server",
+                ((ClientMessageError) received.get(0)).getMessage());
+
+        UnsubscribeMessage unsubscribeMessage = new UnsubscribeMessage();
+        unsubscribeMessage.setId(first.getId());
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                ignoreAll());
+        pushMessageHandler.handleMessage(otherConnectionId,
+                createInfiniteFluxSubscribe(), ignoreUpdateMessages());
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(otherConnectionId).size());
+        Assert.assertEquals(1,
+                pushMessageHandler.activeSubscriptionCount.get());
+    }
+
+    @Test
+    public void idleSubscription_isRemovedAndClientNotified() throws Exception {
+        pushMessageHandler.subscriptionIdleTimeoutMs = 50;
+        CompletableFuture<ClientMessageError> error = new CompletableFuture<>();
+        pushMessageHandler.handleMessage(connectionId,
+                createInfiniteEndpointSubscriptionSubscribe(), msg -> {
+                    if (msg instanceof ClientMessageError) {
+                        error.complete((ClientMessageError) msg);
+                    } else {
+                        unexpectedMessages.add(msg);
+                    }
+                });
+
+        Assert.assertEquals("Subscription idle timeout",
+                error.get(2, TimeUnit.SECONDS).getMessage());
+        Assert.assertTrue(pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).isEmpty());
+        Assert.assertEquals(1, unsubscribeCalled);
+        Assert.assertEquals(0,
+                pushMessageHandler.activeSubscriptionCount.get());
+    }
+
+    @Test
+    public void activeSubscription_isNotRemovedAsIdle() throws Exception {
+        pushMessageHandler.subscriptionIdleTimeoutMs = 300;
+        pushMessageHandler.handleMessage(connectionId,
+                createResumableSinkSubscribe(null, null),
+                ignoreUpdateMessages());
+        for (int i = 0; i < 10; i++) {
+            sink.tryEmitNext("item");
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+    }
+
+    @Test
+    public void idleConnection_isClosed() throws Exception {
+        pushMessageHandler.connectionIdleTimeoutMs = 50;
+        CountDownLatch closed = new CountDownLatch(1);
+        String idleConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(idleConnectionId,
+                closed::countDown);
+
+        Assert.assertTrue(closed.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void destroy_stopsIdleTimers() throws Exception {
+        PushMessageHandler handler = new PushMessageHandler(endpointInvoker);
+        handler.connectionIdleTimeoutMs = 50;
+        handler.destroy();
+
+        CountDownLatch closed = new CountDownLatch(1);
+        handler.handleBrowserConnect(UUID.randomUUID().toString(),
+                closed::countDown);
+
+        Assert.assertFalse(closed.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    private Consumer<AbstractClientMessage> collectUpdates(
+            List<ClientMessageUpdate> updates) {
+        return msg -> {
+            if (msg instanceof ClientMessageUpdate) {
+                updates.add((ClientMessageUpdate) msg);
+            } else {
+                unexpectedMessages.add(msg);
+            }
+        };
+    }
+
     private Consumer<AbstractClientMessage> ignoreAll() {
         return msg -> {
         };
@@ -433,6 +773,18 @@ public class PushMessageHandlerTest {
         return subscribeMessage;
     }
 
+    private SubscribeMessage createResumableSinkSubscribe(String resumeToken,
+            Long lastSequence) {
+        SubscribeMessage subscribeMessage = new SubscribeMessage();
+        subscribeMessage.setId(connectionId);
+        subscribeMessage.setEndpointName(ENDPOINT_NAME);
+        subscribeMessage.setMethodName(SINK_FLUX_METHOD);
+        subscribeMessage.setParams(objectMapper.createArrayNode());
+        subscribeMessage.setResumeToken(resumeToken);
+        subscribeMessage.setLastSequence(lastSequence);
+        return subscribeMessage;
+    }
+
     private SubscribeMessage createInfiniteFluxSubscribe() {
         SubscribeMessage subscribeMessage = new SubscribeMessage();
         subscribeMessage.setId(connectionId);
@@ -0,0 +1,52 @@
+package dev.hilla.push;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PushMetricsConfigurerTest {
+
+    static final PushMetrics CUSTOM_METRICS = new PushMetrics() {
+    };
+
+    @Configuration
+    static class MeterRegistryConfiguration {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Configuration
+    static class CustomMetricsConfiguration {
+        @Bean
+        public PushMetrics customPushMetrics() {
+            return CUSTOM_METRICS;
+        }
+    }
+
+    @Test
+    public void pushMetrics_usesMicrometer() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                MeterRegistryConfiguration.class,
+                SocketIoConfigurer.PushMetricsConfigurer.class)) {
+            Assert.assertTrue(context.getBean(
+                    PushMetrics.class) instanceof MicrometerPushMetrics);
+        }
+    }
+
+    @Test
+    public void pushMetrics_backsOffForApplicationBean() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                CustomMetricsConfiguration.class,
+                SocketIoConfigurer.PushMetricsConfigurer.class)) {
+            Assert.assertSame(CUSTOM_METRICS,
+                    context.getBean(PushMetrics.class));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package dev.hilla.push;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+public class PushTopicsTest {
+
+    /**
+     * Stand-in for a cluster messaging system. Every node gets its own broker
+     * and messages are serialized to JSON when passed between the nodes.
+     */
+    private static class LoopbackCluster {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final List<LocalPushBroker> nodes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger listenerCount = new AtomicInteger();
+        private final AtomicInteger maxListenerCount = new AtomicInteger();
+
+        PushBroker createNode() {
+            LocalPushBroker local = new LocalPushBroker();
+            nodes.add(local);
+            return new PushBroker() {
+                @Override
+                public void publish(String topic, Object message) {
+                    byte[] payload = serialize(message);
+                    nodes.forEach(
+                            node -> node.publish(topic, deserialize(payload)));
+                }
+
+                @Override
+                public Disposable subscribe(String topic,
+                        Consumer<Object> listener) {
+                    maxListenerCount.accumulateAndGet(
+                            listenerCount.incrementAndGet(), Math::max);
+                    Disposable registration = local.subscribe(topic, listener);
+                    return () -> {
+                        listenerCount.decrementAndGet();
+                        registration.dispose();
+                    };
+                }
+            };
+        }
+
+        private byte[] serialize(Object message) {
+            try {
+                return objectMapper.writeValueAsBytes(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Object deserialize(byte[] payload) {
+            try {
+                return objectMapper.readValue(payload, Object.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static class ChatMessage {
+        public String text;
+        public int likes;
+
+        public ChatMessage() {
+        }
+
+        ChatMessage(String text, int likes) {
+            this.text = text;
+            this.likes = likes;
+        }
+    }
+
+    @Test
+    public void localBroker_deliversToSubscribers() {
+        PushTopics topics = new PushTopics(new LocalPushBroker());
+        List<String> received = new ArrayList<>();
+        Disposable subscription = topics.flux("chat", String.class)
+                .subscribe(received::add);
+
+        topics.publish("chat", "Hello");
+        topics.publish("other", "Ignored");
+        subscription.dispose();
+        topics.publish("chat", "After dispose");
+
+        Assert.assertEquals(List.of("Hello"), received);
+    }
+
+    @Test
+    public void cluster_deliversMessagesPublishedOnOtherNode() {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics nodeA = new PushTopics(cluster.createNode());
+        PushTopics nodeB = new PushTopics(cluster.createNode());
+
+        List<String> receivedOnA = new ArrayList<>();
+        List<String> receivedOnB = new ArrayList<>();
+        nodeA.flux("chat", String.class).subscribe(receivedOnA::add);
+        nodeB.flux("chat", String.class).subscribe(receivedOnB::add);
+
+        nodeA.publish("chat", "Hello");
+
+        Assert.assertEquals(List.of("Hello"), receivedOnA);
+        Assert.assertEquals(List.of("Hello"), receivedOnB);
+    }
+
+    @Test
+    public void sameTopic_sharesOneBrokerListenerPerNode() {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics node = new PushTopics(cluster.createNode());
+
+        List<String> received = new ArrayList<>();
+        Disposable first = node.flux("chat", String.class)
+                .subscribe(received::add);
+        Disposable second = node.flux("chat", String.class)
+                .subscribe(received::add);
+        Assert.assertEquals(1, cluster.listenerCount.get());
+
+        node.publish("chat", "Hello");
+        Assert.assertEquals(List.of("Hello", "Hello"), received);
+
+        first.dispose();
+        Assert.assertEquals(1, cluster.listenerCount.get());
+        second.dispose();
+        Assert.assertEquals(0, cluster.listenerCount.get());
+        Assert.assertEquals(0, node.getActiveTopicCount());
+    }
+
+    @Test
+    public void cluster_convertsSerializedMessagesToFluxType() {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics nodeA = new PushTopics(cluster.createNode());
+        PushTopics nodeB = new PushTopics(cluster.createNode());
+
+        List<ChatMessage> receivedOnA = new ArrayList<>();
+        List<ChatMessage> receivedOnB = new ArrayList<>();
+        nodeA.flux("chat", ChatMessage.class).subscribe(receivedOnA::add);
+        nodeB.flux("chat", ChatMessage.class).subscribe(receivedOnB::add);
+
+        nodeA.publish("chat", new ChatMessage("Hello", 2));
+
+        for (List<ChatMessage> received : List.of(receivedOnA, receivedOnB)) {
+            Assert.assertEquals(1, received.size());
+            Assert.assertEquals("Hello", received.get(0).text);
+            Assert.assertEquals(2, received.get(0).likes);
+        }
+    }
+
+    @Test
+    public void cluster_skipsMessagesThatCannotBeConverted() {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics node = new PushTopics(cluster.createNode());
+
+        List<ChatMessage> received = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        node.flux("chat", ChatMessage.class).subscribe(received::add,
+                errors::add);
+
+        node.publish("chat", List.of("not", "a", "message"));
+        node.publish("chat", new ChatMessage("Hello", 0));
+
+        Assert.assertEquals(List.of(), errors);
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("Hello", received.get(0).text);
+    }
+
+    @Test
+    public void fluxSubscribedAfterLastCancel_sharesListenerWithNewFlux() {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics node = new PushTopics(cluster.createNode());
+
+        Disposable first = node.flux("chat", String.class).subscribe();
+        Flux<String> late = node.flux("chat", String.class);
+        first.dispose();
+        Disposable second = late.subscribe();
+        Disposable third = node.flux("chat", String.class).subscribe();
+
+        Assert.assertEquals(1, cluster.listenerCount.get());
+        second.dispose();
+        third.dispose();
+        Assert.assertEquals(0, cluster.listenerCount.get());
+        Assert.assertEquals(0, node.getActiveTopicCount());
+    }
+
+    @Test
+    public void subscriptionChurn_neverRegistersSecondListener()
+            throws Exception {
+        LoopbackCluster cluster = new LoopbackCluster();
+        PushTopics node = new PushTopics(cluster.createNode());
+        // Keeps the topic open part of the time, so that the churn both
+        // reuses and replaces the shared listener
+        Disposable anchor = node.flux("chat", String.class).subscribe();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 2000; j++) {
+                        // Subscribes a moment after getting the flux, while
+                        // the other threads may cancel the last subscription
+                        Flux<String> flux = node.flux("chat", String.class);
+                        Thread.yield();
+                        flux.subscribe().dispose();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            anchor.dispose();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, cluster.maxListenerCount.get());
+        Assert.assertEquals(0, cluster.listenerCount.get());
+        Assert.assertEquals(0, node.getActiveTopicCount());
+
+        List<String> received = new ArrayList<>();
+        node.flux("chat", String.class).subscribe(received::add);
+        node.publish("chat", "Hello");
+        Assert.assertEquals(List.of("Hello"), received);
+    }
+}
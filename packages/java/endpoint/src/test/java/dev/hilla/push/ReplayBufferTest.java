@@ -0,0 +1,45 @@
+package dev.hilla.push;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReplayBufferTest {
+
+    @Test
+    public void add_assignsIncreasingSequenceNumbers() {
+        ReplayBuffer buffer = new ReplayBuffer(2);
+        Assert.assertEquals(1, buffer.add("a"));
+        Assert.assertEquals(2, buffer.add("b"));
+        Assert.assertEquals(3, buffer.add("c"));
+    }
+
+    @Test
+    public void forEachAfter_replaysRetainedItemsInOrder() {
+        ReplayBuffer buffer = new ReplayBuffer(3);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+        buffer.add("d");
+
+        List<Object> items = new ArrayList<>();
+        buffer.forEachAfter(2, (item, sequence) -> items.add(item));
+        Assert.assertEquals(List.of("c", "d"), items);
+    }
+
+    @Test
+    public void canReplayAfter_detectsDroppedItems() {
+        ReplayBuffer buffer = new ReplayBuffer(2);
+        Assert.assertTrue(buffer.canReplayAfter(0));
+        buffer.add("a");
+        buffer.add("b");
+        Assert.assertTrue(buffer.canReplayAfter(0));
+        buffer.add("c");
+        Assert.assertFalse(buffer.canReplayAfter(0));
+        Assert.assertTrue(buffer.canReplayAfter(1));
+        Assert.assertTrue(buffer.canReplayAfter(3));
+        Assert.assertFalse(buffer.canReplayAfter(4));
+    }
+}
@@ -0,0 +1,126 @@
+package dev.hilla.push;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.hilla.push.TimerWheel.Timeout;
+
+public class TimerWheelTest {
+
+    private static final long TICK_MS = 60 * 60 * 1000;
+
+    private TimerWheel wheel;
+    private boolean racing;
+
+    @Before
+    public void setup() {
+        // Long ticks so that only the manual ticks in the tests are used
+        wheel = new TimerWheel(TICK_MS, 4);
+    }
+
+    @After
+    public void cleanup() {
+        wheel.stop();
+    }
+
+    @Test
+    public void tick_runsTaskWhenDeadlineIsReached() {
+        List<String> run = new ArrayList<>();
+        wheel.schedule(2 * TICK_MS, () -> run.add("task"));
+
+        wheel.tick();
+        Assert.assertEquals(List.of(), run);
+        wheel.tick();
+        Assert.assertEquals(List.of("task"), run);
+        wheel.tick();
+        Assert.assertEquals(List.of("task"), run);
+    }
+
+    @Test
+    public void tick_doesNotRunTasksFromLaterRounds() {
+        List<String> run = new ArrayList<>();
+        wheel.schedule(5 * TICK_MS, () -> run.add("task"));
+
+        wheel.tick();
+        Assert.assertEquals(List.of(), run);
+        for (int i = 0; i < 3; i++) {
+            wheel.tick();
+        }
+        Assert.assertEquals(List.of(), run);
+        wheel.tick();
+        Assert.assertEquals(List.of("task"), run);
+    }
+
+    @Test
+    public void dispose_preventsTaskFromRunning() {
+        List<String> run = new ArrayList<>();
+        Timeout timeout = wheel.schedule(TICK_MS, () -> run.add("task"));
+        timeout.dispose();
+
+        wheel.tick();
+        Assert.assertEquals(List.of(), run);
+        Assert.assertTrue(timeout.isDisposed());
+    }
+
+    @Test
+    public void schedule_movesTimeoutWhenWheelPassesItsSlot() {
+        List<String> run = new ArrayList<>();
+        wheel = new TimerWheel(TICK_MS, 4) {
+            @Override
+            Set<Timeout> createSlot() {
+                return new HashSet<>() {
+                    @Override
+                    public boolean add(Timeout timeout) {
+                        // Simulates the ticker passing the slot while the
+                        // timeout is being added to it
+                        if (racing) {
+                            racing = false;
+                            tick();
+                        }
+                        return super.add(timeout);
+                    }
+                };
+            }
+        };
+        racing = true;
+
+        wheel.schedule(TICK_MS, () -> run.add("task"));
+        Assert.assertEquals(List.of(), run);
+        wheel.tick();
+        Assert.assertEquals(List.of("task"), run);
+    }
+
+    @Test
+    public void stop_preventsWheelFromStartingAgain()
+            throws InterruptedException {
+        List<String> run = new CopyOnWriteArrayList<>();
+        wheel = new TimerWheel(1, 4);
+        wheel.stop();
+
+        wheel.schedule(1, () -> run.add("task"));
+        Thread.sleep(100);
+        Assert.assertEquals(List.of(), run);
+    }
+
+    @Test
+    public void tick_runsTasksOnDedicatedThread() throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        wheel = new TimerWheel(1, 4);
+
+        wheel.schedule(1,
+                () -> thread.complete(Thread.currentThread().getName()));
+
+        Assert.assertTrue(thread.get(2, TimeUnit.SECONDS)
+                .startsWith(TimerWheel.THREAD_NAME));
+    }
+}
@@ -0,0 +1,315 @@
+package dev.hilla.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.ExecutionFailedException;
+
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.core.ParserConfig;
+import dev.hilla.parser.core.Plugin;
+import dev.hilla.parser.core.PluginManager;
+import dev.hilla.parser.utils.GeneratorDaemon;
+import dev.hilla.parser.utils.GeneratorDefaults;
+import dev.hilla.parser.utils.OpenAPIPrinter;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Generates the TypeScript code in the running application instead of forking
+ * {@code mvn hilla:generate}.
+ * <p>
+ * The parser runs with the class path of the application class loader and the
+ * default configuration of the Maven plugin, and caches its result in the build
+ * directory between runs. The parser itself keeps no state between runs, so a
+ * new one is created for each generation, and the cache is what makes the
+ * repeated generations fast. The OpenAPI is sent to a {@code tsgen} daemon of
+ * the project that is kept alive between the generations, or streamed to a new
+ * {@code tsgen} process if the daemon fails.
+ * <p>
+ * The parser and its plugins are optional dependencies, which the application
+ * has to add for generating in process. The generation also requires the last
+ * run of the Maven plugin to have recorded that its effective configuration is
+ * the default one. If anything the generation depends on is missing, or the POM
+ * files have changed since that run, the generator reports that it is not
+ * applicable and the caller should fall back to the Maven command.
+ */
+final class InProcessGenerator {
+    /**
+     * Written by the Maven plugin if its effective configuration is the default
+     * one, see {@code EndpointCodeGeneratorMojo}.
+     */
+    static final String DEFAULT_CONFIGURATION_FILE = "hilla-generate-defaults.txt";
+    static final String PARSER_CLASS = "dev.hilla.parser.core.Parser";
+    private static final String CACHE_DIRECTORY = "hilla-parser-cache";
+    private static final Duration DAEMON_TIMEOUT = Duration.ofSeconds(30);
+    private static final String TSGEN = TaskGenerateHillaImpl.IS_WINDOWS
+            ? "tsgen.cmd"
+            : "tsgen";
+    private static final Logger logger = LoggerFactory
+            .getLogger(InProcessGenerator.class);
+
+    private final Path buildDirectory;
+    private final ClassLoader classLoader;
+    private final Path projectDirectory;
+
+    InProcessGenerator(Path projectDirectory, String buildDirectoryName,
+            ClassLoader classLoader) {
+        this.projectDirectory = projectDirectory;
+        this.buildDirectory = projectDirectory.resolve(
+                buildDirectoryName != null ? buildDirectoryName : "target");
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Collects the class path of the class loader and its parents, including
+     * the system class path.
+     */
+    static Set<String> getClassPath(ClassLoader classLoader) {
+        var elements = new LinkedHashSet<String>();
+
+        for (var loader = classLoader; loader != null; loader = loader
+                .getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (var url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            elements.add(Paths.get(url.toURI()).toString());
+                        } catch (URISyntaxException e) {
+                            logger.debug("Skipping class path URL " + url, e);
+                        }
+                    }
+                }
+            }
+        }
+
+        var systemClassPath = System.getProperty("java.class.path");
+
+        if (systemClassPath != null && !systemClassPath.isEmpty()) {
+            elements.addAll(List.of(systemClassPath.split(File.pathSeparator)));
+        }
+
+        return elements;
+    }
+
+    /**
+     * Generates the code if the generation can run in the application.
+     *
+     * @return true if the code is generated, false if the caller should fall
+     *         back to the Maven command
+     * @throws ExecutionFailedException
+     *             if the TypeScript generator fails
+     */
+    boolean generate() throws ExecutionFailedException {
+        var reason = findMissingRequirement();
+
+        if (reason.isPresent()) {
+            logger.debug("Generating in a Maven process: {}", reason.get());
+            return false;
+        }
+
+        OpenAPI openAPI;
+
+        try {
+            openAPI = parse();
+        } catch (RuntimeException | LinkageError e) {
+            logger.warn("Parsing in the application failed, falling back to "
+                    + "the Maven process", e);
+            return false;
+        }
+
+        runGenerator(openAPI);
+        return true;
+    }
+
+    Optional<String> findMissingRequirement() {
+        if (!isParserAvailable(InProcessGenerator.class.getClassLoader())) {
+            return Optional.of("the parser is not on the class path");
+        }
+
+        if (!Files.isRegularFile(getGeneratorPath())) {
+            return Optional.of("the generator is not installed");
+        }
+
+        if (!Files.isRegularFile(projectDirectory.resolve("pom.xml"))) {
+            return Optional.of("the project is not a Maven project");
+        }
+
+        var reason = findConfigurationChange();
+
+        if (reason.isPresent()) {
+            return reason;
+        }
+
+        var classes = buildDirectory.resolve("classes").toString();
+
+        if (!getClassPath(classLoader).contains(classes)) {
+            return Optional.of("the application does not run from " + classes);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Checks that the last run of the Maven plugin has recorded that its
+     * effective configuration is the default one, and that the POM files it
+     * comes from have not changed since.
+     */
+    private Optional<String> findConfigurationChange() {
+        var file = buildDirectory.resolve(DEFAULT_CONFIGURATION_FILE);
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.of("the Maven plugin has not recorded a default "
+                    + "configuration");
+        }
+
+        try {
+            for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                var separator = line.lastIndexOf('\t');
+
+                if (separator < 0) {
+                    continue;
+                }
+
+                var pom = new File(line.substring(0, separator));
+
+                if (!line.substring(separator + 1)
+                        .equals(pom.length() + ":" + pom.lastModified())) {
+                    return Optional.of(pom + " has changed since the last "
+                            + "Maven generation");
+                }
+            }
+        } catch (IOException e) {
+            return Optional.of("the recorded Maven plugin configuration "
+                    + "cannot be read");
+        }
+
+        return Optional.empty();
+    }
+
+    Path getGeneratorPath() {
+        return projectDirectory
+                .resolve(Paths.get("node_modules", ".bin", TSGEN));
+    }
+
+    List<String> prepareGeneratorCommand() {
+        var command = new ArrayList<String>();
+
+        if (TaskGenerateHillaImpl.IS_WINDOWS) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+
+        command.add(getGeneratorPath().toString());
+        command.add("-o");
+        command.add(projectDirectory.resolve(GeneratorDefaults.OUTPUT_DIRECTORY)
+                .toString());
+
+        for (var plugin : GeneratorDefaults.GENERATOR_PLUGINS) {
+            command.add("-p");
+            command.add(plugin);
+        }
+
+        return command;
+    }
+
+    /**
+     * Checks that the parser and its plugins can be loaded. They are optional
+     * dependencies, which the application only has if it adds them.
+     */
+    static boolean isParserAvailable(ClassLoader loader) {
+        try {
+            Class.forName(PARSER_CLASS, false, loader);
+
+            for (var plugin : GeneratorDefaults.PARSER_PLUGINS) {
+                Class.forName(plugin, false, loader);
+            }
+
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private OpenAPI parse() {
+        var plugins = new ArrayList<Plugin>();
+
+        for (var plugin : GeneratorDefaults.PARSER_PLUGINS) {
+            plugins.add(PluginManager.load(plugin, null, null));
+        }
+
+        var config = new ParserConfig.Builder()
+                .classPath(getClassPath(classLoader))
+                .endpointAnnotation(GeneratorDefaults.ENDPOINT_ANNOTATION)
+                .cacheDirectory(buildDirectory.resolve(CACHE_DIRECTORY))
+                .plugins(plugins).finish();
+
+        return new Parser(config).execute();
+    }
+
+    private void runGenerator(OpenAPI openAPI) throws ExecutionFailedException {
+        var printer = new OpenAPIPrinter();
+        var command = prepareGeneratorCommand();
+        var daemon = GeneratorDaemon.shared(command, projectDirectory,
+                logger::info, DAEMON_TIMEOUT);
+
+        try {
+            daemon.generate(stream -> printer.write(openAPI, stream));
+            return;
+        } catch (GeneratorDaemon.GenerationException e) {
+            throw new ExecutionFailedException(
+                    "Hilla Generator execution failed", e);
+        } catch (IOException e) {
+            logger.debug("The generator daemon failed, starting the generator "
+                    + "process instead", e);
+            daemon.discard();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionFailedException(
+                    "Hilla Generator execution was interrupted", e);
+        }
+
+        var exitCode = 0;
+
+        try {
+            var process = new ProcessBuilder(command)
+                    .directory(projectDirectory.toFile())
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+            try (var stdin = process.getOutputStream()) {
+                printer.write(openAPI, stdin);
+            }
+
+            exitCode = process.waitFor();
+        } catch (IOException e) {
+            throw new ExecutionFailedException(
+                    "Hilla Generator execution failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionFailedException(
+                    "Hilla Generator execution was interrupted", e);
+        }
+
+        if (exitCode != 0) {
+            throw new ExecutionFailedException(
+                    "Hilla Generator execution failed with exit code "
+                            + exitCode);
+        }
+    }
+}
@@ -17,6 +17,9 @@ import com.vaadin.flow.server.frontend.TaskGenerateHilla;
 @NpmPackage(value = "@hilla/generator-typescript-plugin-model", version = "1.2.0")
 @NpmPackage(value = "@hilla/generator-typescript-plugin-push", version = "1.2.0")
 public class TaskGenerateHillaImpl implements TaskGenerateHilla {
+    static final String GRADLE_COMMAND;
+    static final String GRADLE_TASK = "hillaGenerate";
+    static final String GRADLE_WRAPPER;
     static final boolean IS_WINDOWS;
     static final String MAVEN_COMMAND;
 
@@ -24,21 +27,53 @@ public class TaskGenerateHillaImpl implements TaskGenerateHilla {
         var osName = System.getProperty("os.name").toLowerCase();
         IS_WINDOWS = osName.contains("windows");
         MAVEN_COMMAND = IS_WINDOWS ? "mvn.cmd" : "mvn";
+        GRADLE_COMMAND = IS_WINDOWS ? "gradle.bat" : "gradle";
+        GRADLE_WRAPPER = IS_WINDOWS ? "gradlew.bat" : "gradlew";
     }
 
+    private String buildDirectoryName;
     private File projectDirectory;
 
     @Override
     public void configure(File projectDirectory, String buildDirectoryName) {
         this.projectDirectory = projectDirectory;
+        this.buildDirectoryName = buildDirectoryName;
     }
 
     @Override
     public void execute() throws ExecutionFailedException {
+        if (generateInProcess()) {
+            return;
+        }
+
         var command = prepareCommand();
         runCodeGeneration(command);
     }
 
+    /**
+     * Tries generating the code in the running application, which avoids
+     * starting Maven on every change.
+     *
+     * @return true if the code is generated, false if it should be generated by
+     *         the Maven command
+     * @throws ExecutionFailedException
+     *             if the generation fails
+     */
+    boolean generateInProcess() throws ExecutionFailedException {
+        if (projectDirectory == null || !projectDirectory.isDirectory()) {
+            return false;
+        }
+
+        try {
+            return new InProcessGenerator(projectDirectory.toPath(),
+                    buildDirectoryName,
+                    Thread.currentThread().getContextClassLoader()).generate();
+        } catch (LinkageError e) {
+            // The parser is not on the class path of the application
+            return false;
+        }
+    }
+
     void runCodeGeneration(List<String> command)
             throws ExecutionFailedException {
         var exitCode = 0;
@@ -62,7 +97,8 @@ public class TaskGenerateHillaImpl implements TaskGenerateHilla {
     }
 
     private boolean isGradleProject(Path path) {
-        return path.resolve("build.gradle").toFile().exists();
+        return path.resolve("build.gradle").toFile().exists()
+                || path.resolve("build.gradle.kts").toFile().exists();
     }
 
     List<String> prepareCommand() {
@@ -84,8 +120,16 @@ public class TaskGenerateHillaImpl implements TaskGenerateHilla {
         return List.of(MAVEN_COMMAND, "hilla:generate");
     }
 
+    /**
+     * Prepares the command running the task of the Hilla Gradle plugin, with
+     * the Gradle wrapper of the project if it has one.
+     */
     List<String> prepareGradleCommand() {
-        throw new UnsupportedOperationException("Gradle is not supported yet");
+        var wrapper = projectDirectory.toPath().resolve(GRADLE_WRAPPER)
+                .toFile();
+        var command = wrapper.isFile() ? wrapper.getAbsolutePath()
+                : GRADLE_COMMAND;
+        return List.of(command, GRADLE_TASK);
     }
 
 }
@@ -0,0 +1,145 @@
+package dev.hilla.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.vaadin.flow.server.ExecutionFailedException;
+
+import dev.hilla.parser.utils.GeneratorDefaults;
+
+class InProcessGeneratorTest {
+    @TempDir
+    Path projectDirectory;
+
+    @Test
+    void getClassPathShouldIncludeUrlClassLoaderElements() throws IOException {
+        var classes = Files.createDirectories(
+                projectDirectory.resolve("target").resolve("classes"));
+
+        try (var loader = createClassLoader(classes)) {
+            var classPath = InProcessGenerator.getClassPath(loader);
+
+            assertTrue(classPath.contains(classes.toString()));
+            assertTrue(classPath
+                    .containsAll(InProcessGenerator.getClassPath(null)));
+        }
+    }
+
+    @Test
+    void generateShouldFallBackWhenGeneratorIsNotInstalled()
+            throws IOException, ExecutionFailedException {
+        Files.createFile(projectDirectory.resolve("pom.xml"));
+        var generator = new InProcessGenerator(projectDirectory, "target",
+                getClass().getClassLoader());
+
+        assertEquals(Optional.of("the generator is not installed"),
+                generator.findMissingRequirement());
+        assertFalse(generator.generate());
+    }
+
+    @Test
+    void findMissingRequirementShouldRejectUnrecordedConfiguration()
+            throws IOException {
+        installGenerator();
+        Files.writeString(projectDirectory.resolve("pom.xml"), "<project/>");
+        var generator = new InProcessGenerator(projectDirectory, "target",
+                getClass().getClassLoader());
+
+        assertEquals(Optional.of("the Maven plugin has not recorded a default "
+                + "configuration"), generator.findMissingRequirement());
+    }
+
+    @Test
+    void findMissingRequirementShouldRejectChangedPom() throws IOException {
+        installGenerator();
+        var pom = projectDirectory.resolve("pom.xml");
+        Files.writeString(pom, "<project/>");
+        recordDefaultConfiguration("target");
+        Files.writeString(pom, "<project><build/></project>");
+        var generator = new InProcessGenerator(projectDirectory, "target",
+                getClass().getClassLoader());
+
+        assertTrue(generator.findMissingRequirement().orElseThrow()
+                .endsWith("has changed since the last Maven generation"));
+    }
+
+    @Test
+    void isParserAvailableShouldFailWithoutParser() throws IOException {
+        assertTrue(InProcessGenerator
+                .isParserAvailable(getClass().getClassLoader()));
+
+        try (var loader = new URLClassLoader(new URL[0], null)) {
+            assertFalse(InProcessGenerator.isParserAvailable(loader));
+        }
+    }
+
+    @Test
+    void findMissingRequirementShouldAcceptApplicationClassPath()
+            throws IOException {
+        installGenerator();
+        Files.writeString(projectDirectory.resolve("pom.xml"), "<project/>");
+        recordDefaultConfiguration("build");
+        var classes = Files.createDirectories(
+                projectDirectory.resolve("build").resolve("classes"));
+
+        try (var loader = createClassLoader(classes)) {
+            var generator = new InProcessGenerator(projectDirectory, "build",
+                    loader);
+
+            assertEquals(Optional.empty(), generator.findMissingRequirement());
+        }
+
+        var generator = new InProcessGenerator(projectDirectory, "build",
+                getClass().getClassLoader());
+
+        assertTrue(generator.findMissingRequirement().orElseThrow()
+                .startsWith("the application does not run from"));
+    }
+
+    @Test
+    void prepareGeneratorCommandShouldUseDefaultConfiguration() {
+        var generator = new InProcessGenerator(projectDirectory, "target",
+                getClass().getClassLoader());
+        var command = generator.prepareGeneratorCommand();
+
+        assertTrue(command.contains(generator.getGeneratorPath().toString()));
+        assertEquals(projectDirectory
+                .resolve(GeneratorDefaults.OUTPUT_DIRECTORY).toString(),
+                command.get(command.indexOf("-o") + 1));
+        assertEquals(GeneratorDefaults.GENERATOR_PLUGINS.size(),
+                command.stream().filter("-p"::equals).count());
+    }
+
+    private URLClassLoader createClassLoader(Path classes) throws IOException {
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() },
+                getClass().getClassLoader());
+    }
+
+    private void recordDefaultConfiguration(String buildDirectoryName)
+            throws IOException {
+        var pom = projectDirectory.resolve("pom.xml").toFile();
+        var file = projectDirectory.resolve(buildDirectoryName)
+                .resolve(InProcessGenerator.DEFAULT_CONFIGURATION_FILE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, pom.getAbsolutePath() + '\t' + pom.length()
+                + ':' + pom.lastModified() + '\n');
+    }
+
+    private void installGenerator() throws IOException {
+        var generator = new InProcessGenerator(projectDirectory, "target",
+                getClass().getClassLoader()).getGeneratorPath();
+        Files.createDirectories(generator.getParent());
+        Files.createFile(generator);
+    }
+}
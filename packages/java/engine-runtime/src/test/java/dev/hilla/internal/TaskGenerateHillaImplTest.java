@@ -110,38 +110,44 @@ class TaskGenerateHillaImplTest {
     }
 
     @Test
-    void prepareCommandShouldThrowGradleUnsupported() throws IOException {
+    void prepareCommandShouldAcceptGradle() throws IOException {
         Path tmpDir = null;
 
         try {
-            tmpDir = Files.createTempDirectory("prepareCommandMaven");
+            tmpDir = Files.createTempDirectory("prepareCommandGradle");
             Files.createFile(tmpDir.resolve("build.gradle"));
             var gen = new TaskGenerateHillaImpl();
             gen.configure(tmpDir.toFile(), null);
-
-            try {
-                gen.prepareCommand();
-                fail("Should throw exception");
-            } catch (UnsupportedOperationException ex) {
-                assertTrue(ex.getMessage().contains("Gradle"));
+            var command = gen.prepareCommand();
+            assertEquals(List.of(TaskGenerateHillaImpl.GRADLE_COMMAND,
+                    TaskGenerateHillaImpl.GRADLE_TASK), command);
+        } finally {
+            if (tmpDir != null) {
+                Files.deleteIfExists(tmpDir.resolve("build.gradle"));
+                Files.deleteIfExists(tmpDir);
             }
+        }
+    }
 
-            final var dummy = "dummy";
-
-            var genNoException = new TaskGenerateHillaImpl() {
-                @Override
-                List<String> prepareGradleCommand() {
-                    return List.of(dummy);
-                }
-            };
+    @Test
+    void prepareCommandShouldUseGradleWrapper() throws IOException {
+        Path tmpDir = null;
 
-            genNoException.configure(tmpDir.toFile(), null);
-            var command = genNoException.prepareCommand();
-            assertEquals(1, command.size());
-            assertEquals(dummy, command.get(0));
+        try {
+            tmpDir = Files.createTempDirectory("prepareCommandGradle");
+            Files.createFile(tmpDir.resolve("build.gradle.kts"));
+            var wrapper = Files.createFile(
+                    tmpDir.resolve(TaskGenerateHillaImpl.GRADLE_WRAPPER));
+            var gen = new TaskGenerateHillaImpl();
+            gen.configure(tmpDir.toFile(), null);
+            var command = gen.prepareCommand();
+            assertEquals(List.of(wrapper.toAbsolutePath().toString(),
+                    TaskGenerateHillaImpl.GRADLE_TASK), command);
         } finally {
             if (tmpDir != null) {
-                Files.deleteIfExists(tmpDir.resolve("build.gradle"));
+                Files.deleteIfExists(tmpDir.resolve("build.gradle.kts"));
+                Files.deleteIfExists(
+                        tmpDir.resolve(TaskGenerateHillaImpl.GRADLE_WRAPPER));
                 Files.deleteIfExists(tmpDir);
             }
         }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkAction;
+
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.core.ParserConfig;
+import dev.hilla.parser.core.Plugin;
+import dev.hilla.parser.core.PluginManager;
+import dev.hilla.parser.utils.OpenAPIPrinter;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Parses the compiled classes of the project into the OpenAPI and runs the
+ * TypeScript generator with it.
+ * <p>
+ * The action runs in a class loader isolated from the build script, which
+ * contains the parser and its plugins, so that their dependencies do not clash
+ * with the ones of the other plugins of the build.
+ */
+public abstract class GenerateAction implements WorkAction<GenerateParameters> {
+    private static final boolean IS_WINDOWS = System.getProperty("os.name")
+            .toLowerCase().contains("windows");
+    private static final String TSGEN = IS_WINDOWS ? "tsgen.cmd" : "tsgen";
+    private static final Logger logger = Logging
+            .getLogger(GenerateAction.class);
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Override
+    public void execute() {
+        var parameters = getParameters();
+        var openAPIFile = parameters.getOpenAPIFile().get().getAsFile()
+                .toPath();
+
+        try {
+            Files.createDirectories(openAPIFile.getParent());
+            new OpenAPIPrinter().write(parse(), openAPIFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed writing OpenAPI generated from parsed Java code",
+                    e);
+        }
+
+        var command = prepareGeneratorCommand(openAPIFile.toFile());
+        logger.debug("Executing command: {}", String.join(" ", command));
+
+        getExecOperations().exec(spec -> spec.commandLine(command)
+                .setWorkingDir(parameters.getProjectDirectory().get()));
+    }
+
+    private OpenAPI parse() {
+        var parameters = getParameters();
+        var plugins = new ArrayList<Plugin>();
+
+        for (var plugin : parameters.getParserPlugins().get()) {
+            plugins.add(PluginManager.load(plugin, null, null));
+        }
+
+        var classPath = parameters.getClassPath().getFiles().stream()
+                .map(File::getAbsolutePath).collect(Collectors.toList());
+        var config = new ParserConfig.Builder().classPath(classPath)
+                .endpointAnnotation(parameters.getEndpointAnnotation().get())
+                .cacheDirectory(parameters.getCacheDirectory().get()
+                        .getAsFile().toPath())
+                .plugins(plugins).finish();
+
+        return new Parser(config).execute();
+    }
+
+    private List<String> prepareGeneratorCommand(File openAPIFile) {
+        var parameters = getParameters();
+        var command = new ArrayList<String>();
+
+        if (IS_WINDOWS) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+
+        command.add(Paths.get("node_modules", ".bin", TSGEN).toString());
+        command.add("-o");
+        command.add(parameters.getOutputDirectory().get().getAsFile()
+                .getAbsolutePath());
+
+        for (var plugin : parameters.getGeneratorPlugins().get()) {
+            command.add("-p");
+            command.add(plugin);
+        }
+
+        command.add(openAPIFile.getAbsolutePath());
+
+        return command;
+    }
+}
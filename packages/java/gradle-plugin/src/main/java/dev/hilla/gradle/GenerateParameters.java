@@ -0,0 +1,45 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * The parameters of {@link GenerateAction}, copied from the
+ * {@link HillaGenerateTask} that submits it.
+ */
+public interface GenerateParameters extends WorkParameters {
+    DirectoryProperty getCacheDirectory();
+
+    ConfigurableFileCollection getClassPath();
+
+    Property<String> getEndpointAnnotation();
+
+    ListProperty<String> getGeneratorPlugins();
+
+    RegularFileProperty getOpenAPIFile();
+
+    DirectoryProperty getOutputDirectory();
+
+    ListProperty<String> getParserPlugins();
+
+    DirectoryProperty getProjectDirectory();
+}
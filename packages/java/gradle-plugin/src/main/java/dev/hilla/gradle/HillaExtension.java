@@ -0,0 +1,50 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The {@code hilla} extension of the project, which configures the
+ * {@code hillaGenerate} task.
+ * <p>
+ * The defaults are the same as the ones of the Maven plugin.
+ */
+public abstract class HillaExtension {
+    /**
+     * Gets the name of the annotation marking the endpoint classes.
+     */
+    public abstract Property<String> getEndpointAnnotation();
+
+    /**
+     * Gets the paths of the TypeScript generator plugins, in the order they
+     * are applied.
+     */
+    public abstract ListProperty<String> getGeneratorPlugins();
+
+    /**
+     * Gets the directory of the generated TypeScript files.
+     */
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * Gets the class names of the parser plugins, in the order they are
+     * applied.
+     */
+    public abstract ListProperty<String> getParserPlugins();
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.LocalState;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+/**
+ * Generates the TypeScript code of the endpoints of the project, like the
+ * {@code hilla:generate} goal of the Maven plugin.
+ * <p>
+ * The task declares everything the generated code depends on as its inputs:
+ * the compiled classes and the class path of the project, the parser and its
+ * plugins, the configuration and the installed TypeScript generator packages.
+ * So the result is taken from the build cache when none of them has changed,
+ * and the task keeps no reference to the project, which makes it compatible
+ * with the configuration cache. The generation runs in {@link GenerateAction}
+ * with the worker API.
+ */
+@CacheableTask
+public abstract class HillaGenerateTask extends DefaultTask {
+    /**
+     * Gets the directory of the parser cache, which is reused between the
+     * executions of the task but is not a part of its output.
+     */
+    @LocalState
+    public abstract DirectoryProperty getCacheDirectory();
+
+    /**
+     * Gets the compiled classes and the class path of the project, which are
+     * parsed for the endpoints.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClassPath();
+
+    @Input
+    public abstract Property<String> getEndpointAnnotation();
+
+    /**
+     * Gets the installed TypeScript generator packages, which are taken into
+     * account for the up-to-date check and the build cache key.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    @IgnoreEmptyDirectories
+    public abstract ConfigurableFileCollection getGeneratorFiles();
+
+    @Input
+    public abstract ListProperty<String> getGeneratorPlugins();
+
+    /**
+     * Gets the directory the TypeScript generator writes the files to. It
+     * belongs to the task alone, so that the build cache stores and restores
+     * only the generated files, which {@link HillaSyncTask} then copies to the
+     * frontend directory.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * Gets the class path of the isolated class loader running the parser and
+     * its plugins.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getParserClassPath();
+
+    @Input
+    public abstract ListProperty<String> getParserPlugins();
+
+    /**
+     * Gets the directory the TypeScript generator is run in. The task output
+     * does not depend on its location, so it does not prevent relocating the
+     * build cache entries.
+     */
+    @Internal
+    public abstract DirectoryProperty getProjectDirectory();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @TaskAction
+    public void generate() {
+        var openAPIFile = getTemporaryDir().toPath()
+                .resolve("hilla-openapi.json").toFile();
+
+        getWorkerExecutor()
+                .classLoaderIsolation(spec -> spec.getClasspath()
+                        .from(getParserClassPath()))
+                .submit(GenerateAction.class, parameters -> {
+                    parameters.getCacheDirectory().set(getCacheDirectory());
+                    parameters.getClassPath().from(getClassPath());
+                    parameters.getEndpointAnnotation()
+                            .set(getEndpointAnnotation());
+                    parameters.getGeneratorPlugins()
+                            .set(getGeneratorPlugins());
+                    parameters.getOpenAPIFile().set(openAPIFile);
+                    parameters.getOutputDirectory()
+                            .set(getOutputDirectory());
+                    parameters.getParserPlugins().set(getParserPlugins());
+                    parameters.getProjectDirectory()
+                            .set(getProjectDirectory());
+                });
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+
+import dev.hilla.parser.utils.GeneratorDefaults;
+
+/**
+ * The Hilla Gradle plugin.
+ * <p>
+ * Adds the {@code hilla} extension and the {@code hillaGenerate} task, which
+ * generates the TypeScript code of the endpoints from the compiled classes of
+ * the {@code main} source set. The parser and its plugins are resolved from the
+ * {@code hillaParser} configuration, which contains the parser of the same
+ * version as the Gradle plugin unless dependencies are added to it.
+ * <p>
+ * The task generates the code into a directory of its own in the build
+ * directory, and it is finalized by the {@code hillaSync} task, which copies
+ * the code to the output directory of the extension.
+ */
+public class HillaPlugin implements Plugin<Project> {
+    static final String CONFIGURATION_NAME = "hillaParser";
+    static final String EXTENSION_NAME = "hilla";
+    static final String GENERATED_DIRECTORY = "hilla-generated";
+    static final List<String> PARSER_MODULES = List.of("parser-jvm-core",
+            "parser-jvm-utils", "parser-jvm-plugin-backbone",
+            "parser-jvm-plugin-model", "parser-jvm-plugin-nonnull",
+            "parser-jvm-plugin-transfertypes");
+    static final String SYNC_TASK_NAME = "hillaSync";
+    static final String TASK_NAME = "hillaGenerate";
+
+    static String getVersion() {
+        var properties = new Properties();
+
+        try (var stream = HillaPlugin.class
+                .getResourceAsStream("plugin.properties")) {
+            properties.load(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed reading the Hilla Gradle plugin version", e);
+        }
+
+        return properties.getProperty("version");
+    }
+
+    @Override
+    public void apply(Project project) {
+        var extension = project.getExtensions().create(EXTENSION_NAME,
+                HillaExtension.class);
+        extension.getEndpointAnnotation()
+                .convention(GeneratorDefaults.ENDPOINT_ANNOTATION);
+        extension.getGeneratorPlugins()
+                .convention(GeneratorDefaults.GENERATOR_PLUGINS);
+        extension.getOutputDirectory().convention(project.getLayout()
+                .getProjectDirectory().dir(GeneratorDefaults.OUTPUT_DIRECTORY));
+        extension.getParserPlugins()
+                .convention(GeneratorDefaults.PARSER_PLUGINS);
+
+        var parser = createParserConfiguration(project);
+
+        var sync = project.getTasks().register(SYNC_TASK_NAME,
+                HillaSyncTask.class, copy -> {
+                    copy.setGroup("hilla");
+                    copy.setDescription("Copies the generated TypeScript "
+                            + "code to the frontend directory");
+                    copy.getOutputDirectory()
+                            .convention(extension.getOutputDirectory());
+                });
+
+        var task = project.getTasks().register(TASK_NAME,
+                HillaGenerateTask.class, generate -> {
+                    generate.setGroup("hilla");
+                    generate.setDescription(
+                            "Generates the TypeScript code of the endpoints");
+                    generate.getCacheDirectory().convention(project
+                            .getLayout().getBuildDirectory()
+                            .dir("hilla-parser-cache"));
+                    generate.getEndpointAnnotation()
+                            .convention(extension.getEndpointAnnotation());
+                    generate.getGeneratorFiles()
+                            .from(project.fileTree("node_modules/@hilla"));
+                    generate.getGeneratorPlugins()
+                            .convention(extension.getGeneratorPlugins());
+                    generate.getOutputDirectory().convention(project
+                            .getLayout().getBuildDirectory()
+                            .dir(GENERATED_DIRECTORY));
+                    generate.getParserClassPath().from(parser);
+                    generate.getParserPlugins()
+                            .convention(extension.getParserPlugins());
+                    generate.getProjectDirectory().convention(
+                            project.getLayout().getProjectDirectory());
+                    generate.finalizedBy(sync);
+                });
+
+        sync.configure(copy -> copy.getGeneratedDirectory()
+                .convention(task.flatMap(
+                        HillaGenerateTask::getOutputDirectory)));
+
+        project.getPlugins().withType(JavaPlugin.class,
+                java -> task.configure(generate -> {
+                    var main = project.getExtensions()
+                            .getByType(SourceSetContainer.class)
+                            .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+                    generate.getClassPath()
+                            .from(main.getRuntimeClasspath());
+                }));
+    }
+
+    private Configuration createParserConfiguration(Project project) {
+        var version = getVersion();
+
+        return project.getConfigurations().create(CONFIGURATION_NAME,
+                configuration -> {
+                    configuration.setDescription(
+                            "The Hilla parser and its plugins");
+                    configuration.setCanBeConsumed(false);
+                    configuration.defaultDependencies(dependencies -> {
+                        for (var module : PARSER_MODULES) {
+                            dependencies.add(project.getDependencies().create(
+                                    "dev.hilla:" + module + ":" + version));
+                        }
+                    });
+                });
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package dev.hilla.gradle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Copies the files generated by {@link HillaGenerateTask} to the frontend
+ * directory of the project.
+ * <p>
+ * The frontend directory also contains files written by other tools, so it
+ * cannot be the output of the cacheable generation task. This task replaces
+ * only the files listed in the {@value #INDEX_FILE} index of the TypeScript
+ * generator, and it always runs, because the other tools may change the
+ * directory between the builds.
+ */
+public abstract class HillaSyncTask extends DefaultTask {
+    static final String INDEX_FILE = "generated-file-list.txt";
+
+    private static List<String> readIndex(Path directory) throws IOException {
+        var index = directory.resolve(INDEX_FILE);
+
+        if (!Files.isRegularFile(index)) {
+            return List.of();
+        }
+
+        return Files.readAllLines(index).stream()
+                .filter(line -> !line.isBlank()).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the directory the TypeScript generator has written the files to.
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    @IgnoreEmptyDirectories
+    public abstract DirectoryProperty getGeneratedDirectory();
+
+    /**
+     * Gets the frontend directory the generated files are copied to.
+     */
+    @Internal
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void sync() {
+        var outputDirectory = getOutputDirectory().get().getAsFile().toPath();
+
+        try {
+            var stale = readIndex(outputDirectory);
+            getFileSystemOperations().delete(spec -> stale
+                    .forEach(file -> spec.delete(outputDirectory.resolve(file)
+                            .toFile())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed reading the index of the generated files", e);
+        }
+
+        getFileSystemOperations().copy(spec -> spec
+                .from(getGeneratedDirectory()).into(outputDirectory));
+    }
+}
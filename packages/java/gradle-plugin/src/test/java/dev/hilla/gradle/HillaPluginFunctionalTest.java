@@ -0,0 +1,134 @@
+package dev.hilla.gradle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.hilla.parser.utils.GeneratorDefaults;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(value = OS.WINDOWS, disabledReason = "The stub generator is a "
+        + "shell script")
+class HillaPluginFunctionalTest {
+    // Gradle takes the highest requested version of a module, unlike Maven,
+    // so the versions are aligned to the ones of the parser build, which
+    // lets the parser resolve from the local Maven repository alone
+    private static final String BUILD_SCRIPT = String.join("\n",
+            "plugins {", "    id 'java'", "    id 'dev.hilla'", "}",
+            "repositories {", "    mavenLocal()", "}",
+            "configurations.hillaParser.resolutionStrategy.eachDependency {",
+            "    if (requested.group == 'com.fasterxml.jackson.core') {",
+            "        useVersion(requested.name == 'jackson-annotations'",
+            "                ? '2.13.4' : '2.13.3')",
+            "    } else if (requested.group.startsWith(",
+            "            'com.fasterxml.jackson')) {",
+            "        useVersion('2.13.4')",
+            "    } else if (requested.group == 'org.slf4j') {",
+            "        useVersion('1.7.36')", "    }", "}", "");
+    private static final String STUB_GENERATOR = String.join("\n",
+            "#!/bin/sh", "out=$2", "for openapi; do :; done",
+            "mkdir -p \"$out\"", "cp \"$openapi\" \"$out/endpoints.json\"",
+            "printf 'endpoints.json' > \"$out/generated-file-list.txt\"", "");
+
+    @TempDir
+    Path projectDirectory;
+
+    private Path frontendDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(projectDirectory.resolve("settings.gradle"),
+                String.join("\n", "buildCache {", "    local {",
+                        "        directory = file('build-cache')", "    }",
+                        "}", ""));
+        Files.writeString(projectDirectory.resolve("build.gradle"),
+                BUILD_SCRIPT);
+
+        var source = projectDirectory.resolve("src/main/java/com/example");
+        Files.createDirectories(source);
+        Files.writeString(source.resolve("Example.java"),
+                "package com.example;\n\npublic class Example {\n}\n");
+
+        var bin = projectDirectory.resolve("node_modules/.bin");
+        Files.createDirectories(bin);
+        Files.createDirectories(
+                projectDirectory.resolve("node_modules/@hilla"));
+        Files.writeString(bin.resolve("tsgen"), STUB_GENERATOR);
+        Files.setPosixFilePermissions(bin.resolve("tsgen"),
+                PosixFilePermissions.fromString("rwxr-xr-x"));
+
+        frontendDirectory = projectDirectory
+                .resolve(GeneratorDefaults.OUTPUT_DIRECTORY);
+        Files.createDirectories(frontendDirectory);
+        Files.writeString(frontendDirectory.resolve("theme.js"), "");
+        Files.writeString(frontendDirectory.resolve("stale.ts"), "");
+        Files.writeString(frontendDirectory.resolve(HillaSyncTask.INDEX_FILE),
+                "stale.ts");
+    }
+
+    @Test
+    void shouldSyncGeneratedFilesToFrontend() throws IOException {
+        var result = run();
+
+        assertEquals(TaskOutcome.SUCCESS, result
+                .task(":" + HillaPlugin.TASK_NAME).getOutcome());
+        assertEquals(TaskOutcome.SUCCESS, result
+                .task(":" + HillaPlugin.SYNC_TASK_NAME).getOutcome());
+        assertTrue(Files.readString(
+                projectDirectory.resolve("build")
+                        .resolve(HillaPlugin.GENERATED_DIRECTORY)
+                        .resolve("endpoints.json"))
+                .contains("\"openapi\""));
+        assertTrue(Files.exists(frontendDirectory.resolve("endpoints.json")));
+        assertTrue(Files.exists(frontendDirectory.resolve("theme.js")));
+        assertFalse(Files.exists(frontendDirectory.resolve("stale.ts")));
+    }
+
+    @Test
+    void shouldRestoreGeneratedFilesFromBuildCache() throws IOException {
+        run();
+        deleteRecursively(projectDirectory.resolve("build"));
+        Files.delete(frontendDirectory.resolve("endpoints.json"));
+
+        var result = run();
+
+        assertEquals(TaskOutcome.FROM_CACHE, result
+                .task(":" + HillaPlugin.TASK_NAME).getOutcome());
+        assertEquals(TaskOutcome.SUCCESS, result
+                .task(":" + HillaPlugin.SYNC_TASK_NAME).getOutcome());
+        assertTrue(Files.exists(frontendDirectory.resolve("endpoints.json")));
+        assertTrue(Files.exists(frontendDirectory.resolve("theme.js")));
+    }
+
+    private void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (var path : (Iterable<Path>) paths
+                    .sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private BuildResult run() {
+        return GradleRunner.create()
+                .withProjectDir(projectDirectory.toFile())
+                .withPluginClasspath()
+                .withArguments(HillaPlugin.TASK_NAME, "--build-cache")
+                .build();
+    }
+}
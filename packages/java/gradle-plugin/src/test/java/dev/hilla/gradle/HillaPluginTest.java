@@ -0,0 +1,106 @@
+package dev.hilla.gradle;
+
+import java.io.File;
+import java.util.stream.Collectors;
+
+import org.gradle.api.Project;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.hilla.parser.utils.GeneratorDefaults;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HillaPluginTest {
+    @TempDir
+    File projectDirectory;
+
+    @Test
+    void shouldRegisterCacheableGenerateTask() {
+        var project = createProject();
+        var task = createGenerateTask(project);
+
+        assertTrue(HillaGenerateTask.class
+                .isAnnotationPresent(CacheableTask.class));
+        assertEquals(GeneratorDefaults.ENDPOINT_ANNOTATION,
+                task.getEndpointAnnotation().get());
+        assertEquals(GeneratorDefaults.GENERATOR_PLUGINS,
+                task.getGeneratorPlugins().get());
+        assertEquals(GeneratorDefaults.PARSER_PLUGINS,
+                task.getParserPlugins().get());
+        assertEquals(
+                new File(projectDirectory,
+                        "build/" + HillaPlugin.GENERATED_DIRECTORY),
+                task.getOutputDirectory().get().getAsFile());
+        assertEquals(
+                new File(projectDirectory, GeneratorDefaults.OUTPUT_DIRECTORY),
+                createSyncTask(project).getOutputDirectory().get()
+                        .getAsFile());
+        assertEquals(task.getOutputDirectory().get(),
+                createSyncTask(project).getGeneratedDirectory().get());
+    }
+
+    @Test
+    void shouldUseExtensionConfiguration() {
+        var project = createProject();
+        var extension = project.getExtensions()
+                .getByType(HillaExtension.class);
+        extension.getEndpointAnnotation().set("com.example.Endpoint");
+        extension.getOutputDirectory()
+                .set(project.getLayout().getProjectDirectory().dir("out"));
+
+        var task = createGenerateTask(project);
+
+        assertEquals("com.example.Endpoint",
+                task.getEndpointAnnotation().get());
+        assertEquals(new File(projectDirectory, "out"),
+                createSyncTask(project).getOutputDirectory().get()
+                        .getAsFile());
+    }
+
+    @Test
+    void shouldAddParserOfPluginVersion() {
+        var project = createProject();
+        var configuration = project.getConfigurations()
+                .getByName(HillaPlugin.CONFIGURATION_NAME);
+
+        var dependencies = configuration.getAllDependencies().stream()
+                .map(dependency -> dependency.getGroup() + ":"
+                        + dependency.getName() + ":"
+                        + dependency.getVersion())
+                .collect(Collectors.toList());
+
+        assertTrue(dependencies.isEmpty());
+
+        var version = HillaPlugin.getVersion();
+        assertEquals(HillaPlugin.PARSER_MODULES.stream()
+                .map(module -> "dev.hilla:" + module + ":" + version)
+                .collect(Collectors.toList()),
+                configuration.getIncoming().getDependencies().stream()
+                        .map(dependency -> dependency.getGroup() + ":"
+                                + dependency.getName() + ":"
+                                + dependency.getVersion())
+                        .collect(Collectors.toList()));
+    }
+
+    private HillaGenerateTask createGenerateTask(Project project) {
+        return (HillaGenerateTask) project.getTasks()
+                .getByName(HillaPlugin.TASK_NAME);
+    }
+
+    private HillaSyncTask createSyncTask(Project project) {
+        return (HillaSyncTask) project.getTasks()
+                .getByName(HillaPlugin.SYNC_TASK_NAME);
+    }
+
+    private Project createProject() {
+        var project = ProjectBuilder.builder()
+                .withProjectDir(projectDirectory).build();
+        project.getPlugins().apply("java");
+        project.getPlugins().apply("dev.hilla");
+        return project;
+    }
+}
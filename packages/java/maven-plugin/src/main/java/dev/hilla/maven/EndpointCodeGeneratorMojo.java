@@ -1,54 +1,113 @@
 package dev.hilla.maven;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
+import io.swagger.v3.oas.models.OpenAPI;
+
 /**
  * Maven Plugin for Hilla. Handles parsing Java bytecode and generating
  * TypeScript code from it.
+ * <p>
+ * Unless {@code skipUnchanged} is disabled, the generation is skipped when
+ * neither the endpoints nor the configuration have changed since the last
+ * generation, and the generated files are intact. See {@link GenerationState}.
+ * <p>
+ * When the effective configuration of the plugin is the default one, the plugin
+ * records it in the build directory together with the POM files it comes from,
+ * which tells the dev mode that generating the code in the running application
+ * gives the same result as this goal.
  */
 @Mojo(name = "generate", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.RUNTIME)
 public final class EndpointCodeGeneratorMojo extends AbstractMojo {
+    /**
+     * Read by {@code dev.hilla.internal.InProcessGenerator}.
+     */
+    static final String DEFAULT_CONFIGURATION_FILE = "hilla-generate-defaults.txt";
+    private static final String STATE_FILE = "hilla-generate.state";
     @Parameter(readonly = true)
     private final GeneratorConfiguration generator = new GeneratorConfiguration();
     @Parameter(readonly = true)
     private final ParserConfiguration parser = new ParserConfiguration();
+    @Parameter(defaultValue = "${mojoExecution}", required = true, readonly = true)
+    private MojoExecution mojoExecution;
     @Parameter(defaultValue = "${project}", required = true, readonly = true)
     private MavenProject project;
     @Parameter(defaultValue = "false")
     private boolean runNpmInstall;
+    @Parameter(defaultValue = "true")
+    private boolean skipUnchanged;
 
     @Override
     public void execute() throws EndpointCodeGeneratorMojoException {
-        var result = parseJavaCode();
-        generateTypeScriptCode(result);
+        var parserProcessor = createParserProcessor();
+        var generatorProcessor = createGeneratorProcessor();
+        var outputDirectory = generatorProcessor.getOutputDirectory();
+        var stateFile = Paths.get(project.getBuild().getDirectory(),
+                STATE_FILE);
+        var inputs = new GenerationState.Inputs(
+                getConfiguration(parserProcessor),
+                parserProcessor.getClassPath(),
+                parserProcessor.getEndpointAnnotationName());
+
+        if (skipUnchanged && GenerationState.load(stateFile)
+                .filter(state -> state.isUpToDate(inputs, outputDirectory))
+                .isPresent()) {
+            getLog().info(
+                    "Endpoints and configuration are unchanged, skipping the "
+                            + "generation");
+            recordDefaultConfiguration();
+            return;
+        }
+
+        deleteState(stateFile);
+
+        var result = parseJavaCode(parserProcessor);
+        generateTypeScriptCode(generatorProcessor, result);
+
+        if (skipUnchanged) {
+            storeState(stateFile, inputs, parserProcessor, outputDirectory);
+        }
+
+        recordDefaultConfiguration();
     }
 
-    private void generateTypeScriptCode(String openAPI)
-            throws EndpointCodeGeneratorMojoException {
+    private boolean isDefaultConfiguration() {
+        return parser.getClassPath().isEmpty()
+                && parser.getEndpointAnnotation().isEmpty()
+                && parser.getOpenAPIPath().isEmpty()
+                && parser.getPlugins().isEmpty()
+                && parser.getReportPath().isEmpty()
+                && generator.getOutputDir().isEmpty()
+                && generator.getPlugins().isEmpty();
+    }
+
+    private GeneratorProcessor createGeneratorProcessor() {
         var logger = getLog();
-        try {
-            var executor = new GeneratorProcessor(project, logger,
-                    runNpmInstall).input(openAPI)
-                            .verbose(logger.isDebugEnabled());
+        var executor = new GeneratorProcessor(project, logger, runNpmInstall)
+                .daemon(generator.isDaemon()).verbose(logger.isDebugEnabled());
 
-            generator.getOutputDir().ifPresent(executor::outputDir);
-            generator.getPlugins().ifPresent(executor::plugins);
+        generator.getOutputDir().ifPresent(executor::outputDir);
+        generator.getPlugins().ifPresent(executor::plugins);
 
-            executor.process();
-        } catch (IOException | InterruptedException | GeneratorException e) {
-            throw new EndpointCodeGeneratorMojoException(
-                    "TS code generation failed", e);
-        }
+        return executor;
     }
 
-    private String parseJavaCode() throws EndpointCodeGeneratorMojoException {
+    private ParserProcessor createParserProcessor()
+            throws EndpointCodeGeneratorMojoException {
         try {
             var executor = new ParserProcessor(project, getLog());
 
@@ -57,11 +116,115 @@ public final class EndpointCodeGeneratorMojo extends AbstractMojo {
                     .ifPresent(executor::endpointAnnotation);
             parser.getPlugins().ifPresent(executor::plugins);
             parser.getOpenAPIPath().ifPresent(executor::openAPIBase);
+            parser.getReportPath().ifPresent(executor::report);
+
+            return executor;
+        } catch (ParserException e) {
+            throw new EndpointCodeGeneratorMojoException(
+                    "Java code parsing failed", e);
+        }
+    }
+
+    private void deleteState(Path stateFile)
+            throws EndpointCodeGeneratorMojoException {
+        try {
+            Files.deleteIfExists(stateFile);
+        } catch (IOException e) {
+            throw new EndpointCodeGeneratorMojoException(
+                    "Failed to delete " + stateFile, e);
+        }
+    }
 
+    private void generateTypeScriptCode(GeneratorProcessor executor,
+            OpenAPI openAPI) throws EndpointCodeGeneratorMojoException {
+        try {
+            executor.input(openAPI).process();
+        } catch (IOException | InterruptedException | GeneratorException e) {
+            throw new EndpointCodeGeneratorMojoException(
+                    "TS code generation failed", e);
+        }
+    }
+
+    private String getConfiguration(ParserProcessor parserProcessor) {
+        var builder = new StringBuilder();
+        builder.append(mojoExecution.getVersion()).append(':')
+                .append(mojoExecution.getConfiguration());
+
+        parserProcessor.getOpenAPIBasePath().ifPresent(path -> {
+            builder.append(":openapi=").append(path);
+
+            try {
+                builder.append(':').append(Files.size(path)).append(':')
+                        .append(Files.getLastModifiedTime(path).toMillis());
+            } catch (IOException e) {
+                builder.append(":missing");
+            }
+        });
+
+        return builder.toString().replace('\n', ' ');
+    }
+
+    private OpenAPI parseJavaCode(ParserProcessor executor)
+            throws EndpointCodeGeneratorMojoException {
+        try {
             return executor.process();
         } catch (ParserException e) {
             throw new EndpointCodeGeneratorMojoException(
                     "Java code parsing failed", e);
         }
     }
+
+    /**
+     * Writes the POM files of the project and its parents, with their sizes and
+     * modification times, if the configuration is the default one, and deletes
+     * the file otherwise. The configuration is the effective one, so it
+     * includes the configuration inherited from the parents and the one of the
+     * active profiles.
+     */
+    private void recordDefaultConfiguration() {
+        var file = Paths.get(project.getBuild().getDirectory(),
+                DEFAULT_CONFIGURATION_FILE);
+
+        try {
+            if (!isDefaultConfiguration()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+
+            var lines = new ArrayList<String>();
+
+            for (var current = project; current != null; current = current
+                    .getParent()) {
+                var pom = current.getFile();
+
+                if (pom != null && pom.isFile()) {
+                    lines.add(pom.getAbsolutePath() + '\t' + pom.length() + ':'
+                            + pom.lastModified());
+                }
+            }
+
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            getLog().warn(
+                    "Failed to record the plugin configuration, the dev "
+                            + "mode will run this goal for generating the code",
+                    e);
+        }
+    }
+
+    private void storeState(Path stateFile, GenerationState.Inputs inputs,
+            ParserProcessor parserProcessor, Path outputDirectory) {
+        try {
+            var state = GenerationState.of(inputs,
+                    parserProcessor.getClassNames(), outputDirectory);
+
+            if (state.isPresent()) {
+                state.get().store(stateFile);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            getLog().warn("Failed to store the generation state, the next "
+                    + "build will generate the code again", e);
+        }
+    }
 }
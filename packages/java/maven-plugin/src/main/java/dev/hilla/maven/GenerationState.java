@@ -0,0 +1,273 @@
+package dev.hilla.maven;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import dev.hilla.parser.utils.Fingerprints;
+
+/**
+ * The fingerprints of the inputs and the output of the last generation, which
+ * let {@code hilla:generate} skip parsing and generating when nothing relevant
+ * has changed.
+ * <p>
+ * The inputs are the plugin configuration, the JARs of the class path and the
+ * class files of its directories. A class file the last parse has not read can
+ * only change the result by becoming an endpoint, so it is only fingerprinted
+ * if it refers to the endpoint annotation, and adding or editing a class that
+ * is not used by the endpoints does not cause a generation. Package infos are
+ * always fingerprinted, since their annotations apply to the classes of the
+ * package.
+ * <p>
+ * The output is the list of the generated files, as written by the generator,
+ * with the size and the modification time of every file.
+ */
+final class GenerationState {
+    static final String GENERATED_FILE_LIST = "generated-file-list.txt";
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String PACKAGE_INFO = "package-info";
+
+    private final Set<String> classNames;
+    private final String inputsFingerprint;
+    private final String outputFingerprint;
+
+    private GenerationState(String inputsFingerprint, String outputFingerprint,
+            Set<String> classNames) {
+        this.inputsFingerprint = inputsFingerprint;
+        this.outputFingerprint = outputFingerprint;
+        this.classNames = classNames;
+    }
+
+    /**
+     * Fingerprints the state after a generation.
+     *
+     * @param inputs
+     *            the inputs of the generation
+     * @param classNames
+     *            the names of the classes read by the parser
+     * @param outputDirectory
+     *            the directory of the generated files
+     * @return the state, or an empty optional if the parser has not read any
+     *         class or the generator has not written the list of the generated
+     *         files
+     */
+    static Optional<GenerationState> of(Inputs inputs,
+            Collection<String> classNames, Path outputDirectory) {
+        // Without the read classes, a change of any of them would go unnoticed
+        if (classNames.isEmpty()) {
+            return Optional.empty();
+        }
+
+        var names = new TreeSet<>(classNames);
+
+        return fingerprintOutput(outputDirectory)
+                .map(output -> new GenerationState(inputs.fingerprint(names),
+                        output, names));
+    }
+
+    /**
+     * Reads the state of the last generation.
+     *
+     * @param file
+     *            the state file
+     * @return the state, or an empty optional if there is none
+     */
+    static Optional<GenerationState> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+            if (lines.size() < 2) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new GenerationState(lines.get(0), lines.get(1),
+                    new TreeSet<>(lines.subList(2, lines.size()))));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> fingerprintOutput(Path outputDirectory) {
+        var list = outputDirectory.resolve(GENERATED_FILE_LIST);
+
+        if (!Files.isRegularFile(list)) {
+            return Optional.empty();
+        }
+
+        try {
+            var builder = new StringBuilder();
+
+            for (var name : Files.readAllLines(list, StandardCharsets.UTF_8)) {
+                if (name.isEmpty()) {
+                    continue;
+                }
+
+                var file = outputDirectory.resolve(name);
+
+                if (!Files.isRegularFile(file)) {
+                    return Optional.empty();
+                }
+
+                builder.append(name).append('=')
+                        .append(Fingerprints.describe(file)).append('\n');
+            }
+
+            return Optional.of(Fingerprints.sha256Hex(builder.toString()));
+        } catch (IOException | UncheckedIOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static int indexOf(byte[] content, byte[] fragment) {
+        outer: for (var i = 0; i <= content.length - fragment.length; i++) {
+            for (var j = 0; j < fragment.length; j++) {
+                if (content[i + j] != fragment[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if the inputs and the output are the same as the ones of this
+     * state.
+     *
+     * @param inputs
+     *            the current inputs
+     * @param outputDirectory
+     *            the directory of the generated files
+     * @return true if the generation can be skipped
+     */
+    boolean isUpToDate(Inputs inputs, Path outputDirectory) {
+        try {
+            return fingerprintOutput(outputDirectory)
+                    .filter(outputFingerprint::equals).isPresent()
+                    && inputs.fingerprint(classNames).equals(inputsFingerprint);
+        } catch (UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the state to the file.
+     *
+     * @param file
+     *            the state file
+     */
+    void store(Path file) throws IOException {
+        var lines = new ArrayList<String>(classNames.size() + 2);
+        lines.add(inputsFingerprint);
+        lines.add(outputFingerprint);
+        lines.addAll(classNames);
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The inputs of a generation.
+     */
+    static final class Inputs {
+        private final Collection<String> classPath;
+        private final String configuration;
+        private final byte[] endpointAnnotation;
+
+        /**
+         * @param configuration
+         *            the plugin configuration, and anything else besides the
+         *            class path the generation depends on
+         * @param classPath
+         *            the class path of the parser
+         * @param endpointAnnotationName
+         *            the name of the endpoint annotation
+         */
+        Inputs(String configuration, Collection<String> classPath,
+                String endpointAnnotationName) {
+            this.configuration = configuration;
+            this.classPath = classPath;
+            this.endpointAnnotation = ("L"
+                    + endpointAnnotationName.replace('.', '/') + ";")
+                            .getBytes(StandardCharsets.UTF_8);
+        }
+
+        String fingerprint(Set<String> classNames) {
+            var builder = new StringBuilder();
+            builder.append("configuration:").append(configuration).append('\n');
+
+            for (var element : classPath.stream().sorted()
+                    .collect(Collectors.toList())) {
+                var path = Paths.get(element);
+                builder.append("classpath:").append(element);
+
+                if (Files.isDirectory(path)) {
+                    builder.append('\n');
+                    appendClassFiles(builder, path, classNames);
+                } else if (Files.exists(path)) {
+                    builder.append('=').append(Fingerprints.describe(path))
+                            .append('\n');
+                } else {
+                    builder.append('\n');
+                }
+            }
+
+            return Fingerprints.sha256Hex(builder.toString());
+        }
+
+        private void appendClassFiles(StringBuilder builder, Path directory,
+                Set<String> classNames) {
+            List<Path> files;
+
+            try (var stream = Files.walk(directory)) {
+                files = stream
+                        .filter(file -> file.getFileName().toString()
+                                .endsWith(CLASS_EXTENSION))
+                        .filter(Files::isRegularFile).sorted()
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            for (var file : files) {
+                var relative = directory.relativize(file).toString();
+                var name = relative
+                        .substring(0,
+                                relative.length() - CLASS_EXTENSION.length())
+                        .replace(file.getFileSystem().getSeparator(), ".");
+
+                if (classNames.contains(name) || name.endsWith(PACKAGE_INFO)) {
+                    builder.append(relative).append('=')
+                            .append(Fingerprints.describe(file)).append('\n');
+                } else if (refersToEndpointAnnotation(file)) {
+                    builder.append(relative).append(":endpoint\n");
+                }
+            }
+        }
+
+        private boolean refersToEndpointAnnotation(Path file) {
+            try {
+                return indexOf(Files.readAllBytes(file),
+                        endpointAnnotation) >= 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 public final class GeneratorConfiguration {
+    private boolean daemon;
     private String outputDir;
     private PluginList plugins;
 
@@ -16,6 +17,14 @@ public final class GeneratorConfiguration {
         return Optional.ofNullable(plugins);
     }
 
+    /**
+     * Checks if the generator process should be kept alive and reused by the
+     * following generations of the build.
+     */
+    public boolean isDaemon() {
+        return daemon;
+    }
+
     public static class Plugin {
         private final String path;
 
@@ -1,8 +1,8 @@
 package dev.hilla.maven;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -15,24 +15,22 @@ import javax.annotation.Nonnull;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 
+import dev.hilla.parser.utils.GeneratorDefaults;
+import dev.hilla.parser.utils.OpenAPIPrinter;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
 final class GeneratorProcessor {
-    private static final List<GeneratorConfiguration.Plugin> DEFAULT_PLUGINS = Arrays
-            .asList(new GeneratorConfiguration.Plugin(
-                    "@hilla/generator-typescript-plugin-client"),
-                    new GeneratorConfiguration.Plugin(
-                            "@hilla/generator-typescript-plugin-backbone"),
-                    new GeneratorConfiguration.Plugin(
-                            "@hilla/generator-typescript-plugin-barrel"),
-                    new GeneratorConfiguration.Plugin(
-                            "@hilla/generator-typescript-plugin-model"),
-                    new GeneratorConfiguration.Plugin(
-                            "@hilla/generator-typescript-plugin-push"));
+    private static final List<GeneratorConfiguration.Plugin> DEFAULT_PLUGINS = GeneratorDefaults.GENERATOR_PLUGINS
+            .stream().map(GeneratorConfiguration.Plugin::new)
+            .collect(Collectors.toList());
 
     private final Log logger;
     private final MavenProject project;
     private final boolean runNpmInstall;
-    private String input;
-    private String outputDir = "frontend/generated";
+    private boolean daemon = false;
+    private OpenAPI input;
+    private String outputDir = GeneratorDefaults.OUTPUT_DIRECTORY;
     private Set<GeneratorConfiguration.Plugin> plugins = new LinkedHashSet<>(
             DEFAULT_PLUGINS);
     private boolean verbose = false;
@@ -44,7 +42,18 @@ final class GeneratorProcessor {
         this.runNpmInstall = runNpmInstall;
     }
 
-    public GeneratorProcessor input(@Nonnull String input) {
+    public GeneratorProcessor daemon(boolean daemon) {
+        this.daemon = daemon;
+        return this;
+    }
+
+    public Path getOutputDirectory() {
+        var outputDirPath = Paths.get(outputDir);
+        return outputDirPath.isAbsolute() ? outputDirPath
+                : project.getBasedir().toPath().resolve(outputDir);
+    }
+
+    public GeneratorProcessor input(@Nonnull OpenAPI input) {
         this.input = Objects.requireNonNull(input);
         return this;
     }
@@ -81,7 +90,15 @@ final class GeneratorProcessor {
             runner.runNpmInstall();
         }
 
-        runner.run(input);
+        var printer = new OpenAPIPrinter();
+        GeneratorShellRunner.Input streamInput = stream -> printer.write(input,
+                stream);
+
+        if (daemon) {
+            runner.runDaemon(streamInput);
+        } else {
+            runner.run(streamInput);
+        }
     }
 
     public GeneratorProcessor verbose(boolean verbose) {
@@ -90,10 +107,7 @@ final class GeneratorProcessor {
     }
 
     private void prepareOutputDir(GeneratorShellRunner runner) {
-        var outputDirPath = Paths.get(outputDir);
-        var result = outputDirPath.isAbsolute() ? outputDirPath
-                : project.getBasedir().toPath().resolve(outputDir);
-        runner.add("-o", result.toString());
+        runner.add("-o", getOutputDirectory().toString());
     }
 
     private void preparePlugins(GeneratorShellRunner runner) {
@@ -4,13 +4,17 @@ import org.apache.maven.plugin.logging.Log;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import dev.hilla.parser.utils.GeneratorDaemon;
+
 final class GeneratorShellRunner {
+    private static final Duration DAEMON_TIMEOUT = Duration.ofSeconds(30);
     private static final boolean IS_WINDOWS;
     private static final String TSGEN;
 
@@ -38,7 +42,13 @@ final class GeneratorShellRunner {
         arguments.addAll(List.of(args));
     }
 
-    public void run(String input) throws InterruptedException, IOException {
+    /**
+     * Runs the generator and streams the input to its stdin.
+     *
+     * @param input
+     *            writes the input OpenAPI to the stdin of the process
+     */
+    public void run(Input input) throws InterruptedException, IOException {
         Objects.requireNonNull(input);
         logger.debug(String.format("Executing command: %s",
                 String.join(" ", arguments)));
@@ -50,7 +60,7 @@ final class GeneratorShellRunner {
         var process = builder.start();
 
         try (var stdin = process.getOutputStream()) {
-            stdin.write(input.getBytes(StandardCharsets.UTF_8));
+            input.write(stdin);
         }
 
         var exitCode = process.waitFor();
@@ -64,6 +74,34 @@ final class GeneratorShellRunner {
         }
     }
 
+    /**
+     * Sends the input to a generator daemon, which is started by the first call
+     * with the same arguments and reused by the following ones, e.g., by the
+     * other modules of the build. Falls back to {@link #run(Input)} if the
+     * daemon cannot be started or exits, but not if the generation fails.
+     *
+     * @param input
+     *            writes the input OpenAPI to the daemon
+     */
+    public void runDaemon(Input input)
+            throws InterruptedException, IOException {
+        Objects.requireNonNull(input);
+        var daemon = GeneratorDaemon.shared(arguments, null, logger::info,
+                DAEMON_TIMEOUT);
+
+        try {
+            daemon.generate(input::write);
+            logger.info("The Generator daemon finished the generation");
+        } catch (GeneratorDaemon.GenerationException e) {
+            throw new GeneratorException(e.getMessage(), e);
+        } catch (IOException e) {
+            logger.warn("The Generator daemon failed, running the Generator "
+                    + "process instead: " + e.getMessage());
+            daemon.discard();
+            run(input);
+        }
+    }
+
     public void runNpmInstall() throws InterruptedException, IOException {
         var builder = new ProcessBuilder().command(List.of("npm", "install"))
                 .inheritIO();
@@ -77,4 +115,9 @@ final class GeneratorShellRunner {
                     "`npm install` failed with exit code " + exitCode);
         }
     }
+
+    @FunctionalInterface
+    interface Input {
+        void write(OutputStream stream) throws IOException;
+    }
 }
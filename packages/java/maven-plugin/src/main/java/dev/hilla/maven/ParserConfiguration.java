@@ -5,21 +5,20 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
 import dev.hilla.parser.core.PluginConfiguration;
-import dev.hilla.parser.plugins.backbone.BackbonePlugin;
-import dev.hilla.parser.plugins.model.ModelPlugin;
-import dev.hilla.parser.plugins.nonnull.NonnullPlugin;
-import dev.hilla.parser.plugins.transfertypes.TransferTypesPlugin;
 import dev.hilla.parser.utils.ConfigList;
+import dev.hilla.parser.utils.GeneratorDefaults;
 
 public final class ParserConfiguration {
     private ParserClassPathConfiguration classPath;
     private String endpointAnnotation;
     private String openAPIPath;
     private Plugins plugins;
+    private String reportPath;
 
     public Optional<ParserClassPathConfiguration> getClassPath() {
         return Optional.ofNullable(classPath);
@@ -37,6 +36,10 @@ public final class ParserConfiguration {
         return Optional.ofNullable(plugins);
     }
 
+    public Optional<String> getReportPath() {
+        return Optional.ofNullable(reportPath);
+    }
+
     public static class Plugin {
         private PluginConfiguration configuration;
         private String name;
@@ -112,11 +115,8 @@ public final class ParserConfiguration {
     }
 
     static class PluginsProcessor extends ConfigList.Processor<Plugin> {
-        private static final Set<Plugin> defaults = Set.of(
-                new Plugin(TransferTypesPlugin.class.getName()),
-                new Plugin(BackbonePlugin.class.getName()),
-                new Plugin(NonnullPlugin.class.getName()),
-                new Plugin(ModelPlugin.class.getName()));
+        private static final Set<Plugin> defaults = GeneratorDefaults.PARSER_PLUGINS
+                .stream().map(Plugin::new).collect(Collectors.toSet());
 
         public PluginsProcessor() {
             super(defaults);
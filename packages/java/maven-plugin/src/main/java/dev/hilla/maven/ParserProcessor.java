@@ -1,10 +1,13 @@
 package dev.hilla.maven;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,15 +21,22 @@ import org.apache.maven.project.MavenProject;
 import dev.hilla.parser.core.Parser;
 import dev.hilla.parser.core.ParserConfig;
 import dev.hilla.parser.core.PluginManager;
+import dev.hilla.parser.utils.GeneratorDefaults;
 import dev.hilla.parser.utils.OpenAPIPrinter;
 
+import io.swagger.v3.oas.models.OpenAPI;
+
 final class ParserProcessor {
+    private static final String DEBUG_OPENAPI_FILE = "hilla-openapi.json";
+
     private final Log logger;
     private final ParserConfiguration.PluginsProcessor pluginsProcessor = new ParserConfiguration.PluginsProcessor();
     private final MavenProject project;
+    private Set<String> classNames = Set.of();
     private Set<String> classPath;
-    private String endpointAnnotationName = "dev.hilla.Endpoint";
+    private String endpointAnnotationName = GeneratorDefaults.ENDPOINT_ANNOTATION;
     private String openAPIPath;
+    private String reportPath;
 
     public ParserProcessor(MavenProject project, Log logger) {
         this.project = project;
@@ -64,6 +74,26 @@ final class ParserProcessor {
         return this;
     }
 
+    /**
+     * Gets the names of the classes read by the last {@link #process()}.
+     */
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    public Set<String> getClassPath() {
+        return classPath;
+    }
+
+    public String getEndpointAnnotationName() {
+        return endpointAnnotationName;
+    }
+
+    public Optional<Path> getOpenAPIBasePath() {
+        return Optional.ofNullable(openAPIPath).map(path -> Paths
+                .get(project.getBasedir().getAbsolutePath(), path));
+    }
+
     public ParserProcessor openAPIBase(@Nonnull String openAPIPath) {
         this.openAPIPath = Objects.requireNonNull(openAPIPath);
         return this;
@@ -76,9 +106,15 @@ final class ParserProcessor {
         return this;
     }
 
-    public String process() {
+    public ParserProcessor report(@Nonnull String reportPath) {
+        this.reportPath = Objects.requireNonNull(reportPath);
+        return this;
+    }
+
+    public OpenAPI process() {
         var builder = new ParserConfig.Builder().classPath(classPath)
-                .endpointAnnotation(endpointAnnotationName);
+                .endpointAnnotation(endpointAnnotationName)
+                .report(reportPath != null);
 
         preparePlugins(builder);
         prepareOpenAPIBase(builder);
@@ -86,27 +122,49 @@ final class ParserProcessor {
         try {
             logger.debug("Starting JVM Parser");
 
-            var openAPI = new Parser(builder.finish()).execute();
-            var openAPIJSONString = new OpenAPIPrinter().writeAsString(openAPI);
+            var parser = new Parser(builder.finish());
+            var openAPI = parser.execute();
+            classNames = parser.getClassNames();
+            var report = parser.getStorage().getReport();
+
+            if (logger.isDebugEnabled()) {
+                var path = Paths.get(project.getBuild().getDirectory(),
+                        DEBUG_OPENAPI_FILE);
+                report.measure("print", () -> printOpenAPI(openAPI, path));
+                logger.debug("OpenAPI (JSON) written to " + path);
+            }
 
-            logger.debug("OpenAPI (JSON): " + openAPIJSONString);
+            if (reportPath != null) {
+                var path = Paths.get(project.getBasedir().getAbsolutePath(),
+                        reportPath);
+                report.write(path);
+                logger.info("Parser report written to " + path);
+            }
 
-            return openAPIJSONString;
-        } catch (IOException e) {
+            return openAPI;
+        } catch (IOException | UncheckedIOException e) {
             throw new ParserException(
                     "Failed processing OpenAPI generated from parsed Java code",
                     e);
         }
     }
 
+    private static void printOpenAPI(OpenAPI openAPI, Path path) {
+        try {
+            Files.createDirectories(path.getParent());
+            new OpenAPIPrinter().pretty().write(openAPI, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private void prepareOpenAPIBase(ParserConfig.Builder builder) {
         if (openAPIPath == null) {
             return;
         }
 
         try {
-            var path = Paths.get(project.getBasedir().getAbsolutePath(),
-                    openAPIPath);
+            var path = getOpenAPIBasePath().orElseThrow();
             var fileName = path.getFileName().toString();
 
             if (!fileName.endsWith("yml") && !fileName.endsWith("yaml")
@@ -0,0 +1,128 @@
+package dev.hilla.maven;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GenerationStateTest {
+    private static final String ENDPOINT = "dev.hilla.Endpoint";
+    @TempDir
+    Path directory;
+    private Path classes;
+    private Path output;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        classes = Files.createDirectories(directory.resolve("classes"));
+        output = Files.createDirectories(directory.resolve("generated"));
+
+        writeClass("com/example/MyEndpoint.class", "Ldev/hilla/Endpoint;");
+        writeClass("com/example/Entity.class", "entity");
+        writeClass("com/example/Service.class", "service");
+        writeClass("com/example/package-info.class", "package");
+
+        Files.writeString(output.resolve("MyEndpoint.ts"), "endpoint");
+        Files.writeString(output.resolve(GenerationState.GENERATED_FILE_LIST),
+                "MyEndpoint.ts");
+    }
+
+    @Test
+    public void should_BeUpToDate_When_OnlyUnusedClassesChange()
+            throws IOException {
+        var state = store();
+
+        writeClass("com/example/Service.class", "changed service");
+        writeClass("com/example/Helper.class", "new helper");
+
+        assertTrue(state.isUpToDate(createInputs("config"), output));
+    }
+
+    @Test
+    public void should_NotBeUpToDate_When_UsedClassChanges()
+            throws IOException {
+        var state = store();
+
+        writeClass("com/example/Entity.class", "changed entity");
+
+        assertFalse(state.isUpToDate(createInputs("config"), output));
+    }
+
+    @Test
+    public void should_NotBeUpToDate_When_ClassBecomesEndpoint()
+            throws IOException {
+        var state = store();
+
+        writeClass("com/example/Service.class", "Ldev/hilla/Endpoint;");
+
+        assertFalse(state.isUpToDate(createInputs("config"), output));
+    }
+
+    @Test
+    public void should_NotBeUpToDate_When_PackageInfoChanges()
+            throws IOException {
+        var state = store();
+
+        writeClass("com/example/package-info.class", "changed package");
+
+        assertFalse(state.isUpToDate(createInputs("config"), output));
+    }
+
+    @Test
+    public void should_NotBeUpToDate_When_ConfigurationChanges()
+            throws IOException {
+        assertFalse(store().isUpToDate(createInputs("changed"), output));
+    }
+
+    @Test
+    public void should_NotBeUpToDate_When_OutputIsNotIntact()
+            throws IOException {
+        var state = store();
+
+        Files.delete(output.resolve("MyEndpoint.ts"));
+
+        assertFalse(state.isUpToDate(createInputs("config"), output));
+    }
+
+    @Test
+    public void should_NotCreateState_When_NoClassesWereRead() {
+        assertTrue(GenerationState.of(createInputs("config"), List.of(), output)
+                .isEmpty());
+    }
+
+    private GenerationState.Inputs createInputs(String configuration) {
+        return new GenerationState.Inputs(configuration,
+                Set.of(classes.toString()), ENDPOINT);
+    }
+
+    private GenerationState store() throws IOException {
+        var file = directory.resolve("state");
+        GenerationState.of(createInputs("config"),
+                List.of("com.example.MyEndpoint", "com.example.Entity"), output)
+                .orElseThrow().store(file);
+
+        return GenerationState.load(file).orElseThrow();
+    }
+
+    private void writeClass(String name, String content) throws IOException {
+        var file = classes.resolve(name);
+        var exists = Files.exists(file);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+
+        if (exists) {
+            // Makes sure the change is visible on coarse file systems
+            Files.setLastModifiedTime(file, FileTime.fromMillis(
+                    Files.getLastModifiedTime(file).toMillis() + 2000));
+        }
+    }
+}
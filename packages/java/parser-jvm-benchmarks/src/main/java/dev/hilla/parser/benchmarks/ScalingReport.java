@@ -0,0 +1,192 @@
+package dev.hilla.parser.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.utils.OpenAPIPrinter;
+
+/**
+ * Measures how the parser scales with the size of a {@link SyntheticProject}.
+ * <p>
+ * For every size, the parser runs several times and the fastest run is kept.
+ * The class path scan is reported separately and excluded from the parse time:
+ * it is dominated by the JDK modules, which hides the growth of the phases that
+ * depend on the project. For the same reason, the growth is computed after
+ * subtracting the parse time of a minimal project, which is the fixed cost of
+ * every run.
+ * <p>
+ * Run with {@code java dev.hilla.parser.benchmarks.ScalingReport 50 100 200} to
+ * print a table of the parse time versus the size.
+ */
+public final class ScalingReport {
+    private final int repetitions;
+    private final Path workDirectory;
+    private Point baseline;
+
+    public ScalingReport(@Nonnull Path workDirectory, int repetitions) {
+        this.workDirectory = Objects.requireNonNull(workDirectory);
+        this.repetitions = Math.max(1, repetitions);
+    }
+
+    public static void main(String[] args) throws IOException {
+        var sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 50, 100, 200, 400 };
+        var report = new ScalingReport(
+                Files.createTempDirectory("hilla-parser-scaling"), 3);
+        var points = report.measure(sizes);
+
+        System.out.printf("%8s %8s %14s %14s %14s%n", "size", "schemas",
+                "scan (ms)", "parse (ms)", "print (ms)");
+
+        for (var point : points) {
+            System.out.printf("%8d %8d %14.1f %14.1f %14.1f%n", point.getSize(),
+                    point.getSchemas(), point.getScanNanos() / 1e6,
+                    point.getParseNanos() / 1e6, point.getPrintNanos() / 1e6);
+        }
+
+        System.out.printf("Fixed parse time: %.1f ms%n",
+                report.baseline.getParseNanos() / 1e6);
+        System.out.printf("Growth exponent of the parse time: %.2f%n",
+                report.getExponent(points));
+    }
+
+    /**
+     * Computes the growth exponent of the parse time, without the fixed cost,
+     * between the smallest and the largest size: 1 for linear growth, 2 for
+     * quadratic.
+     *
+     * @param points
+     *            the points returned by {@link #measure(int...)}
+     * @return the exponent
+     */
+    public double getExponent(@Nonnull List<Point> points) {
+        var fixed = baseline.getParseNanos();
+        var first = points.get(0);
+        var last = points.get(points.size() - 1);
+
+        return Math
+                .log((double) Math.max(1, last.getParseNanos() - fixed)
+                        / Math.max(1, first.getParseNanos() - fixed))
+                / Math.log((double) last.getSize() / first.getSize());
+    }
+
+    /**
+     * Generates a project for every size and measures the parser on it.
+     *
+     * @param sizes
+     *            the project sizes in increasing order
+     * @return the measured points
+     */
+    public List<Point> measure(@Nonnull int... sizes) {
+        if (baseline == null) {
+            // Runs twice so that the baseline is not inflated by the JIT
+            measure(1);
+            baseline = measure(1);
+        }
+
+        var points = new ArrayList<Point>(sizes.length);
+
+        for (var size : sizes) {
+            points.add(measure(size));
+        }
+
+        return points;
+    }
+
+    private Point measure(int size) {
+        var classes = SyntheticProject.ofSize(size)
+                .compile(workDirectory.resolve("size-" + size));
+        Point best = null;
+
+        for (var i = 0; i < repetitions; i++) {
+            var point = run(size, classes);
+
+            if (best == null || point.getParseNanos() < best.getParseNanos()) {
+                best = point;
+            }
+        }
+
+        return best;
+    }
+
+    private Point run(int size, Path classes) {
+        var threads = ManagementFactory.getThreadMXBean();
+        var parser = new Parser(
+                SyntheticProject.createConfig(classes).report(true).finish());
+
+        var start = threads.getCurrentThreadCpuTime();
+        var openAPI = parser.execute();
+        var total = threads.getCurrentThreadCpuTime() - start;
+
+        var report = parser.getStorage().getReport();
+        var scan = report.getPhases().get("scan").getCpuTimeNanos();
+
+        start = threads.getCurrentThreadCpuTime();
+
+        try {
+            new OpenAPIPrinter().write(openAPI,
+                    OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        var print = threads.getCurrentThreadCpuTime() - start;
+
+        return new Point(size, report.getCounts().getOrDefault("schemas", 0L),
+                scan, total - scan, print);
+    }
+
+    public static final class Point {
+        private final long parseNanos;
+        private final long printNanos;
+        private final long scanNanos;
+        private final long schemas;
+        private final int size;
+
+        Point(int size, long schemas, long scanNanos, long parseNanos,
+                long printNanos) {
+            this.size = size;
+            this.schemas = schemas;
+            this.scanNanos = scanNanos;
+            this.parseNanos = parseNanos;
+            this.printNanos = printNanos;
+        }
+
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        public long getPrintNanos() {
+            return printNanos;
+        }
+
+        public long getScanNanos() {
+            return scanNanos;
+        }
+
+        public long getSchemas() {
+            return schemas;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d schemas=%d parse=%.1fms", size,
+                    schemas, parseNanos / 1e6);
+        }
+    }
+}
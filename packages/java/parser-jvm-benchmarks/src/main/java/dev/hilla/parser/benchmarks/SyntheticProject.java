@@ -0,0 +1,222 @@
+package dev.hilla.parser.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import dev.hilla.parser.core.ParserConfig;
+import dev.hilla.parser.plugins.backbone.BackbonePlugin;
+import dev.hilla.parser.plugins.model.ModelPlugin;
+import dev.hilla.parser.plugins.nonnull.NonnullPlugin;
+import dev.hilla.parser.plugins.transfertypes.TransferTypesPlugin;
+
+/**
+ * Generates and compiles a synthetic project for the parser to scale against.
+ * <p>
+ * A project of size N has N endpoints and N entities. Every endpoint returns
+ * its entity directly, in collections, in a map, in an optional and wrapped in
+ * a deep generic hierarchy. Every entity references the next one and extends a
+ * wide inheritance chain, so the number of classes, models and schemas all grow
+ * linearly with N.
+ */
+public final class SyntheticProject {
+    public static final String PACKAGE = "dev.hilla.parser.benchmarks.synthetic";
+    public static final String ENDPOINT_ANNOTATION = PACKAGE + ".Endpoint";
+
+    private final int chains;
+    private final int entities;
+    private final int endpoints;
+    private final int genericDepth;
+    private final int inheritanceDepth;
+
+    public SyntheticProject(int endpoints, int entities, int genericDepth,
+            int inheritanceDepth) {
+        this.endpoints = endpoints;
+        this.entities = Math.max(1, entities);
+        this.genericDepth = Math.max(1, genericDepth);
+        this.inheritanceDepth = Math.max(1, inheritanceDepth);
+        this.chains = Math.max(1, this.entities / 10);
+    }
+
+    /**
+     * Creates a project with the given number of endpoints and entities, and
+     * fixed generic and inheritance depths.
+     *
+     * @param size
+     *            the number of endpoints and entities
+     * @return the project
+     */
+    public static SyntheticProject ofSize(int size) {
+        return new SyntheticProject(size, size, 5, 5);
+    }
+
+    /**
+     * Creates a parser configuration for the compiled project with the default
+     * plugins of the Maven plugin.
+     *
+     * @param classes
+     *            the directory returned by {@link #compile(Path)}
+     * @return the configuration builder
+     */
+    public static ParserConfig.Builder createConfig(@Nonnull Path classes) {
+        return new ParserConfig.Builder().classPath(Set.of(classes.toString()))
+                .endpointAnnotation(ENDPOINT_ANNOTATION)
+                .addPlugin(new BackbonePlugin())
+                .addPlugin(new TransferTypesPlugin())
+                .addPlugin(new NonnullPlugin()).addPlugin(new ModelPlugin());
+    }
+
+    /**
+     * Writes the sources of the project to the directory and compiles them with
+     * the {@code -parameters} flag.
+     *
+     * @param directory
+     *            the working directory
+     * @return the directory of the compiled classes
+     */
+    public Path compile(@Nonnull Path directory) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null) {
+            throw new IllegalStateException(
+                    "Synthetic projects require a JDK with the java compiler");
+        }
+
+        try {
+            var sources = write(directory.resolve("src"));
+            var classes = Files.createDirectories(directory.resolve("classes"));
+            var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+            try (var fileManager = compiler.getStandardFileManager(diagnostics,
+                    null, null)) {
+                var units = fileManager.getJavaFileObjectsFromPaths(sources);
+                var success = compiler
+                        .getTask(null, fileManager, diagnostics,
+                                List.of("-parameters", "-proc:none", "-d",
+                                        classes.toString()),
+                                null, units)
+                        .call();
+
+                if (!success) {
+                    throw new IllegalStateException(
+                            "Failed compiling the synthetic project: "
+                                    + diagnostics.getDiagnostics().stream()
+                                            .map(Object::toString)
+                                            .collect(Collectors.joining("\n")));
+                }
+            }
+
+            return classes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getEndpoints() {
+        return endpoints;
+    }
+
+    public int getEntities() {
+        return entities;
+    }
+
+    private List<Path> write(Path directory) throws IOException {
+        var root = Files.createDirectories(
+                directory.resolve(PACKAGE.replace('.', '/')));
+        var files = new ArrayList<Path>();
+
+        files.add(Files.writeString(root.resolve("Endpoint.java"), "package "
+                + PACKAGE + ";\n\n"
+                + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                + "@java.lang.annotation.Target(java.lang.annotation.ElementType.TYPE)\n"
+                + "public @interface Endpoint {\n}\n"));
+
+        for (var level = 0; level < genericDepth; level++) {
+            files.add(Files.writeString(
+                    root.resolve("Generic" + level + ".java"), generic(level)));
+        }
+
+        for (var chain = 0; chain < chains; chain++) {
+            for (var level = 0; level < inheritanceDepth; level++) {
+                files.add(Files.writeString(
+                        root.resolve(base(chain, level) + ".java"),
+                        base(chain, level,
+                                level == 0 ? null : base(chain, level - 1))));
+            }
+        }
+
+        for (var i = 0; i < entities; i++) {
+            files.add(Files.writeString(root.resolve("Entity" + i + ".java"),
+                    entity(i)));
+        }
+
+        for (var i = 0; i < endpoints; i++) {
+            files.add(Files.writeString(root.resolve("Endpoint" + i + ".java"),
+                    endpoint(i)));
+        }
+
+        return files;
+    }
+
+    private String base(int chain, int level) {
+        return "Base" + chain + "Level" + level;
+    }
+
+    private String base(int chain, int level, String parent) {
+        return "package " + PACKAGE + ";\n\n" + "public class "
+                + base(chain, level)
+                + (parent != null ? " extends " + parent : "") + " {\n"
+                + "    private String level" + level + "Name;\n"
+                + "    private long level" + level + "Id;\n" + "}\n";
+    }
+
+    private String endpoint(int index) {
+        var entity = "Entity" + (index % entities);
+        var wrapped = "Generic" + (genericDepth - 1) + "<" + entity + ">";
+
+        return "package " + PACKAGE + ";\n\n" + "import java.util.List;\n"
+                + "import java.util.Map;\n" + "import java.util.Optional;\n"
+                + "import java.util.Set;\n\n" + "@Endpoint\n"
+                + "public class Endpoint" + index + " {\n" + "    public "
+                + entity + " get(String id) {\n        return null;\n    }\n\n"
+                + "    public List<" + entity
+                + "> list(int page, int size) {\n        return null;\n    }\n\n"
+                + "    public Map<String, " + entity
+                + "> index(Set<String> ids) {\n        return null;\n    }\n\n"
+                + "    public Optional<" + wrapped
+                + "> wrapped() {\n        return Optional.empty();\n    }\n\n"
+                + "    public void save(" + entity + " entity, " + wrapped
+                + " wrapper) {\n    }\n" + "}\n";
+    }
+
+    private String entity(int index) {
+        return "package " + PACKAGE + ";\n\n" + "import java.time.LocalDate;\n"
+                + "import java.util.List;\n" + "import java.util.Map;\n\n"
+                + "public class Entity" + index + " extends "
+                + base(index % chains, inheritanceDepth - 1) + " {\n"
+                + "    private String name;\n" + "    private int count;\n"
+                + "    private LocalDate date;\n"
+                + "    private Map<String, Integer> attributes;\n"
+                + "    private List<Entity" + ((index + 1) % entities)
+                + "> related;\n" + "}\n";
+    }
+
+    private String generic(int level) {
+        var parent = level == 0 ? ""
+                : " extends Generic" + (level - 1) + "<java.util.List<T>>";
+
+        return "package " + PACKAGE + ";\n\n" + "public class Generic" + level
+                + "<T>" + parent + " {\n" + "    private T value" + level
+                + ";\n" + "}\n";
+    }
+}
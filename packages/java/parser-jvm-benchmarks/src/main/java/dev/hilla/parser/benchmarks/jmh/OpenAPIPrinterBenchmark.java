@@ -0,0 +1,62 @@
+package dev.hilla.parser.benchmarks.jmh;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hilla.parser.benchmarks.SyntheticProject;
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.utils.OpenAPIPrinter;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Benchmarks printing the OpenAPI produced for projects of increasing sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class OpenAPIPrinterBenchmark {
+    private final OpenAPIPrinter printer = new OpenAPIPrinter();
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private OpenAPI openAPI;
+
+    @Benchmark
+    public String print() throws IOException {
+        return printer.writeAsString(openAPI);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        printer.write(openAPI, OutputStream.nullOutputStream());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var classes = SyntheticProject.ofSize(size)
+                .compile(Files.createTempDirectory("hilla-printer-benchmark"));
+
+        openAPI = new Parser(SyntheticProject.createConfig(classes).finish())
+                .execute();
+    }
+}
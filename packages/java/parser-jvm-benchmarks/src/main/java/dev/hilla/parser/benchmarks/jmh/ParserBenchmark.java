@@ -0,0 +1,85 @@
+package dev.hilla.parser.benchmarks.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hilla.parser.benchmarks.SyntheticProject;
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.core.ParserConfig;
+import dev.hilla.parser.plugins.backbone.BackbonePlugin;
+import dev.hilla.parser.plugins.model.ModelPlugin;
+import dev.hilla.parser.plugins.nonnull.NonnullPlugin;
+import dev.hilla.parser.plugins.transfertypes.TransferTypesPlugin;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Benchmarks the parser with all default plugins, and with the backbone plugin
+ * combined with each of the other plugins, at increasing project sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class ParserBenchmark {
+    @Param({ "all", "backbone", "transfertypes", "nonnull", "model" })
+    private String plugins;
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private ParserConfig config;
+
+    @Benchmark
+    public OpenAPI parse() {
+        return new Parser(config).execute();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var classes = SyntheticProject.ofSize(size)
+                .compile(Files.createTempDirectory("hilla-parser-benchmark"));
+
+        config = createConfig(classes).finish();
+    }
+
+    private ParserConfig.Builder createConfig(Path classes) {
+        if ("all".equals(plugins)) {
+            return SyntheticProject.createConfig(classes);
+        }
+
+        var builder = new ParserConfig.Builder()
+                .classPath(Set.of(classes.toString()))
+                .endpointAnnotation(SyntheticProject.ENDPOINT_ANNOTATION)
+                .addPlugin(new BackbonePlugin());
+
+        switch (plugins) {
+        case "transfertypes":
+            return builder.addPlugin(new TransferTypesPlugin());
+        case "nonnull":
+            return builder.addPlugin(new NonnullPlugin());
+        case "model":
+            return builder.addPlugin(new ModelPlugin());
+        default:
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dev.hilla.parser.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.hilla.parser.core.Parser;
+import dev.hilla.parser.core.ParserReport;
+
+public class ParserScalingTests {
+    // Linear growth is 1 and quadratic growth is 2. The budget leaves room for
+    // noise and for the JIT warming up on the smaller sizes.
+    private static final double EXPONENT_BUDGET = 1.5;
+    private static final int LARGE_SIZE = 100;
+    private static final int SMALL_SIZE = 25;
+
+    @DisplayName("It should parse every endpoint of a synthetic project")
+    @Test
+    public void should_ParseSyntheticProject(@TempDir Path workDir) {
+        var project = SyntheticProject.ofSize(10);
+        var parser = new Parser(SyntheticProject
+                .createConfig(project.compile(workDir)).report(true).finish());
+        var openAPI = parser.execute();
+        var counts = parser.getStorage().getReport().getCounts();
+
+        assertEquals(10, counts.get("endpoints"));
+        // Every endpoint has 5 methods
+        assertEquals(50, openAPI.getPaths().size());
+        assertTrue(openAPI.getComponents().getSchemas().keySet()
+                .containsAll(List.of(SyntheticProject.PACKAGE + ".Entity9",
+                        SyntheticProject.PACKAGE + ".Generic4")));
+    }
+
+    // Counts the work instead of timing it, so that it can run in the regular
+    // build. The allocations of the phases after the class path scan grow
+    // with the work the parser does, and do not depend on the load of the
+    // machine.
+    @DisplayName("It should do work linear to the project size")
+    @Test
+    public void should_DoLinearWork_When_ProjectGrows(@TempDir Path workDir) {
+        // Warms up the class loading and the static initialization
+        parse(workDir, 1);
+
+        var small = parse(workDir, SMALL_SIZE);
+        var large = parse(workDir, LARGE_SIZE);
+
+        for (var count : List.of("classes", "models", "schemas")) {
+            var exponent = getExponent(small.getCounts().get(count),
+                    large.getCounts().get(count));
+
+            assertTrue(exponent < EXPONENT_BUDGET, String
+                    .format("The %s grow with exponent %.2f", count, exponent));
+        }
+
+        for (var phase : small.getPhases().keySet()) {
+            assertEquals(small.getPhases().get(phase).getRuns(),
+                    large.getPhases().get(phase).getRuns(),
+                    "The " + phase + " phase runs depend on the size");
+        }
+
+        var smallBytes = getAllocatedBytes(small);
+        var largeBytes = getAllocatedBytes(large);
+        assumeTrue(smallBytes > 0 && largeBytes > 0,
+                "The JVM does not measure allocations");
+
+        var exponent = getExponent(smallBytes, largeBytes);
+
+        assertTrue(exponent < EXPONENT_BUDGET,
+                String.format(
+                        "Allocations grow with exponent %.2f (budget %.2f): "
+                                + "%d bytes for %d, %d bytes for %d",
+                        exponent, EXPONENT_BUDGET, smallBytes, SMALL_SIZE,
+                        largeBytes, LARGE_SIZE));
+    }
+
+    // Measures wall-clock time, which is too noisy for the regular build
+    @DisplayName("It should parse in time linear to the project size")
+    @Tag("benchmark")
+    @Test
+    public void should_ScaleLinearly_When_ProjectGrows(@TempDir Path workDir) {
+        var report = new ScalingReport(workDir, 3);
+        // Warms up the JIT so that the smallest size is not penalized
+        report.measure(100);
+
+        var points = report.measure(250, 1000);
+        var exponent = report.getExponent(points);
+
+        assertTrue(exponent < EXPONENT_BUDGET,
+                String.format(
+                        "Parse time grows with exponent %.2f (budget %.2f): %s",
+                        exponent, EXPONENT_BUDGET, points));
+    }
+
+    private static long getAllocatedBytes(ParserReport report) {
+        var phases = report.getPhases();
+
+        return phases.get("collect").getAllocatedBytes()
+                + phases.get("process").getAllocatedBytes();
+    }
+
+    private static double getExponent(long small, long large) {
+        return Math.log((double) large / small)
+                / Math.log((double) LARGE_SIZE / SMALL_SIZE);
+    }
+
+    private static ParserReport parse(Path workDir, int size) {
+        var classes = SyntheticProject.ofSize(size)
+                .compile(workDir.resolve("size-" + size));
+        var parser = new Parser(
+                SyntheticProject.createConfig(classes).report(true).finish());
+        parser.execute();
+
+        return parser.getStorage().getReport();
+    }
+}
@@ -1,11 +1,21 @@
 package dev.hilla.parser.core;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntSupplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import dev.hilla.parser.models.ClassInfoModel;
 import dev.hilla.parser.models.FieldInfoModel;
@@ -15,14 +25,23 @@ import dev.hilla.parser.models.SignatureModel;
 
 import io.swagger.v3.oas.models.media.Schema;
 
+/**
+ * Associates the generated schemas with the models they are generated from.
+ * <p>
+ * Signatures, which are associated with every generated schema and iterated by
+ * the post-processing plugins, are kept in a columnar store: every schema gets
+ * a dense id that indexes the arrays of schemas, signatures and signature
+ * infos, and the ids are grouped by the {@link OwnerKind kind of the signature
+ * owner}. Use {@link #forEachSignature(SignatureConsumer)} to iterate them in
+ * bulk; the map getters are read-only views of the same store.
+ */
 public final class AssociationMap {
     private final Map<Schema<?>, ClassInfoModel> entities = new IdentityHashMap<>();
     private final Map<Schema<?>, FieldInfoModel> fields = new IdentityHashMap<>();
     private final Map<Schema<?>, MethodInfoModel> methods = new IdentityHashMap<>();
     private final Map<Schema<?>, MethodParameterInfoModel> parameters = new IdentityHashMap<>();
     private final Reversed reversed = new Reversed();
-    private final Map<Schema<?>, SignatureInfo> signatureInfo = new IdentityHashMap<>();
-    private final Map<Schema<?>, SignatureModel> signatures = new IdentityHashMap<>();
+    private final Signatures signatures = new Signatures();
 
     AssociationMap() {
     }
@@ -62,16 +81,44 @@ public final class AssociationMap {
 
     public void addSignature(@Nonnull Schema<?> schema,
             @Nonnull SignatureModel signature, SignatureInfo info) {
-        signatures.put(Objects.requireNonNull(schema),
-                Objects.requireNonNull(signature));
-        reversed.signatures.put(signature, schema);
+        signatures.add(Objects.requireNonNull(schema),
+                Objects.requireNonNull(signature), info);
+    }
+
+    /**
+     * Iterates all signatures in the order they were added.
+     *
+     * @param consumer
+     *            the consumer of the schema, signature and signature info
+     */
+    public void forEachSignature(@Nonnull SignatureConsumer consumer) {
+        for (var id = 0; id < signatures.size; id++) {
+            signatures.accept(id, consumer);
+        }
+    }
 
-        if (info != null) {
-            signatureInfo.put(schema, info);
-            reversed.signatureInfo.put(signature, info);
+    /**
+     * Iterates the signatures of owners of the given kind in the order they
+     * were added.
+     *
+     * @param kind
+     *            the kind of the signature owner
+     * @param consumer
+     *            the consumer of the schema, signature and signature info
+     */
+    public void forEachSignature(@Nonnull OwnerKind kind,
+            @Nonnull SignatureConsumer consumer) {
+        var ids = signatures.byOwnerKind.get(Objects.requireNonNull(kind));
+
+        for (var i = 0; i < ids.size; i++) {
+            signatures.accept(ids.values[i], consumer);
         }
     }
 
+    public int getSignatureCount() {
+        return signatures.size;
+    }
+
     public Map<Schema<?>, ClassInfoModel> getEntities() {
         return Collections.unmodifiableMap(entities);
     }
@@ -89,24 +136,52 @@ public final class AssociationMap {
     }
 
     public Map<Schema<?>, SignatureInfo> getSignatureInfo() {
-        return Collections.unmodifiableMap(signatureInfo);
+        return new SignatureView<>(signatures.idsBySchema, signatures.schemas,
+                signatures.infos, () -> signatures.infoCount);
     }
 
     public Map<Schema<?>, SignatureModel> getSignatures() {
-        return Collections.unmodifiableMap(signatures);
+        return new SignatureView<>(signatures.idsBySchema, signatures.schemas,
+                signatures.signatures, signatures.idsBySchema::size);
     }
 
     public Reversed reversed() {
         return reversed;
     }
 
-    public static class Reversed {
+    /**
+     * The kind of the model a signature belongs to.
+     */
+    public enum OwnerKind {
+        FIELD, METHOD, PARAMETER, OTHER;
+
+        static OwnerKind of(SignatureInfo info) {
+            var base = info != null ? info.getBase() : null;
+
+            if (base instanceof FieldInfoModel) {
+                return FIELD;
+            } else if (base instanceof MethodInfoModel) {
+                return METHOD;
+            } else if (base instanceof MethodParameterInfoModel) {
+                return PARAMETER;
+            }
+
+            return OTHER;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SignatureConsumer {
+        void accept(@Nonnull Schema<?> schema,
+                @Nonnull SignatureModel signature,
+                @Nullable SignatureInfo info);
+    }
+
+    public final class Reversed {
         private final Map<ClassInfoModel, Schema<?>> entities = new IdentityHashMap<>();
         private final Map<FieldInfoModel, Schema<?>> fields = new IdentityHashMap<>();
         private final Map<MethodInfoModel, Schema<?>> methods = new IdentityHashMap<>();
         private final Map<MethodParameterInfoModel, Schema<?>> parameters = new IdentityHashMap<>();
-        private final Map<SignatureModel, SignatureInfo> signatureInfo = new IdentityHashMap<>();
-        private final Map<SignatureModel, Schema<?>> signatures = new IdentityHashMap<>();
 
         private Reversed() {
         }
@@ -128,12 +203,204 @@ public final class AssociationMap {
         }
 
         public Map<SignatureModel, SignatureInfo> getSignatureInfo() {
-            return Collections.unmodifiableMap(signatureInfo);
+            return new SignatureView<>(signatures.idsBySignature,
+                    signatures.signatures, signatures.infos,
+                    () -> signatures.signatureInfoCount);
         }
 
         public Map<SignatureModel, Schema<?>> getSignatures() {
-            return Collections.unmodifiableMap(signatures);
+            return new SignatureView<>(signatures.idsBySignature,
+                    signatures.signatures, signatures.schemas,
+                    signatures.idsBySignature::size);
+        }
+    }
+
+    /**
+     * A growable array of ids in ascending order.
+     */
+    private static final class Ids {
+        private int size;
+        private int[] values = new int[16];
+
+        void add(int id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            var index = Arrays.binarySearch(values, 0, size, id);
+
+            if (index >= 0) {
+                return;
+            }
+
+            index = -index - 1;
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            var index = Arrays.binarySearch(values, 0, size, id);
+
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index,
+                        size - index - 1);
+                size--;
+            }
         }
     }
 
+    /**
+     * A read-only map view of the signature store. Entries with a null value
+     * are skipped, and a key maps to the entry it was added with last. The size
+     * is kept by the store.
+     */
+    private static final class SignatureView<K, V> extends AbstractMap<K, V> {
+        private final Map<K, Integer> ids;
+        private final List<K> keys;
+        private final IntSupplier size;
+        private final List<V> values;
+
+        SignatureView(Map<K, Integer> ids, List<K> keys, List<V> values,
+                IntSupplier size) {
+            this.ids = ids;
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return ids.values().stream()
+                            .filter(id -> values.get(id) != null)
+                            .map(id -> (Entry<K, V>) new SimpleImmutableEntry<>(
+                                    keys.get(id), values.get(id)))
+                            .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return size.getAsInt();
+                }
+            };
+        }
+
+        @Override
+        public V get(Object key) {
+            var id = ids.get(key);
+
+            return id != null ? values.get(id) : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size.getAsInt() == 0;
+        }
+
+        @Override
+        public int size() {
+            return size.getAsInt();
+        }
+    }
+
+    /**
+     * The store of the signatures. A signature maps only to the id of the
+     * schema it is associated with last, and is removed from the index when
+     * that schema is associated with another signature.
+     */
+    private static final class Signatures {
+        private final Map<OwnerKind, Ids> byOwnerKind = new EnumMap<>(
+                OwnerKind.class);
+        private final Map<Schema<?>, Integer> idsBySchema = new IdentityHashMap<>();
+        private final Map<SignatureModel, Integer> idsBySignature = new IdentityHashMap<>();
+        private final List<SignatureInfo> infos = new ArrayList<>();
+        private final List<Schema<?>> schemas = new ArrayList<>();
+        private final List<SignatureModel> signatures = new ArrayList<>();
+        private int infoCount;
+        private int signatureInfoCount;
+        private int size;
+
+        Signatures() {
+            for (var kind : OwnerKind.values()) {
+                byOwnerKind.put(kind, new Ids());
+            }
+        }
+
+        void accept(int id, SignatureConsumer consumer) {
+            consumer.accept(schemas.get(id), signatures.get(id), infos.get(id));
+        }
+
+        void add(Schema<?> schema, SignatureModel signature,
+                SignatureInfo info) {
+            var id = idsBySchema.get(schema);
+
+            if (id != null) {
+                // The schema is associated again: replace the entry, but keep
+                // its former info if there is no new one
+                unlink(signatures.get(id), id);
+                signatures.set(id, signature);
+
+                if (info != null) {
+                    var previous = infos.set(id, info);
+
+                    if (previous == null) {
+                        infoCount++;
+                    }
+
+                    var previousKind = OwnerKind.of(previous);
+                    var kind = OwnerKind.of(info);
+
+                    if (previousKind != kind) {
+                        byOwnerKind.get(previousKind).remove(id);
+                        byOwnerKind.get(kind).add(id);
+                    }
+                }
+            } else {
+                id = size++;
+                idsBySchema.put(schema, id);
+                schemas.add(schema);
+                signatures.add(signature);
+                infos.add(info);
+                byOwnerKind.get(OwnerKind.of(info)).add(id);
+
+                if (info != null) {
+                    infoCount++;
+                }
+            }
+
+            link(signature, id);
+        }
+
+        private void link(SignatureModel signature, int id) {
+            var previous = idsBySignature.put(signature, id);
+
+            if (previous != null && infos.get(previous) != null) {
+                signatureInfoCount--;
+            }
+
+            if (infos.get(id) != null) {
+                signatureInfoCount++;
+            }
+        }
+
+        private void unlink(SignatureModel signature, int id) {
+            var current = idsBySignature.get(signature);
+
+            if (current != null && current == id) {
+                idsBySignature.remove(signature);
+
+                if (infos.get(id) != null) {
+                    signatureInfoCount--;
+                }
+            }
+        }
+    }
 }
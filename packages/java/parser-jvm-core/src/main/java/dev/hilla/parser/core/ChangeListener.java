@@ -1,28 +1,38 @@
 package dev.hilla.parser.core;
 
-import java.util.Arrays;
-import java.util.Objects;
-import java.util.function.Supplier;
+import java.util.function.Consumer;
 
-class ChangeListener<T> {
-    private final Supplier<T> current;
-    private Runnable[] actions;
-    private T former;
+/**
+ * Runs an action when the class mappers change, passing the classes the change
+ * affects.
+ */
+class ChangeListener {
+    private final ClassMappers classMappers;
+    private Consumer<ClassMappers.Change> action;
+    private int version;
 
-    public ChangeListener(Supplier<T> current) {
-        this.current = current;
+    public ChangeListener(ClassMappers classMappers) {
+        this.classMappers = classMappers;
     }
 
-    public void onChange(Runnable... actions) {
-        this.actions = actions;
+    /**
+     * Sets the action and starts listening from the current version of the
+     * class mappers.
+     *
+     * @param action
+     *            the action to run on changes
+     */
+    public void onChange(Consumer<ClassMappers.Change> action) {
+        this.action = action;
+        version = classMappers.getVersion();
     }
 
     public void poll() {
-        var current = this.current.get();
+        var change = classMappers.getChangesSince(version);
 
-        if (!Objects.equals(current, former)) {
-            former = current;
-            Arrays.stream(actions).forEach(Runnable::run);
+        if (change.isPresent()) {
+            version = classMappers.getVersion();
+            action.accept(change.get());
         }
     }
 }
@@ -1,20 +1,137 @@
 package dev.hilla.parser.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
 
 import dev.hilla.parser.models.ClassInfoModel;
 import dev.hilla.parser.models.ClassRefSignatureModel;
 
-public class ClassMappers extends HashSet<ClassMappers.Mapper> {
-    public ClassInfoModel map(ClassInfoModel model) {
-        var result = model;
+/**
+ * The registry of class mappers.
+ * <p>
+ * Every modification is recorded as a {@link Change}, so the parser can tell
+ * what has changed since a given {@link #getVersion() version} without
+ * comparing the mappers. A mapper added with {@link #add(Mapper, String...)}
+ * declares the classes it replaces, which lets the parser skip collecting the
+ * scan elements again when none of them is used. Any other modification affects
+ * every class.
+ * <p>
+ * The mappers are applied in the order they were added. The result of mapping
+ * is memoized per class name, so mappers should only depend on the class they
+ * receive. A targeted mapper is only applied to the classes it declares. The
+ * memoized results are invalidated by the changes that affect them.
+ */
+public class ClassMappers extends LinkedHashSet<ClassMappers.Mapper> {
+    private final List<Change> changes = new ArrayList<>();
+    private final Map<String, Resolution> resolutions = new HashMap<>();
+    private final Map<Mapper, Set<String>> targets = new HashMap<>();
+    private List<Step> pipeline;
 
-        for (var mapper : this) {
-            result = mapper.apply(result);
+    @Override
+    public boolean add(Mapper mapper) {
+        return add(mapper, Change.ALL);
+    }
+
+    /**
+     * Adds a mapper that only replaces the classes with the given names and
+     * returns any other class unchanged.
+     *
+     * @param mapper
+     *            the mapper
+     * @param classNames
+     *            the names of the classes the mapper replaces
+     * @return true if the mapper was not registered yet
+     */
+    public boolean add(@Nonnull Mapper mapper, @Nonnull String... classNames) {
+        return add(mapper, new Change(Set.copyOf(Arrays.asList(classNames))));
+    }
+
+    @Override
+    public void clear() {
+        if (!isEmpty()) {
+            super.clear();
+            targets.clear();
+            record(Change.ALL);
         }
+    }
+
+    /**
+     * Gets the changes made after the given version, merged into one.
+     *
+     * @param version
+     *            a version returned by {@link #getVersion()}
+     * @return the merged changes, or an empty optional if nothing has changed
+     */
+    public Optional<Change> getChangesSince(int version) {
+        return changes.subList(version, changes.size()).stream()
+                .reduce(Change::merge);
+    }
+
+    /**
+     * Gets the version of the registry, which is incremented on every
+     * modification.
+     *
+     * @return the version
+     */
+    public int getVersion() {
+        return changes.size();
+    }
+
+    @Override
+    public Iterator<Mapper> iterator() {
+        var iterator = super.iterator();
+
+        return new Iterator<>() {
+            private Mapper current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Mapper next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                record(getChange(current));
+                targets.remove(current);
+            }
+        };
+    }
+
+    public ClassInfoModel map(ClassInfoModel model) {
+        return resolve(model).apply(model);
+    }
+
+    /**
+     * Maps the class and records the names of every class passed to the
+     * mappers, including the intermediate results.
+     */
+    ClassInfoModel map(ClassInfoModel model, Set<String> names) {
+        var resolution = resolve(model);
+        names.addAll(resolution.names);
 
-        return result;
+        return resolution.apply(model);
     }
 
     // TODO: remove this mapping because it breaks ClassRefSignatureModel
@@ -25,7 +142,184 @@ public class ClassMappers extends HashSet<ClassMappers.Mapper> {
         return model;
     }
 
+    @Override
+    public boolean remove(Object mapper) {
+        var change = getChange(mapper);
+
+        if (super.remove(mapper)) {
+            targets.remove(mapper);
+            record(change);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> mappers) {
+        return removeIf(mappers::contains);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Mapper> filter) {
+        var removed = false;
+
+        for (var iterator = iterator(); iterator.hasNext();) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> mappers) {
+        return removeIf(mapper -> !mappers.contains(mapper));
+    }
+
+    private boolean add(Mapper mapper, Change change) {
+        if (super.add(Objects.requireNonNull(mapper))) {
+            if (change.classNames != null) {
+                targets.put(mapper, change.classNames);
+            }
+
+            record(change);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void record(Change change) {
+        changes.add(change);
+        pipeline = null;
+
+        if (change.classNames == null) {
+            resolutions.clear();
+        } else {
+            resolutions.values().removeIf(resolution -> resolution.names
+                    .stream().anyMatch(change.classNames::contains));
+        }
+    }
+
+    private Resolution resolve(ClassInfoModel model) {
+        var resolution = resolutions.get(model.getName());
+
+        if (resolution != null) {
+            return resolution;
+        }
+
+        if (pipeline == null) {
+            pipeline = new ArrayList<>(size());
+
+            for (var mapper : this) {
+                pipeline.add(new Step(mapper, targets.get(mapper)));
+            }
+        }
+
+        var names = new HashSet<String>();
+        var result = model;
+        names.add(result.getName());
+
+        for (var step : pipeline) {
+            if (step.targets == null
+                    || step.targets.contains(result.getName())) {
+                result = step.mapper.apply(result);
+                names.add(result.getName());
+            }
+        }
+
+        resolution = new Resolution(result == model ? null : result, names);
+        resolutions.put(model.getName(), resolution);
+
+        return resolution;
+    }
+
+    private Change getChange(Object mapper) {
+        var classNames = targets.get(mapper);
+
+        return classNames != null ? new Change(classNames) : Change.ALL;
+    }
+
     @FunctionalInterface
     public interface Mapper extends Function<ClassInfoModel, ClassInfoModel> {
     }
+
+    private static final class Resolution {
+        private final Set<String> names;
+        private final ClassInfoModel replacement;
+
+        Resolution(ClassInfoModel replacement, Set<String> names) {
+            this.replacement = replacement;
+            this.names = names;
+        }
+
+        ClassInfoModel apply(ClassInfoModel model) {
+            return replacement != null ? replacement : model;
+        }
+    }
+
+    private static final class Step {
+        private final Mapper mapper;
+        private final Set<String> targets;
+
+        Step(Mapper mapper, Set<String> targets) {
+            this.mapper = mapper;
+            this.targets = targets;
+        }
+    }
+
+    /**
+     * A modification of the registry and the classes it affects.
+     */
+    public static final class Change {
+        static final Change ALL = new Change(null);
+
+        private final Set<String> classNames;
+
+        private Change(Set<String> classNames) {
+            this.classNames = classNames;
+        }
+
+        /**
+         * Checks if the change may affect the mapping of the class.
+         *
+         * @param className
+         *            the name of the class
+         * @return true if the class may be mapped differently
+         */
+        public boolean affects(@Nonnull String className) {
+            return classNames == null || classNames.contains(className);
+        }
+
+        /**
+         * Gets the names of the affected classes.
+         *
+         * @return the names, or an empty optional if every class may be
+         *         affected
+         */
+        public Optional<Set<String>> getClassNames() {
+            return Optional.ofNullable(classNames)
+                    .map(Collections::unmodifiableSet);
+        }
+
+        Change merge(Change other) {
+            if (classNames == null || other.classNames == null) {
+                return ALL;
+            }
+
+            var merged = new HashSet<>(classNames);
+            merged.addAll(other.classNames);
+
+            return new Change(merged);
+        }
+
+        @Override
+        public String toString() {
+            return classNames == null ? "Change[all]"
+                    : "Change" + Arrays.toString(classNames.toArray());
+        }
+    }
 }
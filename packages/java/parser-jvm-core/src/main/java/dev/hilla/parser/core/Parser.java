@@ -3,6 +3,7 @@ package dev.hilla.parser.core;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -12,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import dev.hilla.parser.models.ClassInfoModel;
 import dev.hilla.parser.models.MethodInfoModel;
+import dev.hilla.parser.models.ModelCache;
 
 import io.github.classgraph.ClassGraph;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -21,6 +23,7 @@ public final class Parser {
 
     private final ParserConfig config;
     private final SharedStorage storage;
+    private Set<String> classNames = Set.of();
 
     public Parser(@Nonnull ParserConfig config) {
         this.config = Objects.requireNonNull(config);
@@ -41,25 +44,76 @@ public final class Parser {
 
     public OpenAPI execute() {
         logger.debug("Executing JVM Parser");
+
+        // The fingerprint includes the base OpenAPI, so it has to be taken
+        // before the plugins change it
+        var report = storage.getReport();
+        var cache = report.measure("cache:fingerprint",
+                () -> ParserCache.of(config));
+        var cached = report.measure("cache:load",
+                () -> cache.flatMap(ParserCache::load));
+
+        if (cached.isPresent()) {
+            logger.debug(
+                    "Parser inputs have not changed, using the cached result");
+            classNames = cached.get().getClassNames();
+            return cached.get().getOpenAPI();
+        }
+
+        try (var models = storage.getModelCache().activate()) {
+            var openAPI = execute(storage.getModelCache());
+            classNames = storage.getModelCache().getClassNames();
+            report.measure("cache:store",
+                    () -> cache.ifPresent(c -> c.store(openAPI, classNames)));
+            return openAPI;
+        } finally {
+            storage.getModelCache().clear();
+        }
+    }
+
+    /**
+     * Gets the names of the classes read by the last execution. A change in any
+     * other class of the class path can only affect the result if it makes the
+     * class an endpoint.
+     *
+     * @return the class names, which are restored from the cache if the result
+     *         was loaded from it
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    @Nonnull
+    public SharedStorage getStorage() {
+        return storage;
+    }
+
+    private OpenAPI execute(ModelCache modelCache) {
+        var report = storage.getReport();
         var pluginManager = new PluginManager(config, storage);
-        pluginManager.preprocess();
+        report.measure("preprocess", pluginManager::preprocess);
         var replaceMap = storage.getClassMappers();
 
         var classPathElements = config.getClassPathElements();
         logger.debug("Scanning JVM classpath: "
                 + String.join(";", classPathElements));
 
-        try (var result = new ClassGraph().enableAllInfo()
-                .enableSystemJarsAndModules()
-                .overrideClasspath(classPathElements).scan()) {
+        try (var result = report.measure("scan",
+                () -> new ClassGraph().enableAllInfo()
+                        .enableSystemJarsAndModules()
+                        .overrideClasspath(classPathElements).scan())) {
             var endpointAnnotationName = config.getEndpointAnnotationName();
 
             logger.debug(
                     "Collecting project endpoints with the endpoint annotation: "
                             + endpointAnnotationName);
 
-            var collector = new ScanElementsCollector(result,
-                    endpointAnnotationName, replaceMap).collect();
+            var collector = report
+                    .measure("collect",
+                            () -> new ScanElementsCollector(result,
+                                    endpointAnnotationName, replaceMap)
+                                            .collect());
 
             var endpoints = new LinkedHashSet<>(collector.getEndpoints());
 
@@ -79,15 +133,23 @@ public final class Parser {
                     collector.getEndpoints());
 
             logger.debug("Executing parser plugins");
-            pluginManager.process(collector);
-
-            logger.debug("Parsing process successfully finished");
-            return storage.getOpenAPI();
+            report.measure("process", () -> pluginManager.process(collector));
+
+            var openAPI = storage.getOpenAPI();
+            var schemas = openAPI.getComponents() != null
+                    && openAPI.getComponents().getSchemas() != null
+                            ? openAPI.getComponents().getSchemas().size()
+                            : 0;
+
+            report.count("classes", result.getAllClasses().size());
+            report.count("endpoints", collector.getEndpoints().size());
+            report.count("entities", collector.getEntities().size());
+            report.count("models", modelCache.size());
+            report.count("schemas", schemas);
+
+            logger.debug("Parsing process successfully finished, "
+                    + modelCache.size() + " models created");
+            return openAPI;
         }
     }
-
-    @Nonnull
-    public SharedStorage getStorage() {
-        return storage;
-    }
 }
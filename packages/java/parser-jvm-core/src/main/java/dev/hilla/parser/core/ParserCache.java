@@ -0,0 +1,247 @@
+package dev.hilla.parser.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.hilla.parser.utils.Fingerprints;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * An on-disk cache of parser results.
+ * <p>
+ * Entries are addressed by a fingerprint of everything the parser reads: the
+ * path, size and modification time of every class path element (every file for
+ * directories), the JDK, the endpoint annotation, the base OpenAPI and the
+ * plugins with their configuration. The code of the parser and of the plugins
+ * is described the same way, as it is usually not on the parsed class path.
+ * When none of them has changed since the previous run, the OpenAPI and the
+ * names of the classes read are taken from the cache and the class path is not
+ * scanned at all.
+ * <p>
+ * Only the latest entry is kept.
+ */
+final class ParserCache {
+    private static final String CLASS_NAMES = "classNames";
+    private static final String EXTENSION = ".json";
+    private static final String OPEN_API = "openAPI";
+    private static final Logger logger = LoggerFactory
+            .getLogger(ParserCache.class);
+
+    private final Path directory;
+    private final String key;
+    private final ObjectMapper mapper = Json.mapper();
+
+    private ParserCache(Path directory, String key) {
+        this.directory = directory;
+        this.key = key;
+    }
+
+    /**
+     * Creates the cache for the given configuration.
+     *
+     * @param config
+     *            the parser configuration
+     * @return the cache, or an empty optional if caching is not enabled or the
+     *         configuration cannot be fingerprinted
+     */
+    static Optional<ParserCache> of(@Nonnull ParserConfig config) {
+        var directory = config.getCacheDirectory();
+
+        if (directory == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new ParserCache(directory, fingerprint(config)));
+        } catch (JsonProcessingException e) {
+            logger.debug("Parser cache is disabled: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String fingerprint(ParserConfig config)
+            throws JsonProcessingException {
+        var mapper = Json.mapper();
+        var builder = new StringBuilder();
+
+        builder.append("jdk:").append(System.getProperty("java.home"))
+                .append(':').append(System.getProperty("java.version"))
+                .append('\n');
+        builder.append("annotation:").append(config.getEndpointAnnotationName())
+                .append('\n');
+        builder.append("openapi:")
+                .append(mapper.writeValueAsString(config.getOpenAPI()))
+                .append('\n');
+
+        var codeSources = new TreeSet<String>();
+        codeSources.add(getCodeSource(Parser.class));
+
+        for (var plugin : config.getPlugins()) {
+            builder.append("plugin:").append(plugin.getClass().getName())
+                    .append(':').append(plugin.getOrder()).append(':')
+                    .append(mapper.writeValueAsString(plugin.getConfig()))
+                    .append('\n');
+            codeSources.add(getCodeSource(plugin.getClass()));
+        }
+
+        for (var codeSource : codeSources) {
+            appendFiles(builder, "code:", Path.of(codeSource));
+        }
+
+        config.getClassPathElements().stream().sorted()
+                .forEach(element -> appendFiles(builder, "classpath:",
+                        Path.of(element)));
+
+        return Fingerprints.sha256Hex(builder.toString());
+    }
+
+    private static String getCodeSource(Class<?> type) {
+        var codeSource = type.getProtectionDomain().getCodeSource();
+
+        try {
+            if (codeSource != null && codeSource.getLocation() != null) {
+                return Path.of(codeSource.getLocation().toURI()).toString();
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            logger.debug("Cannot locate the code of " + type.getName(), e);
+        }
+
+        // An unknown location cannot be checked for changes, so the version
+        // stands in for it
+        var version = type.getPackage().getImplementationVersion();
+        return type.getName() + "@" + version;
+    }
+
+    private static void appendFiles(StringBuilder builder, String label,
+            Path element) {
+        builder.append(label).append(element);
+
+        if (Files.isDirectory(element)) {
+            try (var files = Files.walk(element)) {
+                builder.append(files.filter(Files::isRegularFile).sorted()
+                        .map(file -> element.relativize(file) + "="
+                                + Fingerprints.describe(file))
+                        .collect(Collectors.joining(",", "[", "]")));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (Files.exists(element)) {
+            builder.append('=').append(Fingerprints.describe(element));
+        }
+
+        builder.append('\n');
+    }
+
+    /**
+     * Reads the cached entry for the current fingerprint.
+     *
+     * @return the cached entry, or an empty optional if there is none
+     */
+    Optional<Entry> load() {
+        var file = getFile();
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            var node = mapper.readTree(file.toFile());
+
+            if (!node.has(OPEN_API) || !node.has(CLASS_NAMES)) {
+                return Optional.empty();
+            }
+
+            var openAPI = mapper.treeToValue(node.get(OPEN_API), OpenAPI.class);
+            var classNames = new HashSet<String>();
+            node.get(CLASS_NAMES)
+                    .forEach(className -> classNames.add(className.asText()));
+
+            return Optional.of(new Entry(openAPI, classNames));
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable parser cache entry " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the OpenAPI and the names of the classes read for the current
+     * fingerprint, replacing any previous entries.
+     *
+     * @param openAPI
+     *            the parser result
+     * @param classNames
+     *            the names of the classes read by the parser
+     */
+    void store(@Nonnull OpenAPI openAPI, @Nonnull Set<String> classNames) {
+        Objects.requireNonNull(openAPI);
+        Objects.requireNonNull(classNames);
+
+        try {
+            Files.createDirectories(directory);
+            var file = getFile();
+            var tmp = Files.createTempFile(directory, key, ".tmp");
+            var node = mapper.createObjectNode();
+            node.set(OPEN_API, mapper.valueToTree(openAPI));
+            var names = node.putArray(CLASS_NAMES);
+            classNames.stream().sorted().forEach(names::add);
+            mapper.writeValue(tmp.toFile(), node);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            try (Stream<Path> entries = Files.list(directory)) {
+                entries.filter(entry -> !entry.equals(file)
+                        && entry.getFileName().toString().endsWith(EXTENSION))
+                        .forEach(entry -> entry.toFile().delete());
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to store the parser result in the cache", e);
+        }
+    }
+
+    private Path getFile() {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    /**
+     * A cached parser result.
+     */
+    static final class Entry {
+        private final Set<String> classNames;
+        private final OpenAPI openAPI;
+
+        Entry(OpenAPI openAPI, Set<String> classNames) {
+            this.openAPI = openAPI;
+            this.classNames = classNames;
+        }
+
+        Set<String> getClassNames() {
+            return classNames;
+        }
+
+        OpenAPI getOpenAPI() {
+            return openAPI;
+        }
+    }
+}
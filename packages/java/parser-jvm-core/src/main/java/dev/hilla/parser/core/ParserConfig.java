@@ -1,6 +1,7 @@
 package dev.hilla.parser.core;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,6 +15,7 @@ import java.util.TreeSet;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,13 +29,25 @@ import io.swagger.v3.oas.models.OpenAPI;
 public final class ParserConfig extends AbstractParserConfig {
     private final SortedSet<Plugin> plugins = new TreeSet<>(
             Comparator.comparingInt(Plugin::getOrder));
+    private Path cacheDirectory;
     private Set<String> classPathElements;
     private String endpointAnnotationName;
     private OpenAPI openAPI;
+    private boolean reportEnabled;
 
     private ParserConfig() {
     }
 
+    /**
+     * Returns the directory for caching parser results between runs.
+     *
+     * @return the cache directory, or null if caching is disabled
+     */
+    @Nullable
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
     @Nonnull
     @Override
     public Set<String> getClassPathElements() {
@@ -58,6 +72,15 @@ public final class ParserConfig extends AbstractParserConfig {
         return plugins;
     }
 
+    /**
+     * Checks if the parser collects a {@link ParserReport} of its phases.
+     *
+     * @return true if the report is collected
+     */
+    public boolean isReportEnabled() {
+        return reportEnabled;
+    }
+
     public enum OpenAPIFileType {
         JSON(Json.mapper()), YAML(Yaml.mapper());
 
@@ -94,6 +117,24 @@ public final class ParserConfig extends AbstractParserConfig {
             return this;
         }
 
+        /**
+         * Enables caching the parser result on disk. When the class path, the
+         * JDK, the base OpenAPI and the plugins have not changed since the
+         * previous run, the cached result is returned without scanning the
+         * class path or running the plugins, so the shared storage stays empty
+         * in that case.
+         *
+         * @param directory
+         *            the cache directory
+         * @return this builder
+         */
+        @Nonnull
+        public Builder cacheDirectory(@Nonnull Path directory) {
+            Objects.requireNonNull(directory);
+            actions.add(config -> config.cacheDirectory = directory);
+            return this;
+        }
+
         @Nonnull
         public Builder classPath(@Nonnull String[] classPathElements) {
             return classPath(classPathElements, true);
@@ -184,6 +225,20 @@ public final class ParserConfig extends AbstractParserConfig {
             return this;
         }
 
+        /**
+         * Enables collecting the timing and allocation report of the parser
+         * phases, available from {@link SharedStorage#getReport()}.
+         *
+         * @param enabled
+         *            true to collect the report
+         * @return this builder
+         */
+        @Nonnull
+        public Builder report(boolean enabled) {
+            actions.add(config -> config.reportEnabled = enabled);
+            return this;
+        }
+
         private OpenAPI prepareOpenAPI() {
             try {
                 var parser = new OpenAPIParser();
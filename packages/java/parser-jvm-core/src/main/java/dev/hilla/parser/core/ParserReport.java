@@ -0,0 +1,176 @@
+package dev.hilla.parser.core;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Collects the wall time, CPU time and allocated bytes of the parser phases,
+ * and counts of the parsed elements.
+ * <p>
+ * Phases with the same name are accumulated, so a phase that runs several
+ * times, like the re-collection of scan elements after a plugin changes the
+ * class mappers, is reported once with the number of runs. Phases may be
+ * nested: the "process" phase includes the phases of the individual plugins.
+ * When the report is disabled, phases are run without measuring.
+ * <p>
+ * CPU time and allocations are measured for the current thread and are reported
+ * as -1 when the JVM does not support measuring them.
+ */
+public final class ParserReport {
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    ParserReport(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets a count reported next to the phases, such as the number of
+     * endpoints.
+     *
+     * @param name
+     *            the name of the count
+     * @param value
+     *            the value
+     */
+    public void count(@Nonnull String name, long value) {
+        if (enabled) {
+            counts.put(Objects.requireNonNull(name), value);
+        }
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public Map<String, Phase> getPhases() {
+        return phases;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs and measures a phase.
+     *
+     * @param name
+     *            the name of the phase
+     * @param action
+     *            the phase
+     */
+    public void measure(@Nonnull String name, @Nonnull Runnable action) {
+        measure(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs and measures a phase that produces a result.
+     *
+     * @param name
+     *            the name of the phase
+     * @param action
+     *            the phase
+     * @param <T>
+     *            the type of the result
+     * @return the result of the phase
+     */
+    public <T> T measure(@Nonnull String name, @Nonnull Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        var wall = System.nanoTime();
+        var cpu = getCpuTime();
+        var allocated = getAllocatedBytes();
+
+        try {
+            return action.get();
+        } finally {
+            var phase = phases.computeIfAbsent(name, key -> new Phase());
+            phase.runs++;
+            phase.wallTimeNanos += System.nanoTime() - wall;
+            phase.cpuTimeNanos = cpu < 0 ? -1
+                    : phase.cpuTimeNanos + getCpuTime() - cpu;
+            phase.allocatedBytes = allocated < 0 ? -1
+                    : phase.allocatedBytes + getAllocatedBytes() - allocated;
+        }
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param file
+     *            the target file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(@Nonnull Path file) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    private long getAllocatedBytes() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        var sunThreads = (com.sun.management.ThreadMXBean) threads;
+
+        return sunThreads.isThreadAllocatedMemoryEnabled()
+                ? sunThreads
+                        .getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    private long getCpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported()
+                ? threads.getCurrentThreadCpuTime()
+                : -1;
+    }
+
+    public static final class Phase {
+        private long allocatedBytes;
+        private long cpuTimeNanos;
+        private int runs;
+        private long wallTimeNanos;
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+    }
+}
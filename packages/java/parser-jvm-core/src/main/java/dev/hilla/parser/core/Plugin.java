@@ -5,12 +5,26 @@ import java.util.Collection;
 import javax.annotation.Nonnull;
 
 import dev.hilla.parser.models.ClassInfoModel;
+import dev.hilla.parser.models.SignatureModel;
+
+import io.swagger.v3.oas.models.media.Schema;
 
 public interface Plugin {
     int getOrder();
 
     void setOrder(int order);
 
+    /**
+     * Returns the configuration of the plugin. It is used for detecting
+     * configuration changes, so a plugin accepting configuration should return
+     * it here.
+     *
+     * @return the configuration, or null if there is none
+     */
+    default PluginConfiguration getConfig() {
+        return null;
+    }
+
     default void setConfig(PluginConfiguration config) {
         if (config != null) {
             throw new IllegalArgumentException(String.format(
@@ -29,4 +43,19 @@ public interface Plugin {
         void process(@Nonnull Collection<ClassInfoModel> endpoints,
                 @Nonnull Collection<ClassInfoModel> entities);
     }
+
+    /**
+     * A plugin that post-processes the schema of every signature in the
+     * association map.
+     * <p>
+     * Consecutive signature processors are fused: the signatures are visited
+     * once, and every processor is called for a signature before the next one
+     * is visited. A processor should therefore only change the schema it
+     * receives.
+     */
+    interface SignatureProcessor extends Plugin {
+        void process(@Nonnull Schema<?> schema,
+                @Nonnull SignatureModel signature,
+                @Nonnull SignatureContext context);
+    }
 }
@@ -1,7 +1,10 @@
 package dev.hilla.parser.core;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,13 +14,16 @@ public final class PluginManager {
             .getClassLoader();
     private static final Logger logger = LoggerFactory
             .getLogger(PluginManager.class);
-    private final ChangeListener<Integer> listener;
+    private final ChangeListener listener;
     private final SortedSet<Plugin> plugins;
+    private final ParserReport report;
+    private final SharedStorage storage;
 
     PluginManager(ParserConfig config, SharedStorage storage) {
         plugins = config.getPlugins();
-        listener = new ChangeListener<>(
-                () -> storage.getClassMappers().hashCode());
+        report = storage.getReport();
+        this.storage = storage;
+        listener = new ChangeListener(storage.getClassMappers());
 
         for (var plugin : plugins) {
             plugin.setStorage(storage);
@@ -75,24 +81,63 @@ public final class PluginManager {
                 logger.debug("Executing preprocessor plugin "
                         + plugin.getClass().getName());
 
-                ((Plugin.Preprocessor) plugin).preprocess();
+                report.measure("preprocess:" + plugin.getClass().getName(),
+                        ((Plugin.Preprocessor) plugin)::preprocess);
             }
         }
     }
 
     public void process(ScanElementsCollector collector) {
-        listener.onChange(collector::collect);
+        // The collector has already applied the current mappers, so only the
+        // changes made by the processors are handled
+        listener.onChange(change -> report.measure("collect",
+                () -> collector.collect(change)));
+
+        var signatureProcessors = new ArrayList<Plugin.SignatureProcessor>();
 
         for (var plugin : plugins) {
-            if (plugin instanceof Plugin.Processor) {
+            if (plugin instanceof Plugin.SignatureProcessor) {
+                signatureProcessors.add((Plugin.SignatureProcessor) plugin);
+            } else if (plugin instanceof Plugin.Processor) {
+                processSignatures(signatureProcessors);
+
                 logger.debug("Executing processor plugin "
                         + plugin.getClass().getName());
 
-                ((Plugin.Processor) plugin).process(collector.getEndpoints(),
-                        collector.getEntities());
+                report.measure("process:" + plugin.getClass().getName(),
+                        () -> ((Plugin.Processor) plugin).process(
+                                collector.getEndpoints(),
+                                collector.getEntities()));
 
                 listener.poll();
             }
         }
+
+        processSignatures(signatureProcessors);
+    }
+
+    private void processSignatures(List<Plugin.SignatureProcessor> processors) {
+        if (processors.isEmpty()) {
+            return;
+        }
+
+        var name = processors.stream().map(p -> p.getClass().getName())
+                .collect(Collectors.joining(","));
+
+        logger.debug("Executing signature processor plugins " + name);
+
+        var contexts = new SignatureContext.Factory();
+
+        report.measure("process:" + name, () -> storage.getAssociationMap()
+                .forEachSignature((schema, signature, info) -> {
+                    var context = contexts.create(signature, info);
+
+                    for (var processor : processors) {
+                        processor.process(schema, signature, context);
+                    }
+                }));
+
+        processors.clear();
+        listener.poll();
     }
 }
@@ -2,8 +2,10 @@ package dev.hilla.parser.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -16,6 +18,7 @@ import io.github.classgraph.ScanResult;
 
 public final class ScanElementsCollector {
     private final ClassMappers classMappers;
+    private final Set<String> mappedClassNames = new HashSet<>();
     private List<ClassInfoModel> endpoints;
     private List<ClassInfoModel> entities;
 
@@ -37,7 +40,9 @@ public final class ScanElementsCollector {
     }
 
     public ScanElementsCollector collect() {
-        endpoints = endpoints.stream().map(classMappers::map)
+        mappedClassNames.clear();
+
+        endpoints = endpoints.stream().map(this::map)
                 .filter(ClassInfoModel::isNonJDKClass)
                 .collect(Collectors.toList());
 
@@ -45,8 +50,8 @@ public final class ScanElementsCollector {
                 .flatMap(cls -> Streams.combine(cls.getInheritanceChainStream(),
                         cls.getInterfacesStream()))
                 .flatMap(ClassInfoModel::getMethodDependenciesStream)
-                .map(classMappers::map).filter(ClassInfoModel::isNonJDKClass)
-                .distinct().collect(Collectors.toList());
+                .map(this::map).filter(ClassInfoModel::isNonJDKClass).distinct()
+                .collect(Collectors.toList());
 
         // @formatter:off
         //
@@ -96,14 +101,33 @@ public final class ScanElementsCollector {
             Streams.combine(entity.getFieldDependenciesStream(),
                     entity.getSuperClassStream())
                     .filter(ClassInfoModel::isNonJDKClass).distinct()
-                    .map(classMappers::map)
-                    .filter(ClassInfoModel::isNonJDKClass)
+                    .map(this::map).filter(ClassInfoModel::isNonJDKClass)
                     .filter(e -> !entities.contains(e)).forEach(entities::add);
         }
 
         return this;
     }
 
+    /**
+     * Collects the elements again if the change affects any class mapped during
+     * the previous collection.
+     * <p>
+     * Replacing a class can add or orphan dependencies, so the dependency
+     * closure is rebuilt from the endpoints when any of the mapped classes is
+     * affected.
+     *
+     * @param change
+     *            the change of the class mappers
+     * @return this collector
+     */
+    public ScanElementsCollector collect(@Nonnull ClassMappers.Change change) {
+        if (mappedClassNames.stream().anyMatch(change::affects)) {
+            return collect();
+        }
+
+        return this;
+    }
+
     public List<ClassInfoModel> getEndpoints() {
         return endpoints;
     }
@@ -111,4 +135,8 @@ public final class ScanElementsCollector {
     public List<ClassInfoModel> getEntities() {
         return entities;
     }
+
+    private ClassInfoModel map(ClassInfoModel model) {
+        return classMappers.map(model, mappedClassNames);
+    }
 }
@@ -3,16 +3,21 @@ package dev.hilla.parser.core;
 import java.util.HashMap;
 import java.util.Map;
 
+import dev.hilla.parser.models.ModelCache;
+
 import io.swagger.v3.oas.models.OpenAPI;
 
 public final class SharedStorage {
     private final AssociationMap associationMap = new AssociationMap();
     private final ClassMappers classMappers = new ClassMappers();
+    private final ModelCache modelCache = new ModelCache();
     private final ParserConfig parserConfig;
     private final Map<String, Object> pluginStorage = new HashMap<>();
+    private final ParserReport report;
 
     SharedStorage(ParserConfig parserConfig) {
         this.parserConfig = parserConfig;
+        this.report = new ParserReport(parserConfig.isReportEnabled());
     }
 
     public AssociationMap getAssociationMap() {
@@ -23,6 +28,10 @@ public final class SharedStorage {
         return classMappers;
     }
 
+    public ModelCache getModelCache() {
+        return modelCache;
+    }
+
     public OpenAPI getOpenAPI() {
         return parserConfig.getOpenAPI();
     }
@@ -34,4 +43,8 @@ public final class SharedStorage {
     public Map<String, Object> getPluginStorage() {
         return pluginStorage;
     }
+
+    public ParserReport getReport() {
+        return report;
+    }
 }
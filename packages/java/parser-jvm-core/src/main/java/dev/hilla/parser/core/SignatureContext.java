@@ -0,0 +1,131 @@
+package dev.hilla.parser.core;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import dev.hilla.parser.models.AnnotationInfoModel;
+import dev.hilla.parser.models.ClassInfoModel;
+import dev.hilla.parser.models.FieldInfoModel;
+import dev.hilla.parser.models.MethodInfoModel;
+import dev.hilla.parser.models.MethodParameterInfoModel;
+import dev.hilla.parser.models.Model;
+import dev.hilla.parser.models.SignatureModel;
+
+/**
+ * The context of a signature visited by a {@link Plugin.SignatureProcessor}.
+ * <p>
+ * The owner of the signature — the field, method or method parameter it is
+ * declared by — is resolved once per pass and shared by all signatures of the
+ * same owner and all processors of the pass.
+ */
+public final class SignatureContext {
+    private final SignatureInfo info;
+    private final Owner owner;
+    private final SignatureModel signature;
+
+    private SignatureContext(SignatureModel signature, SignatureInfo info,
+            Owner owner) {
+        this.signature = signature;
+        this.info = info;
+        this.owner = owner;
+    }
+
+    @Nullable
+    public SignatureInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * Gets the annotations of the field, method or method parameter declaring
+     * the signature.
+     *
+     * @return the annotations, empty if the signature has no owner
+     */
+    @Nonnull
+    public List<AnnotationInfoModel> getOwnerAnnotations() {
+        return owner.annotations;
+    }
+
+    /**
+     * Gets the annotations of the package of the class declaring the owner of
+     * the signature.
+     *
+     * @return the annotations, empty if the signature has no owner
+     */
+    @Nonnull
+    public List<AnnotationInfoModel> getPackageAnnotations() {
+        return owner.packageAnnotations;
+    }
+
+    /**
+     * Checks if the signature is the declared type of its owner, i.e., it is
+     * not nested in the owner type, like a type argument.
+     *
+     * @return true if the signature is the type of the owner
+     */
+    public boolean isOwnerType() {
+        return owner.type != null && owner.type.equals(signature);
+    }
+
+    private static final class Owner {
+        static final Owner NONE = new Owner(null, List.of(), List.of());
+
+        private final List<AnnotationInfoModel> annotations;
+        private final List<AnnotationInfoModel> packageAnnotations;
+        private final SignatureModel type;
+
+        Owner(SignatureModel type, List<AnnotationInfoModel> annotations,
+                List<AnnotationInfoModel> packageAnnotations) {
+            this.type = type;
+            this.annotations = annotations;
+            this.packageAnnotations = packageAnnotations;
+        }
+    }
+
+    /**
+     * Creates the contexts of one pass, sharing the resolved owners.
+     */
+    static final class Factory {
+        private final Map<Model, Owner> owners = new IdentityHashMap<>();
+        private final Map<ClassInfoModel, List<AnnotationInfoModel>> packages = new IdentityHashMap<>();
+
+        SignatureContext create(SignatureModel signature, SignatureInfo info) {
+            var base = info != null ? info.getBase() : null;
+            var owner = base != null
+                    ? owners.computeIfAbsent(base, this::resolve)
+                    : Owner.NONE;
+
+            return new SignatureContext(signature, info, owner);
+        }
+
+        private List<AnnotationInfoModel> getPackageAnnotations(
+                ClassInfoModel cls) {
+            return packages.computeIfAbsent(cls,
+                    key -> key.getPackage().getAnnotations());
+        }
+
+        private Owner resolve(Model base) {
+            if (base instanceof FieldInfoModel) {
+                var field = (FieldInfoModel) base;
+                return new Owner(field.getType(), field.getAnnotations(),
+                        getPackageAnnotations(field.getOwner()));
+            } else if (base instanceof MethodInfoModel) {
+                var method = (MethodInfoModel) base;
+                return new Owner(method.getResultType(),
+                        method.getAnnotations(),
+                        getPackageAnnotations(method.getOwner()));
+            } else if (base instanceof MethodParameterInfoModel) {
+                var parameter = (MethodParameterInfoModel) base;
+                return new Owner(parameter.getType(),
+                        parameter.getAnnotations(),
+                        getPackageAnnotations(parameter.getOwner().getOwner()));
+            }
+
+            return Owner.NONE;
+        }
+    }
+}
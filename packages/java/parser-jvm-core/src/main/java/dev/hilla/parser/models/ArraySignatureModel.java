@@ -12,7 +12,8 @@ public abstract class ArraySignatureModel extends AnnotatedAbstractModel
     private SignatureModel nestedType;
 
     public static ArraySignatureModel of(@Nonnull ArrayTypeSignature origin) {
-        return new ArraySignatureSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(ArraySignatureModel.class,
+                Objects.requireNonNull(origin), ArraySignatureSourceModel::new);
     }
 
     public static ArraySignatureModel of(@Nonnull AnnotatedArrayType origin) {
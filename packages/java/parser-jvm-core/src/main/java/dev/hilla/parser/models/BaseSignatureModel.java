@@ -10,7 +10,8 @@ import io.github.classgraph.BaseTypeSignature;
 public abstract class BaseSignatureModel extends AnnotatedAbstractModel
         implements SignatureModel {
     public static BaseSignatureModel of(@Nonnull BaseTypeSignature origin) {
-        return new BaseSignatureSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(BaseSignatureModel.class,
+                Objects.requireNonNull(origin), BaseSignatureSourceModel::new);
     }
 
     public static BaseSignatureModel of(@Nonnull AnnotatedType origin) {
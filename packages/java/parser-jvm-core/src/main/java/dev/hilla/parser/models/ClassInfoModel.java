@@ -26,6 +26,7 @@ public abstract class ClassInfoModel extends AnnotatedAbstractModel
             LocalDate.class };
     private static final Class<?>[] DATE_TIME_CLASSES = { LocalDateTime.class,
             Instant.class, LocalTime.class };
+    private Category category;
     private List<ClassInfoModel> chain;
     private List<FieldInfoModel> fields;
     private List<ClassInfoModel> innerClasses;
@@ -146,11 +147,13 @@ public abstract class ClassInfoModel extends AnnotatedAbstractModel
     }
 
     public static ClassInfoModel of(@Nonnull ClassInfo origin) {
-        return new ClassInfoSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(ClassInfoModel.class,
+                Objects.requireNonNull(origin), ClassInfoSourceModel::new);
     }
 
     public static ClassInfoModel of(@Nonnull Class<?> origin) {
-        return new ClassInfoReflectionModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(ClassInfoModel.class,
+                Objects.requireNonNull(origin), ClassInfoReflectionModel::new);
     }
 
     protected static <T> boolean isDateAssignable(T actor,
@@ -180,6 +183,15 @@ public abstract class ClassInfoModel extends AnnotatedAbstractModel
         return getName().equals(other.getName());
     }
 
+    @Override
+    public Category getCategory() {
+        if (category == null) {
+            category = Category.of(this);
+        }
+
+        return category;
+    }
+
     @Override
     public Stream<ClassInfoModel> getDependenciesStream() {
         return Streams
@@ -74,9 +74,11 @@ public abstract class ClassRefSignatureModel extends AnnotatedAbstractModel
 
     public static ClassRefSignatureModel of(
             @Nonnull ClassRefTypeSignature origin) {
-        return Objects.requireNonNull(origin).getSuffixes().size() > 0
-                ? new ClassRefSignatureSourceModel.Suffixed(origin)
-                : new ClassRefSignatureSourceModel.Regular(origin);
+        return ModelCache.intern(ClassRefSignatureModel.class,
+                Objects.requireNonNull(origin),
+                signature -> signature.getSuffixes().size() > 0
+                        ? new ClassRefSignatureSourceModel.Suffixed(signature)
+                        : new ClassRefSignatureSourceModel.Regular(signature));
     }
 
     public static ClassRefSignatureModel of(@Nonnull Class<?> origin) {
@@ -107,6 +109,15 @@ public abstract class ClassRefSignatureModel extends AnnotatedAbstractModel
                 && getAnnotations().equals(other.getAnnotations());
     }
 
+    @Override
+    public Category getCategory() {
+        // The referenced class is the one that is specialized. It keeps its
+        // category, so only the class reference itself is left to resolve.
+        var category = getClassInfo().getCategory();
+
+        return category == Category.ANY ? Category.CLASS_REF : category;
+    }
+
     public ClassInfoModel getClassInfo() {
         if (reference == null) {
             reference = prepareClassInfo();
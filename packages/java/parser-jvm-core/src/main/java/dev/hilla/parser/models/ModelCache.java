@@ -0,0 +1,116 @@
+package dev.hilla.parser.models;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A registry of canonical model instances for a single parser run.
+ * <p>
+ * While the cache is active on the current thread, the {@code of} factory
+ * methods of {@link ClassInfoModel} and of the source signature models return
+ * the same model instance for the same origin object, so the lazily prepared
+ * data of a model (fields, methods, inheritance chain, etc.) is computed only
+ * once. Origins are compared by identity: ClassGraph keeps a single instance
+ * per class and per member signature in a scan result, and {@link Class}
+ * objects are unique per class loader.
+ * <p>
+ * Reflection signature models are not cached, since the JDK creates new
+ * annotated type objects on every call.
+ */
+public final class ModelCache {
+    private static final ThreadLocal<ModelCache> current = new ThreadLocal<>();
+
+    private final Map<Class<?>, Map<Object, Model>> models = new HashMap<>();
+
+    static <O, M extends Model> M intern(@Nonnull Class<M> kind,
+            @Nonnull O origin, @Nonnull Function<O, M> factory) {
+        var cache = current.get();
+
+        if (cache == null) {
+            return factory.apply(origin);
+        }
+
+        var kindModels = cache.models.computeIfAbsent(kind,
+                key -> new IdentityHashMap<>());
+        var model = kind.cast(kindModels.get(origin));
+
+        if (model == null) {
+            model = factory.apply(origin);
+            kindModels.put(origin, model);
+        }
+
+        return model;
+    }
+
+    /**
+     * Makes this cache the active one for the current thread until the returned
+     * scope is closed.
+     *
+     * @return the scope to close when the parser run is over
+     */
+    @Nonnull
+    public Scope activate() {
+        var previous = current.get();
+        current.set(this);
+
+        return new Scope(previous);
+    }
+
+    /**
+     * Returns the names of the classes that have a cached model, i.e., the
+     * classes the parser has read.
+     *
+     * @return the class names
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        var classes = models.get(ClassInfoModel.class);
+
+        if (classes == null) {
+            return Set.of();
+        }
+
+        return classes.values().stream()
+                .map(model -> ((ClassInfoModel) model).getName())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Removes all models from the cache.
+     */
+    public void clear() {
+        models.clear();
+    }
+
+    /**
+     * Returns the number of cached models.
+     *
+     * @return the number of models
+     */
+    public int size() {
+        return models.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final ModelCache previous;
+
+        private Scope(ModelCache previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
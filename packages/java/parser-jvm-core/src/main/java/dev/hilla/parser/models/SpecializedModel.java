@@ -1,6 +1,17 @@
 package dev.hilla.parser.models;
 
 public interface SpecializedModel {
+    /**
+     * Returns the category of the model, which is the first matching check of
+     * the specialization cascade. Models whose checks are expensive compute the
+     * category once and keep it.
+     *
+     * @return the model category
+     */
+    default Category getCategory() {
+        return Category.of(this);
+    }
+
     default boolean hasFloatType() {
         return isFloat() || isDouble();
     }
@@ -116,4 +127,47 @@ public interface SpecializedModel {
     default boolean isVoid() {
         return false;
     }
+
+    /**
+     * A classification of a model that covers all the specializations needed
+     * for choosing a schema, so that the model can be dispatched with a single
+     * switch instead of a chain of checks.
+     */
+    enum Category {
+        STRING, BOOLEAN, INTEGER, NUMBER, ARRAY, ITERABLE, MAP, OPTIONAL, TYPE_ARGUMENT, TYPE_PARAMETER, DATE, DATE_TIME, CLASS_REF, TYPE_VARIABLE, ANY;
+
+        public static Category of(SpecializedModel model) {
+            if (model.isCharacter() || model.isString()) {
+                return STRING;
+            } else if (model.isBoolean()) {
+                return BOOLEAN;
+            } else if (model.hasIntegerType()) {
+                return INTEGER;
+            } else if (model.hasFloatType() || model.isBigDecimal()) {
+                return NUMBER;
+            } else if (model.isArray()) {
+                return ARRAY;
+            } else if (model.isIterable()) {
+                return ITERABLE;
+            } else if (model.isMap()) {
+                return MAP;
+            } else if (model.isOptional()) {
+                return OPTIONAL;
+            } else if (model.isTypeArgument()) {
+                return TYPE_ARGUMENT;
+            } else if (model.isTypeParameter()) {
+                return TYPE_PARAMETER;
+            } else if (model.isDate()) {
+                return DATE;
+            } else if (model.isDateTime()) {
+                return DATE_TIME;
+            } else if (model.isClassRef()) {
+                return CLASS_REF;
+            } else if (model.isTypeVariable()) {
+                return TYPE_VARIABLE;
+            }
+
+            return ANY;
+        }
+    }
 }
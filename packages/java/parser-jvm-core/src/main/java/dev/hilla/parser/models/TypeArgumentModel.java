@@ -13,7 +13,8 @@ public abstract class TypeArgumentModel extends AnnotatedAbstractModel
     private List<SignatureModel> associatedTypes;
 
     public static TypeArgumentModel of(@Nonnull TypeArgument origin) {
-        return new TypeArgumentSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(TypeArgumentModel.class,
+                Objects.requireNonNull(origin), TypeArgumentSourceModel::new);
     }
 
     public static TypeArgumentModel of(@Nonnull AnnotatedType origin) {
@@ -14,7 +14,8 @@ public abstract class TypeParameterModel extends AnnotatedAbstractModel
     private List<SignatureModel> bounds;
 
     public static TypeParameterModel of(@Nonnull TypeParameter origin) {
-        return new TypeParameterSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(TypeParameterModel.class,
+                Objects.requireNonNull(origin), TypeParameterSourceModel::new);
     }
 
     public static TypeParameterModel of(@Nonnull TypeVariable<?> origin) {
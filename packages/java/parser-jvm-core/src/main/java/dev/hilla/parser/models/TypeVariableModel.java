@@ -12,7 +12,8 @@ public abstract class TypeVariableModel extends AnnotatedAbstractModel
     private TypeParameterModel typeParameter;
 
     public static TypeVariableModel of(@Nonnull TypeVariableSignature origin) {
-        return new TypeVariableSourceModel(Objects.requireNonNull(origin));
+        return ModelCache.intern(TypeVariableModel.class,
+                Objects.requireNonNull(origin), TypeVariableSourceModel::new);
     }
 
     public static TypeVariableModel of(@Nonnull AnnotatedTypeVariable origin) {
@@ -5,6 +5,7 @@ module dev.hilla.parser.core {
     requires io.github.classgraph;
     requires io.swagger.v3.core;
     requires io.swagger.v3.oas.models;
+    requires jdk.management;
     requires jsr305;
     requires org.slf4j;
 
@@ -0,0 +1,119 @@
+package dev.hilla.parser.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.hilla.parser.models.ClassInfoModel;
+import dev.hilla.parser.models.ClassRefSignatureModel;
+
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+
+public class AssociationMapTests {
+    @Test
+    public void should_IterateSignaturesInBulk_And_ByOwnerKind() {
+        var map = new AssociationMap();
+        var owner = ClassInfoModel.of(Sample.class);
+        var field = owner.getFields().get(0);
+        var method = owner.getMethods().get(0);
+
+        var fieldSchema = new StringSchema();
+        var methodSchema = new StringSchema();
+        var plainSchema = new StringSchema();
+
+        map.addSignature(fieldSchema, field.getType(),
+                new SignatureInfo(field));
+        map.addSignature(methodSchema, method.getResultType(),
+                new SignatureInfo(method));
+        map.addSignature(plainSchema, ClassRefSignatureModel.of(String.class));
+
+        var all = new ArrayList<Schema<?>>();
+        map.forEachSignature((schema, signature, info) -> all.add(schema));
+
+        assertEquals(List.of(fieldSchema, methodSchema, plainSchema), all);
+        assertEquals(3, map.getSignatureCount());
+
+        var fields = new ArrayList<Schema<?>>();
+        map.forEachSignature(AssociationMap.OwnerKind.FIELD,
+                (schema, signature, info) -> fields.add(schema));
+
+        assertEquals(List.of(fieldSchema), fields);
+    }
+
+    @Test
+    public void should_ProvideMapViews() {
+        var map = new AssociationMap();
+        var owner = ClassInfoModel.of(Sample.class);
+        var field = owner.getFields().get(0);
+        var info = new SignatureInfo(field);
+        var schema = new StringSchema();
+        var plainSchema = new StringSchema();
+        var plain = ClassRefSignatureModel.of(String.class);
+
+        map.addSignature(schema, field.getType(), info);
+        map.addSignature(plainSchema, plain);
+
+        assertEquals(2, map.getSignatures().size());
+        assertSame(field.getType(), map.getSignatures().get(schema));
+        assertEquals(1, map.getSignatureInfo().size());
+        assertSame(info, map.getSignatureInfo().get(schema));
+        assertNull(map.getSignatureInfo().get(plainSchema));
+        assertSame(schema, map.reversed().getSignatures().get(field.getType()));
+        assertSame(info,
+                map.reversed().getSignatureInfo().get(field.getType()));
+        assertSame(plainSchema, map.reversed().getSignatures().get(plain));
+    }
+
+    @Test
+    public void should_MoveEntry_When_SchemaIsAssociatedAgain() {
+        var map = new AssociationMap();
+        var owner = ClassInfoModel.of(Sample.class);
+        var field = owner.getFields().get(0);
+        var method = owner.getMethods().get(0);
+        var fieldInfo = new SignatureInfo(field);
+        var methodInfo = new SignatureInfo(method);
+        var schema = new StringSchema();
+        var otherSchema = new StringSchema();
+
+        map.addSignature(schema, field.getType(), fieldInfo);
+        map.addSignature(otherSchema, ClassRefSignatureModel.of(String.class));
+        map.addSignature(schema, method.getResultType(), methodInfo);
+
+        var reversed = map.reversed().getSignatures();
+        assertEquals(2, reversed.size());
+        assertFalse(reversed.containsKey(field.getType()));
+        assertSame(schema, reversed.get(method.getResultType()));
+        assertEquals(1, map.reversed().getSignatureInfo().size());
+        assertSame(methodInfo,
+                map.reversed().getSignatureInfo().get(method.getResultType()));
+        assertEquals(2, map.getSignatures().size());
+        assertEquals(1, map.getSignatureInfo().size());
+        assertEquals(2, map.getSignatureCount());
+
+        var fields = new ArrayList<Schema<?>>();
+        map.forEachSignature(AssociationMap.OwnerKind.FIELD,
+                (s, signature, info) -> fields.add(s));
+        var methods = new ArrayList<Schema<?>>();
+        map.forEachSignature(AssociationMap.OwnerKind.METHOD,
+                (s, signature, info) -> methods.add(s));
+
+        assertTrue(fields.isEmpty());
+        assertEquals(List.of(schema), methods);
+    }
+
+    static class Sample {
+        private String name;
+
+        public int count() {
+            return 0;
+        }
+    }
+}
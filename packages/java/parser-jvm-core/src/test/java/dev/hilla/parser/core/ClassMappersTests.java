@@ -0,0 +1,133 @@
+package dev.hilla.parser.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.hilla.parser.models.ClassInfoModel;
+
+public class ClassMappersTests {
+    @Test
+    public void should_TrackChangesByVersion() {
+        var mappers = new ClassMappers();
+        var version = mappers.getVersion();
+        ClassMappers.Mapper targeted = model -> model;
+
+        assertEquals(Optional.empty(), mappers.getChangesSince(version));
+
+        mappers.add(targeted, "a.Foo");
+        var change = mappers.getChangesSince(version).orElseThrow();
+
+        assertTrue(change.affects("a.Foo"));
+        assertFalse(change.affects("a.Bar"));
+        assertEquals(Optional.of(Set.of("a.Foo")), change.getClassNames());
+
+        version = mappers.getVersion();
+        mappers.add(model -> model, "a.Bar");
+        mappers.remove(targeted);
+
+        assertEquals(Optional.of(Set.of("a.Foo", "a.Bar")),
+                mappers.getChangesSince(version).orElseThrow().getClassNames());
+
+        version = mappers.getVersion();
+        mappers.add(model -> model);
+
+        assertTrue(mappers.getChangesSince(version).orElseThrow()
+                .affects("a.Baz"));
+    }
+
+    @Test
+    public void should_NotRecollect_When_ChangeDoesNotAffectMappedClasses() {
+        var mappers = new ClassMappers();
+        var collector = new ScanElementsCollector(
+                List.of(ClassInfoModel.of(SampleEndpoint.class)), mappers)
+                        .collect();
+        var entities = collector.getEntities();
+
+        var version = mappers.getVersion();
+        mappers.add(model -> model, "a.Unused");
+        collector.collect(mappers.getChangesSince(version).orElseThrow());
+
+        assertSame(entities, collector.getEntities());
+
+        version = mappers.getVersion();
+        mappers.add(model -> model.is(Entity.class.getName())
+                ? ClassInfoModel.of(Replacement.class)
+                : model, Entity.class.getName());
+        collector.collect(mappers.getChangesSince(version).orElseThrow());
+
+        assertNotSame(entities, collector.getEntities());
+        assertTrue(collector.getEntities().stream()
+                .anyMatch(model -> model.is(Replacement.class.getName())));
+        assertFalse(collector.getEntities().stream()
+                .anyMatch(model -> model.is(Entity.class.getName())));
+    }
+
+    @Test
+    public void should_MemoizeMapping_And_InvalidateOnAffectingChanges() {
+        var mappers = new ClassMappers();
+        var calls = new ArrayList<String>();
+        var entity = ClassInfoModel.of(Entity.class);
+        var replacement = ClassInfoModel.of(Replacement.class);
+
+        mappers.add(model -> {
+            calls.add(model.getName());
+            return model;
+        });
+
+        assertSame(entity, mappers.map(entity));
+        assertSame(entity, mappers.map(entity));
+        assertEquals(List.of(Entity.class.getName()), calls);
+
+        // An unrelated targeted change keeps the memoized result
+        mappers.add(model -> replacement, "a.Unused");
+        assertSame(entity, mappers.map(entity));
+        assertEquals(1, calls.size());
+
+        mappers.add(model -> replacement, Entity.class.getName());
+        assertSame(replacement, mappers.map(entity));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void should_NotConsultTargetedMapper_When_ClassIsNotTargeted() {
+        var mappers = new ClassMappers();
+        var calls = new ArrayList<String>();
+
+        mappers.add(model -> {
+            calls.add(model.getName());
+            return ClassInfoModel.of(Replacement.class);
+        }, Entity.class.getName());
+
+        var sample = ClassInfoModel.of(SampleEndpoint.class);
+
+        assertSame(sample, mappers.map(sample));
+        assertTrue(calls.isEmpty());
+        assertTrue(mappers.map(ClassInfoModel.of(Entity.class))
+                .is(Replacement.class.getName()));
+        assertEquals(List.of(Entity.class.getName()), calls);
+    }
+
+    static class Entity {
+        private String name;
+    }
+
+    static class Replacement {
+        private String value;
+    }
+
+    static class SampleEndpoint {
+        public Entity get() {
+            return null;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package dev.hilla.parser.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -12,10 +19,12 @@ import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import dev.hilla.parser.core.basic.BasicPlugin;
 import dev.hilla.parser.core.dependency.DependencyPlugin;
 import dev.hilla.parser.testutils.ResourceLoader;
+import dev.hilla.parser.utils.OpenAPIPrinter;
 
 public class ParserTests {
     private final ResourceLoader resourceLoader = new ResourceLoader(
@@ -94,6 +103,25 @@ public class ParserTests {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void should_RecordReadClasses() {
+        var parser = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(dependencyPluginEndpointName)
+                        .addPlugin(new DependencyPlugin()).finish());
+
+        parser.execute();
+
+        var classNames = parser.getClassNames();
+
+        assertTrue(classNames.containsAll(List.of(
+                "dev.hilla.parser.core.dependency.DependencyEndpoint",
+                "dev.hilla.parser.core.dependency.DependencyEntityOne",
+                "dev.hilla.parser.core.dependency.DependencyEntityThree")));
+        assertFalse(classNames.contains(
+                dev.hilla.parser.core.basic.BasicEndpoint.class.getName()));
+    }
+
     @Test
     public void should_RunBasicPlugin() {
         var parser = new Parser(
@@ -112,4 +140,115 @@ public class ParserTests {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void should_ReuseCachedResult_When_InputsAreUnchanged(
+            @TempDir Path cacheDir) throws IOException {
+        var first = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(basicPluginEndpointName)
+                        .addPlugin(new BasicPlugin()).cacheDirectory(cacheDir)
+                        .finish());
+        var expected = new OpenAPIPrinter().writeAsString(first.execute());
+
+        var second = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(basicPluginEndpointName)
+                        .addPlugin(new BasicPlugin()).cacheDirectory(cacheDir)
+                        .finish());
+        var actual = new OpenAPIPrinter().writeAsString(second.execute());
+
+        assertEquals(expected, actual);
+        assertFalse(first.getClassNames().isEmpty());
+        assertEquals(first.getClassNames(), second.getClassNames());
+        // The plugins did not run for the cached result
+        assertNull(second.getStorage().getPluginStorage()
+                .get(BasicPlugin.STORAGE_KEY));
+
+        var changed = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(dependencyPluginEndpointName)
+                        .addPlugin(new BasicPlugin()).cacheDirectory(cacheDir)
+                        .finish());
+        changed.execute();
+
+        assertNotNull(changed.getStorage().getPluginStorage()
+                .get(BasicPlugin.STORAGE_KEY));
+        try (var entries = Files.list(cacheDir)) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    public void should_MissCache_When_PluginCodeChanges(@TempDir Path cacheDir,
+            @TempDir Path classPath) throws IOException, URISyntaxException {
+        // The plugin is not on the parsed class path, like in a build tool
+        // running the parser from a class path of its own
+        var pluginClass = Path.of(BasicPlugin.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI())
+                .resolve(BasicPlugin.class.getName().replace('.', '/')
+                        + ".class");
+        var lastModified = Files.getLastModifiedTime(pluginClass);
+
+        try {
+            var first = new Parser(new ParserConfig.Builder()
+                    .classPath(Set.of(classPath.toString()))
+                    .endpointAnnotation(basicPluginEndpointName)
+                    .addPlugin(new BasicPlugin()).cacheDirectory(cacheDir)
+                    .finish());
+            first.execute();
+            assertNotNull(first.getStorage().getPluginStorage()
+                    .get(BasicPlugin.STORAGE_KEY));
+
+            Files.setLastModifiedTime(pluginClass,
+                    FileTime.fromMillis(lastModified.toMillis() + 10_000));
+
+            var second = new Parser(new ParserConfig.Builder()
+                    .classPath(Set.of(classPath.toString()))
+                    .endpointAnnotation(basicPluginEndpointName)
+                    .addPlugin(new BasicPlugin()).cacheDirectory(cacheDir)
+                    .finish());
+            second.execute();
+            assertNotNull(second.getStorage().getPluginStorage()
+                    .get(BasicPlugin.STORAGE_KEY));
+        } finally {
+            Files.setLastModifiedTime(pluginClass, lastModified);
+        }
+    }
+
+    @Test
+    public void should_CollectReport_When_ReportIsEnabled(
+            @TempDir Path reportDir) throws IOException {
+        var parser = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(basicPluginEndpointName)
+                        .addPlugin(new BasicPlugin()).report(true).finish());
+        parser.execute();
+
+        var report = parser.getStorage().getReport();
+        var phases = report.getPhases();
+
+        assertTrue(phases.keySet()
+                .containsAll(List.of("preprocess", "scan", "collect", "process",
+                        "process:" + BasicPlugin.class.getName())));
+        assertTrue(phases.get("scan").getWallTimeNanos() > 0);
+        assertEquals(1, report.getCounts().get("endpoints"));
+
+        var file = reportDir.resolve("report.json");
+        report.write(file);
+
+        assertTrue(Files.readString(file).contains("\"scan\""));
+    }
+
+    @Test
+    public void should_NotCollectReport_When_ReportIsDisabled() {
+        var parser = new Parser(
+                new ParserConfig.Builder().classPath(defaultClassPathElements)
+                        .endpointAnnotation(basicPluginEndpointName)
+                        .addPlugin(new BasicPlugin()).finish());
+        parser.execute();
+
+        assertTrue(parser.getStorage().getReport().getPhases().isEmpty());
+        assertTrue(parser.getStorage().getReport().getCounts().isEmpty());
+    }
 }
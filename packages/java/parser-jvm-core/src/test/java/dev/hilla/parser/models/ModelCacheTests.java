@@ -0,0 +1,77 @@
+package dev.hilla.parser.models;
+
+import static dev.hilla.parser.test.helpers.ClassMemberUtils.getClassInfo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.hilla.parser.test.helpers.Source;
+import dev.hilla.parser.test.helpers.SourceExtension;
+
+import io.github.classgraph.ScanResult;
+
+@ExtendWith(SourceExtension.class)
+public class ModelCacheTests {
+    private ScanResult source;
+
+    @BeforeEach
+    public void setUp(@Source ScanResult source) {
+        this.source = source;
+    }
+
+    @Test
+    public void should_ReturnSameModel_When_CacheIsActive() {
+        var cache = new ModelCache();
+        var classInfo = getClassInfo(Sample.class, source);
+
+        try (var scope = cache.activate()) {
+            var model = ClassInfoModel.of(classInfo);
+
+            assertSame(model, ClassInfoModel.of(classInfo));
+            assertSame(ClassInfoModel.of(Sample.class),
+                    ClassInfoModel.of(Sample.class));
+            assertNotSame(model, ClassInfoModel.of(Sample.class));
+        }
+    }
+
+    @Test
+    public void should_ShareSignatureModels_When_CacheIsActive() {
+        var cache = new ModelCache();
+        var field = getClassInfo(Sample.class, source).getFieldInfo("list");
+
+        try (var scope = cache.activate()) {
+            var model = ClassInfoModel.of(getClassInfo(Sample.class, source));
+            var signature = model.getFields().get(0).getType();
+
+            assertSame(signature, SignatureModel
+                    .of(field.getTypeSignatureOrTypeDescriptor()));
+        }
+    }
+
+    @Test
+    public void should_CreateNewModels_When_CacheIsNotActive() {
+        var cache = new ModelCache();
+        var classInfo = getClassInfo(Sample.class, source);
+
+        try (var scope = cache.activate()) {
+            ClassInfoModel.of(classInfo);
+        }
+
+        assertNotSame(ClassInfoModel.of(classInfo),
+                ClassInfoModel.of(classInfo));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    static class Sample {
+        private List<String> list;
+    }
+}
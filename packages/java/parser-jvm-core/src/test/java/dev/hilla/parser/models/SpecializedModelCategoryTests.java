@@ -0,0 +1,80 @@
+package dev.hilla.parser.models;
+
+import static dev.hilla.parser.test.helpers.ClassMemberUtils.getClassInfo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.hilla.parser.models.SpecializedModel.Category;
+import dev.hilla.parser.test.helpers.Source;
+import dev.hilla.parser.test.helpers.SourceExtension;
+
+import io.github.classgraph.ScanResult;
+
+@ExtendWith(SourceExtension.class)
+public class SpecializedModelCategoryTests {
+    @DisplayName("It should categorize base signatures")
+    @Test
+    public void should_CategorizeBaseSignatures() {
+        assertEquals(Category.BOOLEAN,
+                BaseSignatureModel.of(boolean.class).getCategory());
+        assertEquals(Category.STRING,
+                BaseSignatureModel.of(char.class).getCategory());
+        assertEquals(Category.INTEGER,
+                BaseSignatureModel.of(long.class).getCategory());
+        assertEquals(Category.NUMBER,
+                BaseSignatureModel.of(float.class).getCategory());
+        assertEquals(Category.ANY,
+                BaseSignatureModel.of(void.class).getCategory());
+    }
+
+    @DisplayName("It should categorize class references by the referenced class")
+    @Test
+    public void should_CategorizeClassReferences() {
+        assertEquals(Category.STRING,
+                ClassRefSignatureModel.of(String.class).getCategory());
+        assertEquals(Category.NUMBER,
+                ClassRefSignatureModel.of(BigDecimal.class).getCategory());
+        assertEquals(Category.ITERABLE,
+                ClassRefSignatureModel.of(List.class).getCategory());
+        assertEquals(Category.MAP,
+                ClassRefSignatureModel.of(Map.class).getCategory());
+        assertEquals(Category.OPTIONAL,
+                ClassRefSignatureModel.of(Optional.class).getCategory());
+        assertEquals(Category.DATE,
+                ClassRefSignatureModel.of(LocalDate.class).getCategory());
+        assertEquals(Category.DATE_TIME,
+                ClassRefSignatureModel.of(LocalDateTime.class).getCategory());
+        assertEquals(Category.CLASS_REF,
+                ClassRefSignatureModel.of(Sample.class).getCategory());
+    }
+
+    @DisplayName("It should categorize source and reflection classes the same way")
+    @Test
+    public void should_CategorizeSourceAndReflectionClassesTheSameWay(
+            @Source ScanResult source) {
+        assertEquals(Category.ANY,
+                ClassInfoModel.of(Sample.class).getCategory());
+        assertEquals(Category.ANY, ClassInfoModel
+                .of(getClassInfo(Sample.class, source)).getCategory());
+        assertEquals(Category.ITERABLE,
+                ClassInfoModel.of(SampleList.class).getCategory());
+        assertEquals(Category.ITERABLE, ClassInfoModel
+                .of(getClassInfo(SampleList.class, source)).getCategory());
+    }
+
+    static class Sample {
+    }
+
+    static abstract class SampleList implements List<String> {
+    }
+}
@@ -35,17 +35,22 @@ public class SpecializationChecker<Model> {
             Stream<Method> methods) {
         var lookup = MethodHandles.lookup();
 
-        this.functions = methods.collect(Collectors.toMap(Method::getName,
-                Failable.asFunction(method -> {
-                    var site = LambdaMetafactory.metafactory(lookup, "apply",
-                            MethodType.methodType(Function.class),
-                            MethodType.methodType(Object.class, Object.class),
-                            lookup.unreflect(method),
-                            MethodType.methodType(Boolean.class, modelClass));
+        this.functions = methods
+                .filter(method -> method.getReturnType() == boolean.class)
+                .collect(Collectors.toMap(Method::getName,
+                        Failable.asFunction(method -> {
+                            var site = LambdaMetafactory.metafactory(lookup,
+                                    "apply",
+                                    MethodType.methodType(Function.class),
+                                    MethodType.methodType(Object.class,
+                                            Object.class),
+                                    lookup.unreflect(method),
+                                    MethodType.methodType(Boolean.class,
+                                            modelClass));
 
-                    return (Function<Model, Boolean>) site.getTarget()
-                            .invokeExact();
-                })));
+                            return (Function<Model, Boolean>) site.getTarget()
+                                    .invokeExact();
+                        })));
     }
 
     @SafeVarargs
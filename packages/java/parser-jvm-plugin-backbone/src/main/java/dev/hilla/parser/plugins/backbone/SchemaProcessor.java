@@ -53,35 +53,50 @@ final class SchemaProcessor {
     public Schema<?> process() {
         Schema<?> result;
 
-        if (type.isCharacter() || type.isString()) {
+        switch (type.getCategory()) {
+        case STRING:
             result = stringSchema();
-        } else if (type.isBoolean()) {
+            break;
+        case BOOLEAN:
             result = booleanSchema();
-        } else if (type.hasIntegerType()) {
+            break;
+        case INTEGER:
             result = integerSchema();
-        } else if (type.hasFloatType() || type.isBigDecimal()) {
+            break;
+        case NUMBER:
             result = numberSchema();
-        } else if (type.isArray()) {
+            break;
+        case ARRAY:
             result = arraySchema();
-        } else if (type.isIterable()) {
+            break;
+        case ITERABLE:
             result = iterableSchema();
-        } else if (type.isMap()) {
+            break;
+        case MAP:
             result = mapSchema();
-        } else if (type.isOptional()) {
+            break;
+        case OPTIONAL:
             result = optionalSchema();
-        } else if (type.isTypeArgument()) {
+            break;
+        case TYPE_ARGUMENT:
             result = typeArgumentSchema();
-        } else if (type.isTypeParameter()) {
+            break;
+        case TYPE_PARAMETER:
             result = typeParameterSchema();
-        } else if (type.isDate()) {
+            break;
+        case DATE:
             result = dateSchema();
-        } else if (type.isDateTime()) {
+            break;
+        case DATE_TIME:
             result = dateTimeSchema();
-        } else if (type.isClassRef()) {
+            break;
+        case CLASS_REF:
             result = refSchema();
-        } else if (type.isTypeVariable()) {
+            break;
+        case TYPE_VARIABLE:
             result = typeVariableSchema();
-        } else {
+            break;
+        default:
             result = anySchema();
         }
 
@@ -1,19 +1,20 @@
 package dev.hilla.parser.plugins.model;
 
-import java.util.Collection;
-
 import javax.annotation.Nonnull;
 
 import dev.hilla.parser.core.Plugin;
 import dev.hilla.parser.core.PluginsToolset;
 import dev.hilla.parser.core.SharedStorage;
-import dev.hilla.parser.models.ClassInfoModel;
+import dev.hilla.parser.core.SignatureContext;
+import dev.hilla.parser.models.SignatureModel;
 import dev.hilla.parser.plugins.backbone.BackbonePlugin;
 import dev.hilla.parser.utils.PluginException;
 
-public final class ModelPlugin implements Plugin.Processor {
+import io.swagger.v3.oas.models.media.Schema;
+
+public final class ModelPlugin implements Plugin.SignatureProcessor {
+    private final ValidationConstraint.Processor processor = new ValidationConstraint.Processor();
     private int order = 200;
-    private SharedStorage storage;
 
     @Override
     public int getOrder() {
@@ -26,10 +27,10 @@ public final class ModelPlugin implements Plugin.Processor {
     }
 
     @Override
-    public void process(@Nonnull Collection<ClassInfoModel> endpoints,
-            @Nonnull Collection<ClassInfoModel> entities) {
-        new ValidationConstraint.Processor(storage.getAssociationMap())
-                .process();
+    public void process(@Nonnull Schema<?> schema,
+            @Nonnull SignatureModel signature,
+            @Nonnull SignatureContext context) {
+        processor.process(schema, signature);
     }
 
     @Override
@@ -42,7 +43,5 @@ public final class ModelPlugin implements Plugin.Processor {
             throw new PluginException(
                     "ModelPlugin should be run after BackbonePlugin");
         }
-
-        this.storage = storage;
     }
 }
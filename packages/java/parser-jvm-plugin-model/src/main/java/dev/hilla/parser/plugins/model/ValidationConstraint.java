@@ -5,7 +5,6 @@ import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
-import dev.hilla.parser.core.AssociationMap;
 import dev.hilla.parser.models.SignatureModel;
 
 import io.github.classgraph.AnnotationInfo;
@@ -36,16 +35,6 @@ public final class ValidationConstraint {
         private static final String VALIDATION_CONSTRAINTS_KEY = "x-validation-constraints";
         private static final String VALIDATION_CONSTRAINTS_PACKAGE_NAME = "javax.validation.constraints";
 
-        private final AssociationMap map;
-
-        public Processor(@Nonnull AssociationMap map) {
-            this.map = map;
-        }
-
-        public void process() {
-            map.getSignatures().forEach(this::processSchema);
-        }
-
         private ValidationConstraint convertAnnotation(
                 AnnotationInfo annotationInfo) {
             var simpleName = extractSimpleName(annotationInfo.getName());
@@ -73,7 +62,8 @@ public final class ValidationConstraint {
                     .equals(VALIDATION_CONSTRAINTS_PACKAGE_NAME);
         }
 
-        private void processSchema(Schema<?> schema, SignatureModel signature) {
+        public void process(@Nonnull Schema<?> schema,
+                @Nonnull SignatureModel signature) {
             if (!(signature.get() instanceof TypeSignature)) {
                 return;
             }
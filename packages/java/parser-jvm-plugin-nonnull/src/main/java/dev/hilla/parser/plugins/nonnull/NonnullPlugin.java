@@ -1,22 +1,28 @@
 package dev.hilla.parser.plugins.nonnull;
 
-import java.util.Collection;
-import java.util.Objects;
-
 import javax.annotation.Nonnull;
 
 import dev.hilla.parser.core.Plugin;
 import dev.hilla.parser.core.PluginConfiguration;
 import dev.hilla.parser.core.PluginsToolset;
 import dev.hilla.parser.core.SharedStorage;
-import dev.hilla.parser.models.ClassInfoModel;
+import dev.hilla.parser.core.SignatureContext;
+import dev.hilla.parser.models.SignatureModel;
 import dev.hilla.parser.plugins.backbone.BackbonePlugin;
 import dev.hilla.parser.utils.PluginException;
 
-public final class NonnullPlugin implements Plugin.Processor {
-    private Collection<AnnotationMatcher> annotations = NonnullPluginConfig.Processor.defaults;
+import io.swagger.v3.oas.models.media.Schema;
+
+public final class NonnullPlugin implements Plugin.SignatureProcessor {
+    private NonnullPluginConfig config;
     private int order = 100;
-    private SharedStorage storage;
+    private NonnullProcessor processor = new NonnullProcessor(
+            NonnullPluginConfig.Processor.defaults);
+
+    @Override
+    public PluginConfiguration getConfig() {
+        return config;
+    }
 
     @Override
     public int getOrder() {
@@ -29,10 +35,10 @@ public final class NonnullPlugin implements Plugin.Processor {
     }
 
     @Override
-    public void process(@Nonnull Collection<ClassInfoModel> endpoints,
-            @Nonnull Collection<ClassInfoModel> entities) {
-        new NonnullProcessor(Objects.requireNonNull(annotations),
-                storage.getAssociationMap()).process();
+    public void process(@Nonnull Schema<?> schema,
+            @Nonnull SignatureModel signature,
+            @Nonnull SignatureContext context) {
+        processor.process(schema, signature, context);
     }
 
     @Override
@@ -47,8 +53,9 @@ public final class NonnullPlugin implements Plugin.Processor {
                     getClass().getName(), NonnullPluginConfig.class.getName()));
         }
 
-        annotations = new NonnullPluginConfig.Processor(
-                (NonnullPluginConfig) config).process();
+        this.config = (NonnullPluginConfig) config;
+        processor = new NonnullProcessor(
+                new NonnullPluginConfig.Processor(this.config).process());
     }
 
     @Override
@@ -61,7 +68,5 @@ public final class NonnullPlugin implements Plugin.Processor {
             throw new PluginException(
                     "NonnullPlugin should be run after BackbonePlugin");
         }
-
-        this.storage = storage;
     }
 }
@@ -9,10 +9,10 @@ public class PushTypeReplacer implements Replacer {
 
     @Override
     public void process() {
-        classMappers.add(TransferTypesPluginUtils
-                .createMapper("reactor.core.publisher.Flux", Flux.class));
-        classMappers.add(TransferTypesPluginUtils.createMapper(
-                "dev.hilla.EndpointSubscription", EndpointSubscription.class));
+        TransferTypesPluginUtils.addMapper(classMappers,
+                "reactor.core.publisher.Flux", Flux.class);
+        TransferTypesPluginUtils.addMapper(classMappers,
+                "dev.hilla.EndpointSubscription", EndpointSubscription.class);
     }
 
     @Override
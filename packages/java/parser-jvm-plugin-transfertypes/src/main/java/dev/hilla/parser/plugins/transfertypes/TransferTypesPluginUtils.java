@@ -4,11 +4,21 @@ import dev.hilla.parser.core.ClassMappers;
 import dev.hilla.parser.models.ClassInfoModel;
 
 final class TransferTypesPluginUtils {
-    public static ClassMappers.Mapper createMapper(String from, Class<?> to) {
-        return cls -> cls.is(from) ? ClassInfoModel.of(to) : cls;
+    /**
+     * Registers a mapper that replaces only the given class, so that adding it
+     * does not force re-collecting unrelated scan elements.
+     */
+    public static void addMapper(ClassMappers classMappers, String from,
+            Class<?> to) {
+        classMappers.add(createMapper(from, to), from);
+    }
+
+    public static void addMapper(ClassMappers classMappers, Class<?> from,
+            Class<?> to) {
+        addMapper(classMappers, from.getName(), to);
     }
 
-    public static ClassMappers.Mapper createMapper(Class<?> from, Class<?> to) {
-        return createMapper(from.getName(), to);
+    public static ClassMappers.Mapper createMapper(String from, Class<?> to) {
+        return cls -> cls.is(from) ? ClassInfoModel.of(to) : cls;
     }
 }
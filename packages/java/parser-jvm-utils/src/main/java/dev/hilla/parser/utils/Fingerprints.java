@@ -0,0 +1,67 @@
+package dev.hilla.parser.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helpers for fingerprinting the inputs of the parser and the generator, so
+ * that the build tools can tell whether anything has changed since the last
+ * run.
+ */
+public final class Fingerprints {
+    private Fingerprints() {
+    }
+
+    /**
+     * Describes a file by its size and its modification time, which is cheaper
+     * than reading its content.
+     *
+     * @param file
+     *            the file
+     * @return the description of the file
+     * @throws UncheckedIOException
+     *             if the attributes of the file cannot be read
+     */
+    public static String describe(Path file) {
+        try {
+            var attributes = Files.readAttributes(file,
+                    BasicFileAttributes.class);
+
+            return attributes.size() + ":"
+                    + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a string.
+     *
+     * @param value
+     *            the string, hashed as UTF-8
+     * @return the hash as lowercase hexadecimal digits
+     */
+    public static String sha256Hex(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            var result = new StringBuilder(digest.length * 2);
+
+            for (var b : digest) {
+                result.append(Character.forDigit((b >> 4) & 0xf, 16))
+                        .append(Character.forDigit(b & 0xf, 16));
+            }
+
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package dev.hilla.parser.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps one TypeScript generator process ({@code tsgen --daemon}) alive and
+ * sends it the OpenAPI of every generation, which saves starting Node and
+ * loading the generator plugins each time.
+ * <p>
+ * The generator reads one request per line from its stdin: the request id,
+ * prefixed with {@code #}, followed by a compact OpenAPI JSON, or by nothing
+ * for a health check. It answers each request with a line starting with
+ * {@value #PREFIX} and ending with the request id, and any other line it prints
+ * is passed to the output consumer. Replies to earlier requests, e.g., to a
+ * health check that has timed out, are discarded. The process is started on the
+ * first generation and restarted if it dies or stops answering the health
+ * check.
+ * <p>
+ * The callers in one JVM, e.g., the modules of a Maven build or the generations
+ * of a running application, should use the {@link #shared shared} daemon of the
+ * command, which is closed when the JVM shuts down.
+ */
+public final class GeneratorDaemon implements Closeable {
+    static final String PREFIX = "@tsgen:";
+    static final String DONE = PREFIX + "done";
+    static final String ERROR = PREFIX + "error";
+    static final String READY = PREFIX + "ready";
+    private static final Duration DEFAULT_GENERATION_TIMEOUT = Duration
+            .ofMinutes(2);
+    private static final String EXIT = PREFIX + "exit";
+    private static final String REQUEST_ID_PREFIX = "#";
+
+    private final List<String> command;
+    private final Path directory;
+    private final Duration generationTimeout;
+    private final Consumer<String> output;
+    private final Duration timeout;
+    private long lastRequestId;
+    private Process process;
+    private BlockingQueue<String> replies;
+    private OutputStream stdin;
+
+    /**
+     * Creates a daemon that is not started yet, which waits for a generation
+     * for two minutes.
+     *
+     * @param command
+     *            the generator command without the daemon flag
+     * @param directory
+     *            the working directory, or null to use the current one
+     * @param output
+     *            the consumer of the generator log output
+     * @param timeout
+     *            how long to wait for the generator to start or to answer a
+     *            health check
+     */
+    public GeneratorDaemon(@Nonnull List<String> command,
+            @Nullable Path directory, @Nonnull Consumer<String> output,
+            @Nonnull Duration timeout) {
+        this(command, directory, output, timeout, DEFAULT_GENERATION_TIMEOUT);
+    }
+
+    /**
+     * Creates a daemon that is not started yet.
+     *
+     * @param command
+     *            the generator command without the daemon flag
+     * @param directory
+     *            the working directory, or null to use the current one
+     * @param output
+     *            the consumer of the generator log output
+     * @param timeout
+     *            how long to wait for the generator to start or to answer a
+     *            health check
+     * @param generationTimeout
+     *            how long to wait for a generation
+     */
+    public GeneratorDaemon(@Nonnull List<String> command,
+            @Nullable Path directory, @Nonnull Consumer<String> output,
+            @Nonnull Duration timeout, @Nonnull Duration generationTimeout) {
+        this.command = new ArrayList<>(Objects.requireNonNull(command));
+        this.command.add("--daemon");
+        this.directory = directory;
+        this.output = Objects.requireNonNull(output);
+        this.timeout = Objects.requireNonNull(timeout);
+        this.generationTimeout = Objects.requireNonNull(generationTimeout);
+    }
+
+    private static long getRequestId(String reply) {
+        var start = reply.indexOf(' ' + REQUEST_ID_PREFIX);
+
+        if (start < 0) {
+            return 0;
+        }
+
+        start += REQUEST_ID_PREFIX.length() + 1;
+        var end = reply.indexOf(' ', start);
+
+        try {
+            return Long.parseLong(end < 0 ? reply.substring(start)
+                    : reply.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isReply(String reply, String kind) {
+        return reply.equals(kind) || reply.startsWith(kind + ' ');
+    }
+
+    /**
+     * Gets the daemon shared by the callers that run the same command in the
+     * same directory, and creates it on the first call. The output consumer and
+     * the timeout of the first call are kept.
+     *
+     * @param command
+     *            the generator command without the daemon flag
+     * @param directory
+     *            the working directory, or null to use the current one
+     * @param output
+     *            the consumer of the generator log output
+     * @param timeout
+     *            how long to wait for the generator to start or to answer a
+     *            health check
+     * @return the shared daemon
+     */
+    @Nonnull
+    public static GeneratorDaemon shared(@Nonnull List<String> command,
+            @Nullable Path directory, @Nonnull Consumer<String> output,
+            @Nonnull Duration timeout) {
+        var key = Arrays.<Object> asList(List.copyOf(command), directory);
+
+        return Shared.daemons.computeIfAbsent(key,
+                k -> new GeneratorDaemon(command, directory, output, timeout));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (process == null) {
+            return;
+        }
+
+        try {
+            // The generator exits when its stdin is closed
+            stdin.close();
+
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroy();
+            }
+        } catch (IOException e) {
+            process.destroy();
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+        } finally {
+            process = null;
+        }
+    }
+
+    /**
+     * Closes the daemon and stops sharing it, so that the next call of
+     * {@link #shared shared} creates a new one. Used if the daemon has failed
+     * and the caller falls back to running the generator process.
+     */
+    public void discard() {
+        Shared.daemons.values().remove(this);
+        close();
+    }
+
+    /**
+     * Sends the OpenAPI to the generator and waits until the code is generated.
+     * If the generator process has died, it is restarted and the OpenAPI is
+     * sent once again.
+     *
+     * @param input
+     *            writes the compact OpenAPI JSON, which must not contain line
+     *            breaks
+     * @throws GenerationException
+     *             if the generator reports an error or does not finish the
+     *             generation in time
+     * @throws IOException
+     *             if the generator cannot be started or exits unexpectedly
+     */
+    public synchronized void generate(@Nonnull Input input)
+            throws IOException, InterruptedException {
+        Objects.requireNonNull(input);
+
+        if (!isAlive()) {
+            restart();
+        }
+
+        var reply = send(input);
+
+        if (EXIT.equals(reply)) {
+            restart();
+            reply = send(input);
+        }
+
+        if (EXIT.equals(reply)) {
+            throw new IOException("The generator process exited unexpectedly");
+        }
+
+        if (reply == null) {
+            destroy();
+            throw new GenerationException("The generation did not finish in "
+                    + generationTimeout.toMillis() + " ms");
+        }
+
+        if (isReply(reply, ERROR)) {
+            var message = reply.substring(ERROR.length()).trim();
+            var separator = message.indexOf(' ');
+            throw new GenerationException("The generation failed: "
+                    + (separator < 0 ? "" : message.substring(separator + 1)));
+        }
+    }
+
+    /**
+     * Checks that the generator process is running and answers the health check
+     * in time. A generator that does not answer in time is stopped.
+     *
+     * @return true if the generator is ready for a generation
+     */
+    public synchronized boolean isAlive() throws InterruptedException {
+        if (process == null || !process.isAlive()) {
+            return false;
+        }
+
+        var requestId = ++lastRequestId;
+
+        if (drainReplies()) {
+            destroy();
+            return false;
+        }
+
+        try {
+            stdin.write((REQUEST_ID_PREFIX + requestId + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            stdin.flush();
+        } catch (IOException e) {
+            return false;
+        }
+
+        var reply = await(requestId, timeout);
+
+        if (reply == null || !isReply(reply, READY)) {
+            destroy();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits for the reply to the request, discarding the replies to the earlier
+     * requests.
+     *
+     * @return the reply, {@value #EXIT} if the process has exited, or null if
+     *         there is no reply in time
+     */
+    private String await(long requestId, Duration wait)
+            throws InterruptedException {
+        var deadline = System.nanoTime() + wait.toNanos();
+
+        while (true) {
+            var remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return null;
+            }
+
+            var reply = replies.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (reply == null || EXIT.equals(reply)
+                    || getRequestId(reply) == requestId) {
+                return reply;
+            }
+        }
+    }
+
+    /**
+     * Discards the replies to the earlier requests.
+     *
+     * @return true if the process has exited
+     */
+    private boolean drainReplies() {
+        String reply;
+
+        while ((reply = replies.poll()) != null) {
+            if (EXIT.equals(reply)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void destroy() {
+        if (process != null) {
+            process.destroy();
+            process = null;
+        }
+    }
+
+    private void restart() throws IOException, InterruptedException {
+        close();
+
+        var builder = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT);
+
+        if (directory != null) {
+            builder.directory(directory.toFile());
+        }
+
+        var started = builder.start();
+        var queue = new LinkedBlockingQueue<String>();
+        process = started;
+        stdin = started.getOutputStream();
+        replies = queue;
+
+        var reader = new Thread(() -> read(started, queue),
+                "tsgen-daemon-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        // The generator announces that it has started without a request id
+        var reply = await(0, timeout);
+
+        if (reply == null || !isReply(reply, READY)) {
+            destroy();
+            throw new IOException("The generator process did not start in "
+                    + timeout.toMillis() + " ms");
+        }
+    }
+
+    private void read(Process process, BlockingQueue<String> replies) {
+        try (var reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(PREFIX)) {
+                    replies.add(line);
+                } else {
+                    output.accept(line);
+                }
+            }
+        } catch (IOException e) {
+            // The process is gone, which the sender is told below
+        } finally {
+            replies.add(EXIT);
+        }
+    }
+
+    /**
+     * Sends the generation request.
+     *
+     * @return the reply, {@value #EXIT} if the process has exited, or null if
+     *         there is no reply in time
+     */
+    private String send(Input input) throws InterruptedException {
+        var requestId = ++lastRequestId;
+
+        if (drainReplies()) {
+            return EXIT;
+        }
+
+        try {
+            stdin.write((REQUEST_ID_PREFIX + requestId + ' ')
+                    .getBytes(StandardCharsets.UTF_8));
+            input.write(stdin);
+            stdin.write('\n');
+            stdin.flush();
+        } catch (IOException e) {
+            return EXIT;
+        }
+
+        return await(requestId, generationTimeout);
+    }
+
+    @FunctionalInterface
+    public interface Input {
+        void write(OutputStream stream) throws IOException;
+    }
+
+    /**
+     * Thrown if the generator has received the request but the generation has
+     * failed, in which case running the generator again does not help.
+     */
+    public static final class GenerationException extends IOException {
+        GenerationException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * The shared daemons, which are closed by a shutdown hook registered when
+     * the first one is created.
+     */
+    private static final class Shared {
+        static final Map<List<Object>, GeneratorDaemon> daemons = new ConcurrentHashMap<>();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> daemons.values().forEach(GeneratorDaemon::close),
+                    "tsgen-daemon-shutdown"));
+        }
+    }
+}
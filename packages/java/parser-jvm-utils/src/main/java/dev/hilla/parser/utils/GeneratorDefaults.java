@@ -0,0 +1,27 @@
+package dev.hilla.parser.utils;
+
+import java.util.List;
+
+/**
+ * The default configuration of the code generation, shared by the build tool
+ * plugins and the generation in the running application, which must produce the
+ * same code.
+ */
+public final class GeneratorDefaults {
+    public static final String ENDPOINT_ANNOTATION = "dev.hilla.Endpoint";
+    public static final List<String> GENERATOR_PLUGINS = List.of(
+            "@hilla/generator-typescript-plugin-client",
+            "@hilla/generator-typescript-plugin-backbone",
+            "@hilla/generator-typescript-plugin-barrel",
+            "@hilla/generator-typescript-plugin-model",
+            "@hilla/generator-typescript-plugin-push");
+    public static final String OUTPUT_DIRECTORY = "frontend/generated";
+    public static final List<String> PARSER_PLUGINS = List.of(
+            "dev.hilla.parser.plugins.transfertypes.TransferTypesPlugin",
+            "dev.hilla.parser.plugins.backbone.BackbonePlugin",
+            "dev.hilla.parser.plugins.nonnull.NonnullPlugin",
+            "dev.hilla.parser.plugins.model.ModelPlugin");
+
+    private GeneratorDefaults() {
+    }
+}
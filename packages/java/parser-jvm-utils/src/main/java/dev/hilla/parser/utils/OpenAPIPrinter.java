@@ -1,5 +1,11 @@
 package dev.hilla.parser.utils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -9,22 +15,71 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 
+/**
+ * Serializes the OpenAPI produced by the parser to JSON.
+ * <p>
+ * The {@code write} methods stream the JSON to the target without building it
+ * in memory, which should be preferred over {@code writeAsString} for big APIs.
+ */
 public final class OpenAPIPrinter {
     private final ObjectMapper mapper = Json.mapper();
     private final Pretty pretty;
+    private final ObjectWriter writer;
 
     public OpenAPIPrinter() {
         // Putting the `pretty` initialization here allows preserving correct
         // class initialization sequence.
         pretty = new Pretty();
+        writer = createWriter(mapper.writer());
+    }
+
+    private static ObjectWriter createWriter(ObjectWriter writer) {
+        // The target stream belongs to the caller, e.g., it could be the
+        // stdin of a process that is still written to.
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     public Pretty pretty() {
         return pretty;
     }
 
+    /**
+     * Writes the OpenAPI to the stream. The stream is flushed but not closed.
+     *
+     * @param value
+     *            the OpenAPI
+     * @param stream
+     *            the target stream
+     * @throws IOException
+     *             if writing fails
+     */
+    public void write(OpenAPI value, OutputStream stream) throws IOException {
+        writer.writeValue(stream, value);
+    }
+
+    /**
+     * Writes the OpenAPI to the file, replacing its content.
+     *
+     * @param value
+     *            the OpenAPI
+     * @param path
+     *            the target file
+     * @throws IOException
+     *             if writing fails
+     */
+    public void write(OpenAPI value, Path path) throws IOException {
+        write(writer, value, path);
+    }
+
     public String writeAsString(OpenAPI value) throws JsonProcessingException {
-        return mapper.writeValueAsString(value);
+        return writer.writeValueAsString(value);
+    }
+
+    private static void write(ObjectWriter writer, OpenAPI value, Path path)
+            throws IOException {
+        try (var stream = Files.newOutputStream(path)) {
+            writer.writeValue(stream, value);
+        }
     }
 
     public final class Pretty {
@@ -35,7 +90,16 @@ public final class OpenAPIPrinter {
             var indenter = new DefaultIndenter("  ", "\n");
             printer.indentArraysWith(indenter);
             printer.indentObjectsWith(indenter);
-            writer = mapper.writer(printer);
+            writer = createWriter(mapper.writer(printer));
+        }
+
+        public void write(OpenAPI value, OutputStream stream)
+                throws IOException {
+            writer.writeValue(stream, value);
+        }
+
+        public void write(OpenAPI value, Path path) throws IOException {
+            OpenAPIPrinter.write(writer, value, path);
         }
 
         public String writeAsString(OpenAPI value)
@@ -0,0 +1,37 @@
+package dev.hilla.parser.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FingerprintsTests {
+    @Test
+    public void should_HashToLowercaseHex() {
+        assertEquals(
+                "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                Fingerprints.sha256Hex(""));
+        assertEquals(
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                Fingerprints.sha256Hex("abc"));
+    }
+
+    @Test
+    public void should_DescribeSizeAndModificationTime(@TempDir Path directory)
+            throws IOException {
+        var file = Files.writeString(directory.resolve("file.txt"), "content");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        assertEquals("7:1000", Fingerprints.describe(file));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+
+        assertNotEquals("7:1000", Fingerprints.describe(file));
+    }
+}
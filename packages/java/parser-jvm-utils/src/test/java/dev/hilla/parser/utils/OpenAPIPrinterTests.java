@@ -0,0 +1,56 @@
+package dev.hilla.parser.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.StringSchema;
+
+public class OpenAPIPrinterTests {
+    private final OpenAPI openAPI = new OpenAPI()
+            .info(new Info().title("Test").version("1.0.0"))
+            .schema("Foo", new StringSchema());
+    private final OpenAPIPrinter printer = new OpenAPIPrinter();
+
+    @Test
+    public void should_StreamSameJSON_As_String() throws IOException {
+        var stream = new TrackingStream();
+        printer.write(openAPI, stream);
+
+        assertEquals(printer.writeAsString(openAPI),
+                stream.toString(StandardCharsets.UTF_8));
+        assertFalse(stream.closed);
+    }
+
+    @Test
+    public void should_WritePrettyJSON_ToFile(@TempDir Path directory)
+            throws IOException {
+        var path = directory.resolve("openapi.json");
+        Files.writeString(path, "previous content that is longer");
+
+        printer.pretty().write(openAPI, path);
+
+        assertEquals(printer.pretty().writeAsString(openAPI),
+                Files.readString(path));
+    }
+
+    private static final class TrackingStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
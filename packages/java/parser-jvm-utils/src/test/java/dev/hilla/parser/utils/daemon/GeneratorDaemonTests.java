@@ -0,0 +1,146 @@
+package dev.hilla.parser.utils.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.hilla.parser.utils.GeneratorDaemon;
+
+public class GeneratorDaemonTests {
+    private final List<String> output = new CopyOnWriteArrayList<>();
+    @TempDir
+    Path directory;
+
+    @Test
+    public void should_ReuseProcess_When_GeneratingSeveralTimes()
+            throws Exception {
+        try (var daemon = createDaemon("")) {
+            daemon.generate(write("first"));
+            assertTrue(daemon.isAlive());
+            daemon.generate(write("second"));
+        }
+
+        var requests = readRequests();
+
+        assertEquals(List.of("first", "second"), requests.stream()
+                .map(request -> request[1]).collect(Collectors.toList()));
+        assertEquals(requests.get(0)[0], requests.get(1)[0]);
+        assertEquals(List.of("Generating first", "Generating second"), output);
+    }
+
+    @Test
+    public void should_RestartProcess_When_ProcessExits() throws Exception {
+        try (var daemon = createDaemon("crash-once")) {
+            daemon.generate(write("first"));
+            daemon.generate(write("crash"));
+        }
+
+        var requests = readRequests();
+
+        assertEquals("crash", requests.get(1)[1]);
+        assertNotEquals(requests.get(0)[0], requests.get(1)[0]);
+    }
+
+    @Test
+    public void should_ReportGenerationError() throws Exception {
+        try (var daemon = createDaemon("")) {
+            var exception = assertThrows(
+                    GeneratorDaemon.GenerationException.class,
+                    () -> daemon.generate(write("fail")));
+
+            assertTrue(exception.getMessage().endsWith("Invalid OpenAPI"));
+            assertTrue(daemon.isAlive());
+        }
+    }
+
+    @Test
+    public void should_Fail_When_ProcessDoesNotStart() throws Exception {
+        try (var daemon = createDaemon("silent")) {
+            assertThrows(IOException.class,
+                    () -> daemon.generate(write("first")));
+            assertFalse(daemon.isAlive());
+        }
+    }
+
+    @Test
+    public void should_DiscardRepliesToEarlierRequests() throws Exception {
+        try (var daemon = createDaemon("late-reply")) {
+            daemon.generate(write("first"));
+
+            assertEquals(1, readRequests().size());
+        }
+    }
+
+    @Test
+    public void should_FailGeneration_When_GeneratorHangs() throws Exception {
+        try (var daemon = new GeneratorDaemon(createCommand("hang"), directory,
+                output::add, Duration.ofSeconds(30), Duration.ofMillis(500))) {
+            assertThrows(GeneratorDaemon.GenerationException.class,
+                    () -> daemon.generate(write("first")));
+            assertFalse(daemon.isAlive());
+        }
+    }
+
+    @Test
+    public void should_ShareDaemon_Until_Discarded() {
+        var command = createCommand("");
+        var daemon = GeneratorDaemon.shared(command, directory, output::add,
+                Duration.ofSeconds(30));
+
+        assertSame(daemon, GeneratorDaemon.shared(command, directory,
+                output::add, Duration.ofSeconds(30)));
+        assertNotSame(daemon, GeneratorDaemon.shared(command, null, output::add,
+                Duration.ofSeconds(30)));
+
+        daemon.discard();
+
+        var next = GeneratorDaemon.shared(command, directory, output::add,
+                Duration.ofSeconds(30));
+        next.discard();
+        GeneratorDaemon
+                .shared(command, null, output::add, Duration.ofSeconds(30))
+                .discard();
+
+        assertNotSame(daemon, next);
+    }
+
+    private List<String> createCommand(String mode) {
+        var java = Paths.get(System.getProperty("java.home"), "bin", "java")
+                .toString();
+
+        return List.of(java, "-cp", System.getProperty("java.class.path"),
+                StubGenerator.class.getName(),
+                directory.resolve("requests").toString(), mode);
+    }
+
+    private GeneratorDaemon createDaemon(String mode) {
+        return new GeneratorDaemon(createCommand(mode), directory, output::add,
+                Duration.ofSeconds(30));
+    }
+
+    private List<String[]> readRequests() throws IOException {
+        return Files.readAllLines(directory.resolve("requests")).stream()
+                .map(line -> line.split(" ", 2)).collect(Collectors.toList());
+    }
+
+    private static GeneratorDaemon.Input write(String request) {
+        return stream -> stream.write(request.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package dev.hilla.parser.utils.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Mimics {@code tsgen --daemon}: records every request with the process id in
+ * the file given as the first argument.
+ */
+public final class StubGenerator {
+    public static void main(String[] args) throws IOException {
+        var requests = Paths.get(args[0]);
+        var mode = args.length > 2 ? args[1] : "";
+
+        if (mode.equals("silent")) {
+            return;
+        }
+
+        System.out.println("@tsgen:ready");
+
+        var reader = new BufferedReader(
+                new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            var id = 0L;
+            var request = line;
+
+            if (line.startsWith("#")) {
+                var separator = line.indexOf(' ');
+                id = Long.parseLong(separator < 0 ? line.substring(1)
+                        : line.substring(1, separator));
+                request = separator < 0 ? "" : line.substring(separator + 1);
+            }
+
+            var tag = " #" + id;
+
+            if (request.isEmpty()) {
+                System.out.println("@tsgen:ready" + tag);
+            } else if (request.equals("crash") && mode.equals("crash-once")
+                    && !Files.exists(getMarker(requests))) {
+                Files.createFile(getMarker(requests));
+                System.exit(1);
+            } else if (request.equals("fail")) {
+                System.out.println("@tsgen:error" + tag + " Invalid OpenAPI");
+            } else if (!mode.equals("hang")) {
+                if (mode.equals("late-reply")) {
+                    // A reply to an earlier request arriving late
+                    System.out.println("@tsgen:done #" + (id - 1));
+                    System.out.flush();
+                    sleep();
+                }
+
+                System.out.println("Generating " + request);
+                Files.writeString(requests,
+                        ProcessHandle.current().pid() + " " + request + "\n",
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                System.out.println("@tsgen:done" + tag);
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path getMarker(Path requests) {
+        return requests.resolveSibling("crashed");
+    }
+}
@@ -0,0 +1,58 @@
+import { createInterface } from 'readline';
+import type { Readable, Writable } from 'stream';
+
+export type GenerationHandler = (input: string) => Promise<void>;
+
+/**
+ * Serves generation requests over stdio, so that a client can keep one
+ * generator process alive instead of starting Node for every generation.
+ *
+ * Every request is a single line containing the compact OpenAPI JSON. An empty
+ * line is a health check. Every request is answered with a line starting with
+ * {@link Daemon.PREFIX}, which separates the replies from the log output.
+ *
+ * A request may start with a `#<id>` tag. The reply then carries the same tag
+ * after its kind, so that the client can tell it from a late reply to an
+ * earlier request.
+ */
+export default class Daemon {
+  static readonly PREFIX = '@tsgen:';
+  static readonly DONE = `${Daemon.PREFIX}done`;
+  static readonly ERROR = `${Daemon.PREFIX}error`;
+  static readonly READY = `${Daemon.PREFIX}ready`;
+  static readonly #TAG = /^#(\d+) ?/u;
+
+  readonly #handler: GenerationHandler;
+  readonly #output: Writable;
+
+  public constructor(handler: GenerationHandler, output: Writable) {
+    this.#handler = handler;
+    this.#output = output;
+  }
+
+  public async serve(input: Readable): Promise<void> {
+    this.#reply(Daemon.READY);
+
+    for await (const line of createInterface({ input, crlfDelay: Infinity })) {
+      const match = Daemon.#TAG.exec(line);
+      const tag = match ? ` #${match[1]}` : '';
+      const request = match ? line.substring(match[0].length) : line;
+
+      if (request.trim().length === 0) {
+        this.#reply(`${Daemon.READY}${tag}`);
+      } else {
+        try {
+          await this.#handler(request);
+          this.#reply(`${Daemon.DONE}${tag}`);
+        } catch (e: unknown) {
+          const message = e instanceof Error ? e.message : String(e);
+          this.#reply(`${Daemon.ERROR}${tag} ${message.replace(/\s+/gu, ' ')}`);
+        }
+      }
+    }
+  }
+
+  #reply(message: string): void {
+    this.#output.write(`${message}\n`);
+  }
+}
@@ -1,12 +1,13 @@
 import Generator from '@hilla/generator-typescript-core/Generator.js';
 import LoggerFactory from '@hilla/generator-typescript-utils/LoggerFactory.js';
 import meow from 'meow';
+import Daemon from './Daemon.js';
 import GeneratorIO from './GeneratorIO.js';
 import { processInput } from './utils.js';
 
 const {
   input: [input],
-  flags: { outputDir, plugin: plugins, verbose },
+  flags: { daemon, outputDir, plugin: plugins, verbose },
 } = meow(
   `
 Usage:
@@ -16,6 +17,7 @@ Usage:
   tsgen <OpenAPI file path>
 
 Options:
+  -d, --daemon           Keep running and read one OpenAPI JSON per line from stdin
   -h, --help             Show this screen
   -o, --output-dir       Output directory
   -p, --plugin <path>    Use the plugin loadable by <path>.
@@ -24,6 +26,10 @@ Options:
   {
     importMeta: import.meta,
     flags: {
+      daemon: {
+        alias: 'd',
+        type: 'boolean',
+      },
       outputDir: {
         alias: 'o',
         default: 'frontend/generated',
@@ -48,9 +54,18 @@ const logger = new LoggerFactory({ verbose });
 const io = new GeneratorIO(outputDir, logger);
 
 const resolvedPlugins = await Promise.all(Array.from(new Set(plugins), (pluginPath) => io.loadPlugin(pluginPath)));
-const generator = new Generator(resolvedPlugins, { logger, outputDir });
 
-const files = await generator.process(await processInput(io, input));
-await io.cleanOutputDir();
-await io.createFileIndex(files.map((file) => file.name));
-await Promise.all(files.map((file) => io.write(file)));
+async function generate(json: string): Promise<void> {
+  const generator = new Generator(resolvedPlugins, { logger, outputDir });
+
+  const files = await generator.process(json);
+  await io.cleanOutputDir();
+  await io.createFileIndex(files.map((file) => file.name));
+  await Promise.all(files.map((file) => io.write(file)));
+}
+
+if (daemon) {
+  await new Daemon(generate, process.stdout).serve(process.stdin);
+} else {
+  await generate(await processInput(io, input));
+}
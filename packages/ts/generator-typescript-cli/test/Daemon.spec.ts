@@ -0,0 +1,55 @@
+import { expect } from 'chai';
+import { PassThrough } from 'stream';
+import Daemon from '../src/Daemon.js';
+
+describe('Testing Daemon', () => {
+  async function serve(lines: readonly string[], handler: (input: string) => Promise<void>): Promise<string[]> {
+    const input = new PassThrough();
+    const output = new PassThrough();
+    const replies: string[] = [];
+    output.on('data', (chunk: Buffer) => replies.push(...chunk.toString('utf8').split('\n').filter(Boolean)));
+
+    const serving = new Daemon(handler, output).serve(input);
+    input.end(lines.map((line) => `${line}\n`).join(''));
+    await serving;
+
+    return replies;
+  }
+
+  it('should answer health checks and generation requests', async () => {
+    const requests: string[] = [];
+    const replies = await serve(['', '{"openapi":"3.0.1"}', '{"openapi":"3.0.2"}'], async (input) => {
+      requests.push(input);
+    });
+
+    expect(requests).to.deep.equal(['{"openapi":"3.0.1"}', '{"openapi":"3.0.2"}']);
+    expect(replies).to.deep.equal([Daemon.READY, Daemon.READY, Daemon.DONE, Daemon.DONE]);
+  });
+
+  it('should report a failed generation and keep serving', async () => {
+    const replies = await serve(['{}', ''], async () => {
+      throw new Error('Invalid\nOpenAPI');
+    });
+
+    expect(replies).to.deep.equal([Daemon.READY, `${Daemon.ERROR} Invalid OpenAPI`, Daemon.READY]);
+  });
+
+  it('should tag the replies to tagged requests', async () => {
+    const requests: string[] = [];
+    const replies = await serve(['#1', '#2 {"openapi":"3.0.1"}', '#3 {}'], async (input) => {
+      requests.push(input);
+
+      if (input === '{}') {
+        throw new Error('Invalid OpenAPI');
+      }
+    });
+
+    expect(requests).to.deep.equal(['{"openapi":"3.0.1"}', '{}']);
+    expect(replies).to.deep.equal([
+      Daemon.READY,
+      `${Daemon.READY} #1`,
+      `${Daemon.DONE} #2`,
+      `${Daemon.ERROR} #3 Invalid OpenAPI`,
+    ]);
+  });
+});
@@ -22,8 +22,18 @@ type ListenerType<T extends keyof EventMap> =
     }
   | null;
 
+function createResumeToken(): string {
+  const bytes = new Uint8Array(16);
+  crypto.getRandomValues(bytes);
+  return Array.from(bytes, (byte) => byte.toString(16).padStart(2, '0')).join('');
+}
+
 /**
  * A representation of the underlying persistent network connection used for subscribing to Flux type endpoint methods.
+ *
+ * Every subscription is created with a random resume token. When the connection is lost and established again, the
+ * subscriptions that were active are subscribed again with their token and the sequence number of the last item
+ * received, so that the server can resume them and replay the missed items instead of starting them over.
  */
 export class FluxConnection extends EventTarget {
   private nextId = 0;
@@ -31,6 +41,8 @@ export class FluxConnection extends EventTarget {
   private onNextCallbacks = new Map<string, (value: any) => void>();
   private onCompleteCallbacks = new Map<string, () => void>();
   private onErrorCallbacks = new Map<string, () => void>();
+  private resumeMessages = new Map<string, ServerConnectMessage>();
+  private detachedIds = new Set<string>();
 
   private socket!: Socket<DefaultEventsMap, DefaultEventsMap>;
   public state: State = State.INACTIVE;
@@ -54,6 +66,7 @@ export class FluxConnection extends EventTarget {
     });
     this.socket.on('disconnect', () => {
       // https://socket.io/docs/v4/client-api/#event-disconnect
+      this.resumeMessages.forEach((_message, id) => this.detachedIds.add(id));
       if (this.state === State.ACTIVE) {
         this.state = State.INACTIVE;
         this.dispatchEvent(new CustomEvent('state-changed', { detail: { active: false } }));
@@ -65,6 +78,7 @@ export class FluxConnection extends EventTarget {
 
     this.socket.on('connect', () => {
       // https://socket.io/docs/v4/client-api/#event-connect
+      this.resumeSubscriptions();
       if (this.state === State.INACTIVE) {
         this.state = State.ACTIVE;
         this.dispatchEvent(new CustomEvent('state-changed', { detail: { active: true } }));
@@ -77,6 +91,10 @@ export class FluxConnection extends EventTarget {
     const endpointInfo = this.endpointInfos.get(id);
 
     if (message['@type'] === 'update') {
+      const resumeMessage = this.resumeMessages.get(id);
+      if (resumeMessage && message.sequence !== undefined) {
+        resumeMessage.lastSequence = message.sequence;
+      }
       const callback = this.onNextCallbacks.get(id);
       if (callback) {
         callback(message.item);
@@ -107,6 +125,22 @@ export class FluxConnection extends EventTarget {
     this.onCompleteCallbacks.delete(id);
     this.onErrorCallbacks.delete(id);
     this.endpointInfos.delete(id);
+    this.resumeMessages.delete(id);
+    this.detachedIds.delete(id);
+  }
+
+  /**
+   * Subscribes again to the subscriptions that were active when the connection was lost. Subscriptions created while
+   * disconnected are not included, as socket.io sends them once connected.
+   */
+  private resumeSubscriptions() {
+    this.detachedIds.forEach((id) => {
+      const resumeMessage = this.resumeMessages.get(id);
+      if (resumeMessage) {
+        this.send({ ...resumeMessage });
+      }
+    });
+    this.detachedIds.clear();
   }
 
   private send(message: ServerMessage) {
@@ -126,10 +160,12 @@ export class FluxConnection extends EventTarget {
     this.nextId += 1;
     const params = parameters || [];
 
-    const msg: ServerConnectMessage = { '@type': 'subscribe', id, endpointName, methodName, params };
+    const resumeToken = createResumeToken();
+    const msg: ServerConnectMessage = { '@type': 'subscribe', id, endpointName, methodName, params, resumeToken };
     const endpointInfo = `${endpointName}.${methodName}(${JSON.stringify(params)})`;
     this.send(msg);
     this.endpointInfos.set(id, endpointInfo);
+    this.resumeMessages.set(id, { ...msg });
     const hillaSubscription: Subscription<any> = {
       onNext: (callback: (value: any) => void): Subscription<any> => {
         this.onNextCallbacks.set(id, callback);
@@ -12,6 +12,7 @@ export interface ClientCompleteMessage extends AbstractMessage {
 export interface ClientUpdateMessage extends AbstractMessage {
   '@type': 'update';
   item: any;
+  sequence?: number;
 }
 
 export type ClientMessage = ClientUpdateMessage | ClientCompleteMessage | ClientErrorMessage;
@@ -22,6 +23,8 @@ export interface ServerConnectMessage extends AbstractMessage {
   endpointName: string;
   methodName: string;
   params?: any;
+  resumeToken?: string;
+  lastSequence?: number;
 }
 export interface ServerCloseMessage extends AbstractMessage {
   id: string;
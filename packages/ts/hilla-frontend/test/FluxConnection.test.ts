@@ -8,6 +8,8 @@ function expectNoDataRetained(fluxConnectionAny: any) {
   expect(fluxConnectionAny.onNextCallbacks.size).to.equal(0);
   expect(fluxConnectionAny.onCompleteCallbacks.size).to.equal(0);
   expect(fluxConnectionAny.onErrorCallbacks.size).to.equal(0);
+  expect(fluxConnectionAny.resumeMessages.size).to.equal(0);
+  expect(fluxConnectionAny.detachedIds.size).to.equal(0);
 }
 
 describe('FluxConnection', () => {
@@ -47,13 +49,21 @@ describe('FluxConnection', () => {
 
   it('should send a subscribe server message when subscribing', () => {
     fluxConnection.subscribe('MyEndpoint', 'myMethod');
-    expect(fluxConnectionAny.socket.sentMessages[0]).to.eql({
+    const { resumeToken, ...msg } = fluxConnectionAny.socket.sentMessages[0];
+    expect(msg).to.eql({
       '@type': 'subscribe',
       id: '0',
       endpointName: 'MyEndpoint',
       methodName: 'myMethod',
       params: [],
     });
+    expect(resumeToken).to.match(/^[0-9a-f]{32}$/u);
+  });
+  it('should use a different resume token for every subscription', () => {
+    fluxConnection.subscribe('MyEndpoint', 'myMethod');
+    fluxConnection.subscribe('MyEndpoint', 'myMethod');
+    const [first, second] = fluxConnectionAny.socket.sentMessages;
+    expect(first.resumeToken).not.to.equal(second.resumeToken);
   });
 
   it('should immediately return a Subscription when subscribing', () => {
@@ -300,4 +310,70 @@ describe('FluxConnection', () => {
     socket.emit('disconnect');
     expect(events).to.equal(1);
   });
+  it('resumes active subscriptions from the last sequence on reconnect', () => {
+    const { socket } = fluxConnectionAny;
+    socket.connected = true;
+    socket.emit('connect');
+    const sub = fluxConnection.subscribe('MyEndpoint', 'myMethod', ['param']);
+    const receivedValues: any[] = [];
+    sub.onNext((value) => {
+      receivedValues.push(value);
+    });
+    const { resumeToken } = socket.sentMessages[0];
+    fluxConnectionAny.handleMessage({ '@type': 'update', id: '0', item: 'first', sequence: 1 });
+    fluxConnectionAny.handleMessage({ '@type': 'update', id: '0', item: 'second', sequence: 2 });
+
+    socket.connected = false;
+    socket.emit('disconnect');
+    socket.connected = true;
+    socket.emit('connect');
+
+    expect(socket.sentMessages.length).to.equal(2);
+    expect(socket.sentMessages[1]).to.eql({
+      '@type': 'subscribe',
+      id: '0',
+      endpointName: 'MyEndpoint',
+      methodName: 'myMethod',
+      params: ['param'],
+      resumeToken,
+      lastSequence: 2,
+    });
+
+    const replayed: ClientUpdateMessage = { '@type': 'update', id: '0', item: 'third', sequence: 3 };
+    fluxConnectionAny.handleMessage(replayed);
+    expect(receivedValues).to.eql(['first', 'second', 'third']);
+  });
+  it('resumes a subscription without items without a last sequence', () => {
+    const { socket } = fluxConnectionAny;
+    fluxConnection.subscribe('MyEndpoint', 'myMethod');
+    socket.emit('connect');
+    socket.emit('disconnect');
+    socket.emit('connect');
+
+    expect(socket.sentMessages.length).to.equal(2);
+    expect(socket.sentMessages[1].resumeToken).to.equal(socket.sentMessages[0].resumeToken);
+    expect(socket.sentMessages[1].lastSequence).to.equal(undefined);
+  });
+  it('does not resume canceled or new subscriptions on reconnect', () => {
+    const { socket } = fluxConnectionAny;
+    socket.emit('connect');
+    const canceled = fluxConnection.subscribe('MyEndpoint', 'canceled');
+    socket.emit('disconnect');
+    canceled.cancel();
+    fluxConnection.subscribe('MyEndpoint', 'created');
+    socket.emit('connect');
+
+    expect(socket.sentMessages.map((msg: any) => msg['@type'])).to.eql(['subscribe', 'unsubscribe', 'subscribe']);
+  });
+  it('does not resume completed subscriptions on reconnect', () => {
+    const { socket } = fluxConnectionAny;
+    socket.emit('connect');
+    fluxConnection.subscribe('MyEndpoint', 'myMethod');
+    fluxConnectionAny.handleMessage({ '@type': 'complete', id: '0' });
+    socket.emit('disconnect');
+    socket.emit('connect');
+
+    expect(socket.sentMessages.length).to.equal(1);
+    expectNoDataRetained(fluxConnectionAny);
+  });
 });